@@ -0,0 +1,40 @@
+package com.tbohne.util.math;
+
+import com.tbohne.util.math.IFloat32ExpL.StringFormatParams;
+
+/**
+ * The chars of an animated value, reused from frame to frame so that drawing doesn't allocate.
+ *
+ * StringFormatParams are mutable, and a custom ExponentToStringInterface may write exponents of
+ * any length, so the size is checked on every frame. Values are written straight into the char[]
+ * when the params say how long they can be, and go through a reused StringBuilder otherwise.
+ */
+/*package*/ final class Float32AnimatedChars {
+	private final StringBuilder builder = new StringBuilder();
+	private char[] chars = new char[0];
+
+	// Formats value into chars(), and returns the length.
+	int format(IFloat32ExpL value, StringFormatParams params) {
+		int maxLength = Float32ExpLHelpers.maxStringLength(params);
+		if (maxLength >= 0) {
+			ensureCapacity(maxLength);
+			return value.toString(chars, 0, params);
+		}
+		builder.setLength(0);
+		value.toString(builder, params);
+		int length = builder.length();
+		ensureCapacity(length);
+		builder.getChars(0, length, chars, 0);
+		return length;
+	}
+
+	char[] chars() {
+		return chars;
+	}
+
+	private void ensureCapacity(int length) {
+		if (chars.length < length) {
+			chars = new char[length];
+		}
+	}
+}
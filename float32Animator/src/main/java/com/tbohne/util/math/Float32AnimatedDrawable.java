@@ -32,12 +32,11 @@ public class Float32AnimatedDrawable extends Drawable implements Animatable {
 	private ImmutableFloat32ExpL firstTime;
 
 	private List<ImmutableFloat32ExpL> polynomial;
+	private CompiledPolynomial compiledPolynomial;
 
 	private final Float32ExpL displayValue = new Float32ExpL();
-	private final StringBuilder stringBuilder = new StringBuilder();
+	private final Float32AnimatedChars chars = new Float32AnimatedChars();
 	private final View view;
-	private final Float32ExpL temp1 = new Float32ExpL();
-	private final Float32ExpL temp2 = new Float32ExpL();
 	private final Drawable.Callback callback = new Drawable.Callback(){
 		@Override
 		public void invalidateDrawable(@NonNull Drawable who) {
@@ -62,6 +61,7 @@ public class Float32AnimatedDrawable extends Drawable implements Animatable {
 
 	public Float32AnimatedDrawable(List<? extends IFloat32ExpL> polynomial, View view, StringFormatParams params, PolynomialClock clock, TextPaint lastPaint) {
 		this.polynomial = Polynomials.toImmutable(polynomial);
+		this.compiledPolynomial = new CompiledPolynomial(this.polynomial);
 		this.params = params;
 		this.clock = clock;
 		this.lastPaint = lastPaint;
@@ -94,6 +94,7 @@ public class Float32AnimatedDrawable extends Drawable implements Animatable {
 	public List<ImmutableFloat32ExpL> getPolynomial() { return polynomial; }
 	public void setPolynomial(List<ImmutableFloat32ExpL> polynomial) {
 		this.polynomial = polynomial;
+		this.compiledPolynomial = new CompiledPolynomial(polynomial);
 		if (!animator.isRunning()) invalidateSelf();
 	}
 
@@ -157,11 +158,10 @@ public class Float32AnimatedDrawable extends Drawable implements Animatable {
 	@Override
 	public void draw(Canvas canvas) {
 		IFloat32ExpL time = clock.getEstimatedTime(firstTime, (Long) animator.getAnimatedValue());
-		Polynomials.at(polynomial, time, displayValue, temp1, temp2);
-		stringBuilder.setLength(0);
-		displayValue.toString(stringBuilder, params);
+		compiledPolynomial.at(time, displayValue);
+		int length = chars.format(displayValue, params);
 		Paint.FontMetricsInt fm = lastPaint.getFontMetricsInt();
-		canvas.drawText(stringBuilder, 0, stringBuilder.length(), 0, -fm.top, lastPaint);
+		canvas.drawText(chars.chars(), 0, length, 0, -fm.top, lastPaint);
 	}
 
 	@Override
@@ -14,6 +14,7 @@ import android.view.View;
 import com.tbohne.util.math.Float32AnimatedTextSpan.PolynomialClock;
 import com.tbohne.util.math.IFloat32ExpL.StringFormatParams;
 
+import java.io.IOException;
 import java.util.List;
 
 import static com.tbohne.util.math.Float32ExpLHelpers.DEFAULT_STRING_PARAMS;
@@ -49,13 +50,14 @@ public class Float32AnimatedDrawableSpan extends ImageSpan {
 			StringFormatParams params,
 			View view,
 			PolynomialClock clock) {
-		//TODO: Appendable instead of StringBuilder.
-		StringBuilder stringBuilder = new StringBuilder();
 		Float32ExpL displayValue = new Float32ExpL();
 		Polynomials.at(polynomial, clock.getTime(), displayValue, new Float32ExpL(), new Float32ExpL());
-		displayValue.toString(stringBuilder, params);
 		int offset = builder.length();
-		builder.append(stringBuilder);
+		try {
+			displayValue.toString(builder, params);
+		} catch (IOException e) {
+			throw new IllegalStateException("SpannableStringBuilder does not throw", e);
+		}
 		builder.setSpan(new Float32AnimatedDrawableSpan(polynomial, params, view, clock), offset, builder.length(), Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
 		return builder;
 	}
@@ -14,6 +14,7 @@ import android.view.View;
 
 import com.tbohne.util.math.IFloat32ExpL.StringFormatParams;
 
+import java.io.IOException;
 import java.util.List;
 
 import static com.tbohne.util.math.Float32ExpLHelpers.DEFAULT_STRING_PARAMS;
@@ -53,13 +54,14 @@ public class Float32AnimatedTextSpan extends ReplacementSpan {
 			StringFormatParams params,
 			View view,
 			PolynomialClock clock) {
-		//TODO: Appendable instead of StringBuilder.
-		StringBuilder stringBuilder = new StringBuilder();
 		Float32ExpL displayValue = new Float32ExpL();
 		Polynomials.at(polynomial, clock.getTime(), displayValue, new Float32ExpL(), new Float32ExpL());
-		displayValue.toString(stringBuilder, params);
 		int offset = builder.length();
-		builder.append(stringBuilder);
+		try {
+			displayValue.toString(builder, params);
+		} catch (IOException e) {
+			throw new IllegalStateException("SpannableStringBuilder does not throw", e);
+		}
 		builder.setSpan(new Float32AnimatedTextSpan(polynomial, params, view, clock), offset, builder.length(), Spannable.SPAN_EXCLUSIVE_EXCLUSIVE);
 		return builder;
 	}
@@ -77,10 +79,10 @@ public class Float32AnimatedTextSpan extends ReplacementSpan {
 			"-9.99999999999e-9999999999",
 	};
 
-	private final List<ImmutableFloat32ExpL> polynomial;
+	private final CompiledPolynomial polynomial;
 	private final StringFormatParams params;
 	private final PolynomialClock clock;
-	private final StringBuilder stringBuilder = new StringBuilder();
+	private final Float32AnimatedChars chars = new Float32AnimatedChars();
 	private final ValueAnimator animator;
 	private ImmutableFloat32ExpL firstTime;
 	
@@ -90,11 +92,9 @@ public class Float32AnimatedTextSpan extends ReplacementSpan {
 	private int lastWidth = 0;
 	private int lastHeight = 0;
 	private final Float32ExpL lastDisplay = new Float32ExpL();
-	private final Float32ExpL temp1 = new Float32ExpL();
-	private final Float32ExpL temp2 = new Float32ExpL();
 	
 	protected Float32AnimatedTextSpan(List<? extends IFloat32ExpL> polynomial, StringFormatParams params, View view, PolynomialClock clock) {
-		this.polynomial = Polynomials.toImmutable(polynomial);
+		this.polynomial = new CompiledPolynomial(polynomial);
 		this.params = params;
 		this.clock = clock;
 		firstTime = clock.getTime().toImmutable();
@@ -143,11 +143,10 @@ public class Float32AnimatedTextSpan extends ReplacementSpan {
 			int bottom,
 			@NonNull Paint paint) {
 		IFloat32ExpL time = clock.getEstimatedTime(firstTime, (Long) animator.getAnimatedValue());
-		Polynomials.at(polynomial, time, lastDisplay, temp1, temp2);
-		stringBuilder.setLength(0);
+		polynomial.at(time, lastDisplay);
 		lastX = x;
 		lastY = y;
-		lastDisplay.toString(stringBuilder, params);
-		canvas.drawText(stringBuilder, 0, stringBuilder.length(), x, y, paint);
+		int length = chars.format(lastDisplay, params);
+		canvas.drawText(chars.chars(), 0, length, x, y, paint);
 	}
 }
@@ -0,0 +1,42 @@
+package com.tbohne.util.math;
+
+import com.tbohne.util.math.IFloat32ExpL.StringFormatParams;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class Float32AnimatedCharsTest {
+	private final Float32AnimatedChars chars = new Float32AnimatedChars();
+	private final Float32ExpL value = new Float32ExpL();
+
+	@Test
+	public void whenDefaultParamsThenFormatsIntoChars() {
+		int length = chars.format(value.set(-8191), Float32ExpLHelpers.DEFAULT_STRING_PARAMS);
+
+		assertEquals("-8.191E3", new String(chars.chars(), 0, length));
+	}
+
+	@Test
+	public void whenLongCustomExponentThenFormatsWholeString() {
+		StringFormatParams params = new StringFormatParams(12, 12, 1,
+				(sb, exponent) -> sb.append(" times ten to the power of ").append(exponent));
+
+		int length = chars.format(value.set(-1e-300), params);
+
+		assertEquals(value.toString(new StringBuilder(), params).toString(), new String(chars.chars(), 0, length));
+		assertEquals(true, length > 40);
+	}
+
+	@Test
+	public void whenParamsChangeThenFormatsWithNewParams() {
+		StringFormatParams params = new StringFormatParams(1, 12, 1, Float32ExpLHelpers.DEFAULT_EXPONENT_TO_STRING);
+		chars.format(value.set(1e100), params);
+		params.exponentToString = (sb, exponent) -> sb.append("\u00D710^").append(exponent).append(" (custom)");
+		params.maxDigits = 20;
+
+		int length = chars.format(value, params);
+
+		assertEquals(value.toString(new StringBuilder(), params).toString(), new String(chars.chars(), 0, length));
+	}
+}
@@ -1,5 +1,8 @@
 package com.tbohne.utilperf;
 
+import com.tbohne.util.math.Float32Exp;
+import com.tbohne.util.math.Float32ExpL;
+
 import java.math.BigDecimal;
 
 import static com.tbohne.utilperf.Config.CPU_PERF_MULTIPLIER;
@@ -43,20 +46,22 @@ class FromStringTests {
 
     static long float64ExpTest(int bitOffset) {
         String string = "1E" + bitOffset;
+        Float32Exp value = new Float32Exp();
         int first = 0;
         long count = (long) (51249375*CPU_PERF_MULTIPLIER);
         for(long i = 0; i < count; ++i) {
-            first += new BigDecimal(string).intValue();
+            first += value.set(string).exponent();
         }
         return count + (first!=-1?0:1);
     }
 
     static long float64ExpLTest(int bitOffset) {
         String string = "1E" + bitOffset;
+        Float32ExpL value = new Float32ExpL();
         int first = 0;
         long count = (long) (51249375*CPU_PERF_MULTIPLIER);
         for(long i = 0; i < count; ++i) {
-            first += new BigDecimal(string).intValue();
+            first += value.set(string).exponent();
         }
         return count + (first!=-1?0:1);
     }
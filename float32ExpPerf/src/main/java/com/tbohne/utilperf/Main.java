@@ -14,6 +14,9 @@ import static com.tbohne.utilperf.Config.CPU_PERF_MULTIPLIER;
  * themselves for consistency. If a test takes less than one second, the value is followed by a +, and if a test takes
  * more than five seconds, the value is followed by a -.
  * Each category starts by running each test with no offset, to warm the cache and CPU, for more consistent results.
+ *
+ * These are rough wall-clock numbers. For per-op timings and allocation rates that are safe from dead-code elimination,
+ * use the JMH benchmarks in float32expJmh instead.
  */
 class Main {
     private static final double MILLIS_PER_SEC = 1000.0;
@@ -25,6 +28,7 @@ class Main {
         ADDITION,
         MULTIPLICATION,
         POWER,
+        ROOTS_AND_LOGS,
         TO_STRING,
         FROM_STRING,
         LCG_RNG,
@@ -33,6 +37,7 @@ class Main {
             false,
             false,
             false,
+            false,
             true,
             false,
             false,
@@ -54,6 +59,7 @@ class Main {
 //                    AdditionPerfTests::intTest,
 //                    MultiplicationPerfTests::intTest,
 //                    PowerPerfTests::intTest,
+//                    PowerPerfTests::intRootsAndLogsTest,
 //                    ToStringTests::intTest,
 //                    FromStringTests::intTest,
 //                    LCGRNGTests::intTest,
@@ -62,6 +68,7 @@ class Main {
 //                    AdditionPerfTests::longTest,
 //                    MultiplicationPerfTests::longTest,
 //                    PowerPerfTests::longTest,
+//                    PowerPerfTests::longRootsAndLogsTest,
 //                    ToStringTests::longTest,
 //                    FromStringTests::longTest,
 //                    LCGRNGTests::longTest,
@@ -70,6 +77,7 @@ class Main {
 //                    AdditionPerfTests::doubleTest,
 //                    MultiplicationPerfTests::doubleTest,
 //                    PowerPerfTests::doubleTest,
+//                    PowerPerfTests::doubleRootsAndLogsTest,
 //                    ToStringTests::doubleTest,
 //                    FromStringTests::doubleTest,
 //                    LCGRNGTests::doubleTest,
@@ -78,6 +86,7 @@ class Main {
 //                    AdditionPerfTests::doubleClassTest,
 //                    MultiplicationPerfTests::doubleClassTest,
 //                    PowerPerfTests::doubleClassTest,
+//                    PowerPerfTests::doubleClassRootsAndLogsTest,
 //                    ToStringTests::doubleClassTest,
 //                    FromStringTests::doubleClassTest,
 //                    LCGRNGTests::doubleClassTest,
@@ -86,6 +95,7 @@ class Main {
                     AdditionPerfTests::bigIntegerTest,
                     MultiplicationPerfTests::bigIntegerTest,
                     PowerPerfTests::bigIntegerTest,
+                    PowerPerfTests::bigIntegerRootsAndLogsTest,
                     ToStringTests::bigIntegerTest,
                     FromStringTests::bigIntegerTest,
                     LCGRNGTests::bigIntegerTest,
@@ -94,6 +104,7 @@ class Main {
                     AdditionPerfTests::bigDecimalTest,
                     MultiplicationPerfTests::bigDecimalTest,
                     PowerPerfTests::bigDecimalTest,
+                    PowerPerfTests::bigDecimalRootsAndLogsTest,
                     ToStringTests::bigDecimalTest,
                     FromStringTests::bigDecimalTest,
                     LCGRNGTests::bigDecimalTest,
@@ -102,6 +113,7 @@ class Main {
                     AdditionPerfTests::float64ExpTest,
                     MultiplicationPerfTests::float64ExpTest,
                     PowerPerfTests::float64ExpTest,
+                    PowerPerfTests::float64ExpRootsAndLogsTest,
                     ToStringTests::float64ExpTest,
                     FromStringTests::float64ExpTest,
                     LCGRNGTests::float64ExpTest,
@@ -110,6 +122,7 @@ class Main {
                     AdditionPerfTests::float64ExpLTest,
                     MultiplicationPerfTests::float64ExpLTest,
                     PowerPerfTests::float64ExpLTest,
+                    PowerPerfTests::float64ExpLRootsAndLogsTest,
                     ToStringTests::float64ExpLTest,
                     FromStringTests::float64ExpLTest,
                     LCGRNGTests::float64ExpLTest,
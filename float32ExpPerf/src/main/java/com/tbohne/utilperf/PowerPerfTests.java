@@ -75,4 +75,73 @@ class PowerPerfTests {
         }
         return count + (!first.equals(-1)?0:1);
     }
+
+    // sqrt, cbrt, ln, log10 and exp(ln) of 1.001*2^bitOffset, since exp of that is out of range
+    static long intRootsAndLogsTest(int bitOffset) {
+        return 0;
+    }
+
+    static long longRootsAndLogsTest(int bitOffset) {
+        return 0;
+    }
+
+    static long doubleRootsAndLogsTest(int bitOffset) {
+        double first = 0;
+        long count = (long) (48000000*CPU_PERF_MULTIPLIER);
+        double value = Math.scalb(BASE, bitOffset);
+        for(long i = 0; i < count; ++i) {
+            first += Math.sqrt(value) + Math.cbrt(value) + Math.log(value) + Math.log10(value) + Math.exp(Math.log(value));
+        }
+        return count + (first!=-1?0:1);
+    }
+
+    static long doubleClassRootsAndLogsTest(int bitOffset) {
+        Double first = 0d;
+        long count = (long) (40000000*CPU_PERF_MULTIPLIER);
+        Double value = Math.scalb(BASE, bitOffset);
+        for(long i = 0; i < count; ++i) {
+            first += Math.sqrt(value) + Math.cbrt(value) + Math.log(value) + Math.log10(value) + Math.exp(Math.log(value));
+        }
+        return count + (first!=-1?0:1);
+    }
+
+    static long bigIntegerRootsAndLogsTest(int bitOffset) {
+        return 0;
+    }
+
+    static long bigDecimalRootsAndLogsTest(int bitOffset) {
+        return 0;
+    }
+
+    static long float64ExpRootsAndLogsTest(int bitOffset) {
+        Float32Exp first = new Float32Exp(0);
+        long count = (long) (20000000*CPU_PERF_MULTIPLIER);
+        Float32Exp value = new Float32Exp(BASE);
+        value.shiftLeft(bitOffset);
+        Float32Exp temp = new Float32Exp();
+        for(long i = 0; i < count; ++i) {
+            first.add(temp.set(value).sqrt());
+            first.add(temp.set(value).cbrt());
+            first.add(temp.set(value).ln());
+            first.add(temp.set(value).log10());
+            first.add(temp.set(value).ln().exp());
+        }
+        return count + (!first.equals(-1)?0:1);
+    }
+
+    static long float64ExpLRootsAndLogsTest(int bitOffset) {
+        Float32ExpL first = new Float32ExpL(0);
+        long count = (long) (20000000*CPU_PERF_MULTIPLIER);
+        Float32ExpL value = new Float32ExpL(BASE);
+        value.shiftLeft(bitOffset);
+        Float32ExpL temp = new Float32ExpL();
+        for(long i = 0; i < count; ++i) {
+            first.add(temp.set(value).sqrt());
+            first.add(temp.set(value).cbrt());
+            first.add(temp.set(value).ln());
+            first.add(temp.set(value).log10());
+            first.add(temp.set(value).ln().exp());
+        }
+        return count + (!first.equals(-1)?0:1);
+    }
 }
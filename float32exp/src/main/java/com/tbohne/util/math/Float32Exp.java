@@ -44,10 +44,20 @@ import java.math.BigInteger;
  * TODO: There seems to be more methods in BigDecimal to emulate
  */
 public class Float32Exp extends Float32ExpSharedBase implements Float32ExpChainedExpression {
+    private static final double LN_2 = Math.log(2);
+    private static final double LOG2_E = 1 / LN_2;
+    private static final double LOG10_2 = Math.log10(2);
+    // significand * 2^exponent is a normal double for exponents between these
+    private static final int MIN_DOUBLE_EXPONENT = -1000;
+    private static final int MAX_DOUBLE_EXPONENT = 960;
+    // Math.exp of values smaller than this is a normal double
+    private static final double MAX_DOUBLE_EXP = 700;
+
     public Float32Exp() {super(0, ZERO_EXPONENT);}
     public Float32Exp(char[] in, int offset, int len) {set(in, offset, len);}
     public Float32Exp(char[] in) {set(in, 0, in.length);}
-    public Float32Exp(String val) {set(val.toCharArray(), 0, val.length());}
+    public Float32Exp(CharSequence in, int offset, int len) {set(in, offset, len);}
+    public Float32Exp(String val) {set(val, 0, val.length());}
     public Float32Exp(double val) {super(getDoubleParts(val));}
     public Float32Exp(int val) {super(getLongParts(val));}
     public Float32Exp(long val) {super(getLongParts(val));}
@@ -72,9 +82,10 @@ public class Float32Exp extends Float32ExpSharedBase implements Float32ExpChaine
         this.exponent = (int) parts;
         return this;}
     public Float32ExpChainedExpression set(char[] in) {super.set(in, 0, in.length); return this;}
-    public Float32ExpChainedExpression set(String val) {super.set(val.toCharArray(), 0, val.length()); return this;}
+    public Float32ExpChainedExpression set(String val) {super.set(val, 0, val.length()); return this;}
     public Float32ExpChainedExpression set(double val) {setImpl(getDoubleParts(val)); return this;}
     public Float32ExpChainedExpression set(char[] in, int offset, int len) {super.set(in,offset,len); return this;}
+    public Float32ExpChainedExpression set(CharSequence in, int offset, int len) {super.set(in,offset,len); return this;}
     public Float32ExpChainedExpression set(BigDecimal val) {super.set(val); return this;}
     public Float32ExpChainedExpression set(BigInteger val) {super.set(val); return this;}
     public Float32ExpChainedExpression set(IFloat32Exp val) {setImpl(val.significand(), val.exponent()); return this;}
@@ -515,6 +526,88 @@ public class Float32Exp extends Float32ExpSharedBase implements Float32ExpChaine
         return this;
     }
 
+    // The exponent is halved, and the significand is an exact integer square root, rounded down.
+    public Float32ExpChainedExpression sqrt() {
+        if (significand < 0) {
+            throw new IllegalArgumentException("negative value " + this);
+        } else if (significand == 0) {
+            return this;
+        }
+        // scale the significand to [2^60, 2^62) with an even exponent, so the root is a normalized
+        // significand, and the exponent halves exactly.
+        int shift = INT_MAX_BITS - 2 + (exponent & 1);
+        long square = ((long) significand) << shift;
+        long root = (long) Math.sqrt((double) square);
+        // the rounded double root may be one off
+        if (root * root > square) {
+            root--;
+        } else if ((root + 1) * (root + 1) <= square) {
+            root++;
+        }
+        setImpl((int) root, (int) ((exponent - (long) shift) >> 1));
+        return this;
+    }
+
+    // cbrt(significand * 2^exponent) = cbrt(significand * 2^(exponent mod 3)) * 2^(exponent / 3)
+    public Float32ExpChainedExpression cbrt() {
+        if (significand == 0) {
+            return this;
+        }
+        int remainder = Math.floorMod(exponent, 3);
+        long root = getDoubleParts(Math.cbrt(Math.scalb((double) significand, remainder)));
+        setImpl((int) (root >> INT_MAX_BITS), (int) root + (int) (((long) exponent - remainder) / 3));
+        return this;
+    }
+
+    // e^this. Large values are split into pow2 of the integer and fractional parts of
+    // this*log2(e), so the result can be far outside the range of double.
+    public Float32ExpChainedExpression exp() {
+        if (significand == 0) {
+            setImpl(1 << (INT_MAX_BITS - 2), -EXPONENT_BIAS);
+            return this;
+        }
+        double power = Math.scalb((double) significand, exponent);
+        if (Math.abs(power) < MAX_DOUBLE_EXP) {
+            setImpl(getDoubleParts(Math.exp(power)));
+            return this;
+        }
+        double power2 = power * LOG2_E;
+        double integer = Math.floor(power2);
+        if (!(integer >= Integer.MIN_VALUE && integer <= Integer.MAX_VALUE)) {
+            throw new ArithmeticException("exp of " + this + " out of range");
+        }
+        long fraction = getDoubleParts(Math.exp((power2 - integer) * LN_2));
+        setImpl(getNormalizedParts(fraction >> INT_MAX_BITS, (int) fraction + (long) integer));
+        return this;
+    }
+
+    // Natural log. Values in the range of double use Math.log directly, others are split into
+    // ln(significand) + exponent*ln(2).
+    public Float32ExpChainedExpression ln() {
+        if (significand <= 0) {
+            throw new IllegalArgumentException("nonpositive value " + this);
+        } else if (exponent > MIN_DOUBLE_EXPONENT && exponent < MAX_DOUBLE_EXPONENT) {
+            setImpl(getDoubleParts(Math.log(Math.scalb((double) significand, exponent))));
+            return this;
+        }
+        double fraction = Math.log(Math.scalb((double) significand, -EXPONENT_BIAS));
+        setImpl(getDoubleParts(fraction + ((long) exponent + EXPONENT_BIAS) * LN_2));
+        return this;
+    }
+
+    // Base 10 log, like ln. Powers of ten in the range of double are exact.
+    public Float32ExpChainedExpression log10() {
+        if (significand <= 0) {
+            throw new IllegalArgumentException("nonpositive value " + this);
+        } else if (exponent > MIN_DOUBLE_EXPONENT && exponent < MAX_DOUBLE_EXPONENT) {
+            setImpl(getDoubleParts(Math.log10(Math.scalb((double) significand, exponent))));
+            return this;
+        }
+        double fraction = Math.log10(Math.scalb((double) significand, -EXPONENT_BIAS));
+        setImpl(getDoubleParts(fraction + ((long) exponent + EXPONENT_BIAS) * LOG10_2));
+        return this;
+    }
+
     public Float32ExpChainedExpression abs() {
         if (significand == 0x80000000) {
             significand = 0x40000000;
@@ -71,6 +71,11 @@ public interface Float32ExpChainedExpression extends IFloat32Exp {
     Float32ExpChainedExpression log2();
     Float32ExpChainedExpression log2i(); //only keeps the integer part
     Float32ExpChainedExpression pow2(); //inverse of log2. DOES NOT SQUARE.
+    Float32ExpChainedExpression sqrt();
+    Float32ExpChainedExpression cbrt();
+    Float32ExpChainedExpression exp();
+    Float32ExpChainedExpression ln();
+    Float32ExpChainedExpression log10();
 
     Float32ExpChainedExpression abs();
     Float32ExpChainedExpression negate();
@@ -4,6 +4,7 @@ import com.tbohne.util.Assert;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.CharBuffer;
 
 /**
  * This is the shared logic of Float32Exp and ImmutableFloat32Exp.
@@ -68,6 +69,17 @@ import java.math.BigInteger;
             0x777A5BEB, 1783446535, //1e536870912
     };
 
+    // Dense table of getPowerOf10Parts results for the common range, so toString and cast don't
+    // have to rebuild them one bit of the exponent at a time. Built with the same squaring path,
+    // so cached and uncached results are identical.
+    private static final int POW10_CACHE_LIMIT = 350;
+    private static final long[] pow10Cache = new long[POW10_CACHE_LIMIT * 2 + 1];
+    static {
+        for (int i = -POW10_CACHE_LIMIT; i <= POW10_CACHE_LIMIT; i++) {
+            pow10Cache[i + POW10_CACHE_LIMIT] = computePowerOf10Parts(i);
+        }
+    }
+
     /*package*/ int significand;
     /*package*/ int exponent;
 
@@ -81,49 +93,51 @@ import java.math.BigInteger;
         this.exponent = (int) parts;
     }
 
-    /*package*/ IFloat32Exp set(char[] in, int offset, int len) {
+    /*package*/ IFloat32Exp set(char[] in, int offset, int len) {return set(CharBuffer.wrap(in), offset, len);}
+
+    // Like set(char[], int, int), but reads a String or other CharSequence without copying it.
+    // set(char[], int, int) parses through this too.
+    /*package*/ IFloat32Exp set(CharSequence in, int offset, int len) {
         //TODO Parse HexString
         int end = offset + len;
         boolean negative = false;
         long sigDec = 0; //initial digits
         int sig10Offset = 0; //times pow(10, sig10Offset)
         long sig2Offset = 0; //times pow(2, sig10Offset)
-        //sign
-        if (offset < end && in[offset] == '-') {
+        if (offset < end && in.charAt(offset) == '-') {
             negative = true;
             ++offset;
         }
-        //parse initial easy digits into sigDec
-        while(offset < end && Character.isDigit(in[offset]) && sigDec <= Integer.MAX_VALUE) {
-            sigDec = sigDec * 10 + (in[offset] - '0');
+        while(offset < end && Character.isDigit(in.charAt(offset)) && sigDec <= Integer.MAX_VALUE) {
+            sigDec = sigDec * 10 + (in.charAt(offset) - '0');
             ++offset;
         }
-        //If there's more digits, just ignore them, and increase sig10Offset
-        while(offset < end && Character.isDigit(in[offset])) {
+        while(offset < end && Character.isDigit(in.charAt(offset))) {
             ++sig10Offset;
             ++offset;
         }
-        //If there's a decimal point, keep going and decrease sig10Offset
-        if (offset < end && in[offset] == '.') {
+        if (offset < end && in.charAt(offset) == '.') {
             ++offset;
-            while(offset < end && Character.isDigit(in[offset]) && sigDec <= Integer.MAX_VALUE) {
-                sigDec = sigDec * 10 + (in[offset] - '0');
+            while(offset < end && Character.isDigit(in.charAt(offset)) && sigDec <= Integer.MAX_VALUE) {
+                sigDec = sigDec * 10 + (in.charAt(offset) - '0');
                 --sig10Offset;
                 ++offset;
             }
         }
-        //If there's more digits, just ignore them
-        while(offset < end && Character.isDigit(in[offset])) {
+        while(offset < end && Character.isDigit(in.charAt(offset))) {
             ++offset;
         }
-        //If there's an e-notation suffix for base10 or base2, then increase those
-        if (offset < end && (in[offset] == 'e' || in[offset] == 'E')) {
+        if (offset < end && (in.charAt(offset) == 'e' || in.charAt(offset) == 'E')) {
             ++offset;
-            sig10Offset += Integer.parseInt(new String(in, offset, end-offset));
-        } else if (offset < end && (in[offset] == 'b' || in[offset] == 'B')) {
+            sig10Offset += (int) parseExponent(in, offset, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        } else if (offset < end && (in.charAt(offset) == 'b' || in.charAt(offset) == 'B')) {
             ++offset;
-            sig2Offset = Long.parseLong(new String(in, offset, end-offset));
+            sig2Offset = parseExponent(in, offset, end, Long.MIN_VALUE, Long.MAX_VALUE);
         }
+        return setDecimal(negative, sigDec, sig10Offset, sig2Offset);
+    }
+
+    private IFloat32Exp setDecimal(boolean negative, long sigDec, int sig10Offset, long sig2Offset) {
         //assign the initial digits and take care of easy base2 power
         if (negative) {
             sigDec = -sigDec;
@@ -143,6 +157,34 @@ import java.math.BigInteger;
         return this;
     }
 
+    // Parses [offset, end) as a signed integer in [min, max], like Long.parseLong, but without
+    // making a String. The digits are accumulated negative, since that range is larger.
+    private static long parseExponent(CharSequence in, int offset, int end, long min, long max) {
+        boolean negative = offset < end && in.charAt(offset) == '-';
+        int start = offset < end && (in.charAt(offset) == '-' || in.charAt(offset) == '+') ? offset + 1 : offset;
+        long limit = negative ? min : -max;
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            result = accumulateExponentDigit(result, in.charAt(i), limit, offset);
+        }
+        return finishExponent(result, negative, start, end, offset);
+    }
+
+    private static long accumulateExponentDigit(long result, char c, long limit, int offset) {
+        int digit = c - '0';
+        if (digit < 0 || digit > 9 || result < limit / 10 || result * 10 < limit + digit) {
+            throw new NumberFormatException("Invalid exponent at index " + offset);
+        }
+        return result * 10 - digit;
+    }
+
+    private static long finishExponent(long result, boolean negative, int start, int end, int offset) {
+        if (start == end) {
+            throw new NumberFormatException("Invalid exponent at index " + offset);
+        }
+        return negative ? result : -result;
+    }
+
     /*package*/ IFloat32Exp set(BigDecimal val) {
         set(val.unscaledValue());
         long pow10parts = getPowerOf10Parts(val.scale());
@@ -182,7 +224,14 @@ import java.math.BigInteger;
         this.exponent = exponent;
     }
 
-    /*package*/ static long getPowerOf10Parts(int initial_exp) {
+    /*package*/ static long getPowerOf10Parts(int exponent) {
+        if (exponent >= -POW10_CACHE_LIMIT && exponent <= POW10_CACHE_LIMIT) {
+            return pow10Cache[exponent + POW10_CACHE_LIMIT];
+        }
+        return computePowerOf10Parts(exponent);
+    }
+
+    private static long computePowerOf10Parts(int initial_exp) {
         boolean negative = initial_exp < 0;
         initial_exp = negative ? -initial_exp : initial_exp;
         long significand = 0x40000000; //initialize to 1.0
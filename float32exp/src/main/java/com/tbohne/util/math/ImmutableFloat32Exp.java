@@ -48,7 +48,8 @@ public class ImmutableFloat32Exp extends Float32ExpSharedBase {
 
     public ImmutableFloat32Exp(char[] in, int offset, int len) {set(in, offset, len);}
     public ImmutableFloat32Exp(char[] in) {set(in, 0,in.length);}
-    public ImmutableFloat32Exp(String val) {set(val.toCharArray(), 0,val.length());}
+    public ImmutableFloat32Exp(CharSequence in, int offset, int len) {set(in, offset, len);}
+    public ImmutableFloat32Exp(String val) {set(val, 0, val.length());}
     public ImmutableFloat32Exp(double val) {super(getDoubleParts(val));}
     public ImmutableFloat32Exp(int val) {super(getLongParts(val));}
     public ImmutableFloat32Exp(long val) {super(getLongParts(val));}
@@ -128,4 +128,50 @@ public class Float64ExpLogTest {
     public void whenPow2Pi100ThenValueIsApproximate() {
         Float64ExpTestUtils.assertApproximately(3.72702E+94, mDecimal.set(314.1592654).pow2(), Float64ExpTestUtils.POW_ACCURACY);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenSqrtThenValueIsApproximate() {
+        Float64ExpTestUtils.assertExactly(12, (Float32Exp) mDecimal.set(144).sqrt());
+        Float64ExpTestUtils.assertExactly(new Float32Exp(0.5), mDecimal.set(0.25).sqrt());
+        Float64ExpTestUtils.assertExactly(new Float32Exp(0x40000000, 1000000), mDecimal.set(new Float32Exp(0x40000000, 2000030)).sqrt());
+        Float64ExpTestUtils.assertApproximately(Math.sqrt(2), mDecimal.set(2).sqrt(), Float64ExpTestUtils.FULL_ACCURACY);
+        Float64ExpTestUtils.assertApproximately(Math.sqrt(0.1), mDecimal.set(0.1).sqrt(), Float64ExpTestUtils.FULL_ACCURACY);
+    }
+
+    @Test
+    public void whenSqrtOfNegativeThenThrows() {
+        exception.expect(IllegalArgumentException.class);
+        mDecimal.set(-4).sqrt();
+    }
+
+    @Test
+    public void whenCbrtThenValueIsApproximate() {
+        Float64ExpTestUtils.assertExactly(3, (Float32Exp) mDecimal.set(27).cbrt());
+        Float64ExpTestUtils.assertExactly(-2, (Float32Exp) mDecimal.set(-8).cbrt());
+        Float64ExpTestUtils.assertExactly(new Float32Exp(0x40000000, 1000000 - 30), mDecimal.set(new Float32Exp(0x40000000, 3000000 - 30)).cbrt());
+        Float64ExpTestUtils.assertApproximately(Math.cbrt(-0.3), mDecimal.set(-0.3).cbrt(), Float64ExpTestUtils.FULL_ACCURACY);
+    }
+
+    @Test
+    public void whenExpThenValueIsApproximate() {
+        Float64ExpTestUtils.assertExactly(1, (Float32Exp) mDecimal.set(0).exp());
+        Float64ExpTestUtils.assertApproximately(Math.E, mDecimal.set(1).exp(), Float64ExpTestUtils.FULL_ACCURACY);
+        Float64ExpTestUtils.assertApproximately(Math.exp(-2.5), mDecimal.set(-2.5).exp(), Float64ExpTestUtils.FULL_ACCURACY);
+        Float64ExpTestUtils.assertApproximately(1000000, mDecimal.set(1000000).exp().ln(), Float64ExpTestUtils.POW_ACCURACY);
+    }
+
+    @Test
+    public void whenExpOutOfRangeThenThrows() {
+        exception.expect(ArithmeticException.class);
+        mDecimal.set(1e10).exp();
+    }
+
+    @Test
+    public void whenLnAndLog10ThenValueIsApproximate() {
+        Float64ExpTestUtils.assertExactly(0, (Float32Exp) mDecimal.set(1).ln());
+        Float64ExpTestUtils.assertApproximately(1, mDecimal.set(Math.E).ln(), Float64ExpTestUtils.FULL_ACCURACY);
+        Float64ExpTestUtils.assertApproximately(1000000 * Math.log(2), mDecimal.set(new Float32Exp(0x40000000, 1000000 - 30)).ln(), Float64ExpTestUtils.FULL_ACCURACY);
+        Float64ExpTestUtils.assertExactly(3, (Float32Exp) mDecimal.set(1000).log10());
+        Float64ExpTestUtils.assertApproximately(Math.log10(2), mDecimal.set(2).log10(), Float64ExpTestUtils.FULL_ACCURACY);
+    }
+}
@@ -0,0 +1,79 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32ExpLAccumulator;
+import com.tbohne.util.math.Float32ExpLHelpers;
+import com.tbohne.util.math.ImmutableFloat32ExpL;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums a large balance and count small incomes, with Float32ExpLAccumulator, with
+ * Float32ExpLHelpers.add, which drops most of the incomes, and with BigDecimal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccumulatorBenchmark {
+    @Param({"1000"})
+    public int count;
+
+    private long[] values;
+    private BigDecimal[] bigDecimals;
+    private final Float32ExpLAccumulator accumulator = new Float32ExpLAccumulator();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1234);
+        values = new long[count];
+        bigDecimals = new BigDecimal[count];
+        values[0] = Float32ExpLHelpers.getLongParts(1L << 50);
+        for (int i = 1; i < count; i++) {
+            values[i] = Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt(40));
+        }
+        for (int i = 0; i < count; i++) {
+            bigDecimals[i] = new BigDecimal(Float32ExpLHelpers.doubleValue(values[i]));
+        }
+    }
+
+    @Benchmark
+    public long accumulator() {
+        accumulator.reset();
+        accumulator.addParts(values, 0, count);
+        return accumulator.sumParts();
+    }
+
+    @Benchmark
+    public long helpersAdd() {
+        long sum = ImmutableFloat32ExpL.ZERO.getParts();
+        for (int i = 0; i < count; i++) {
+            sum = Float32ExpLHelpers.add(sum, values[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < count; i++) {
+            sum = sum.add(bigDecimals[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,62 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.AtomicFloat32ExpL;
+import com.tbohne.util.math.Float32ExpL;
+import com.tbohne.util.math.Float32ExpLAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Every thread adds 1 to a single shared total. Compares a synchronized Float32ExpL, a CAS loop
+ * in AtomicFloat32ExpL, and the striped Float32ExpLAdder, with LongAdder as a baseline.
+ *
+ * This runs with 4 threads by default. Pass -t to JMH to compare 1 to N threads, for example
+ * -t 1, -t 2, -t 8, or -t max.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ContendedAdditionBenchmark {
+    private final Float32ExpL synchronizedTotal = new Float32ExpL();
+    private final AtomicFloat32ExpL atomicTotal = new AtomicFloat32ExpL();
+    private final Float32ExpLAdder adderTotal = new Float32ExpLAdder();
+    private final LongAdder longAdderTotal = new LongAdder();
+
+    @Benchmark
+    public void longAdderAdd() {
+        longAdderTotal.increment();
+    }
+
+    @Benchmark
+    public void synchronizedFloat32ExpLAdd() {
+        synchronized (synchronizedTotal) {
+            synchronizedTotal.add(1);
+        }
+    }
+
+    @Benchmark
+    public long atomicFloat32ExpLAdd() {
+        return atomicTotal.addAndGet(1);
+    }
+
+    @Benchmark
+    public void float32ExpLAdderAdd() {
+        adderTotal.add(1);
+    }
+}
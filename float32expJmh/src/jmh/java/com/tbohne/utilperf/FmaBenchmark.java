@@ -0,0 +1,84 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32ExpLHelpers;
+import com.tbohne.util.math.ImmutableFloat32ExpL;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * a*b + c over count values, with Float32ExpLHelpers.fma, and with multiply then add. Then the
+ * sum of count products, with Float32ExpLHelpers.dot, and with multiply and add. c is spread like
+ * the products, so most adds align, rather than returning the larger value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FmaBenchmark {
+    @Param({"1000"})
+    public int count;
+
+    private long[] a;
+    private long[] b;
+    private long[] c;
+    private long[] out;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1234);
+        a = new long[count];
+        b = new long[count];
+        c = new long[count];
+        out = new long[count];
+        for (int i = 0; i < count; i++) {
+            a[i] = Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt(64));
+            b[i] = Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt(64));
+            c[i] = Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt(64) + random.nextInt(64));
+        }
+    }
+
+    @Benchmark
+    public long[] fma() {
+        for (int i = 0; i < count; i++) {
+            out[i] = Float32ExpLHelpers.fma(a[i], b[i], c[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public long[] multiplyThenAdd() {
+        for (int i = 0; i < count; i++) {
+            out[i] = Float32ExpLHelpers.add(Float32ExpLHelpers.multiply(a[i], b[i]), c[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public long dot() {
+        return Float32ExpLHelpers.dot(a, b);
+    }
+
+    @Benchmark
+    public long multiplyAndAddLoop() {
+        long sum = ImmutableFloat32ExpL.ZERO.getParts();
+        for (int i = 0; i < count; i++) {
+            sum = Float32ExpLHelpers.add(sum, Float32ExpLHelpers.multiply(a[i], b[i]));
+        }
+        return sum;
+    }
+}
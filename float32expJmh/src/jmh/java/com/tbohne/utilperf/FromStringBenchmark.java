@@ -0,0 +1,98 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32Exp;
+import com.tbohne.util.math.Float32ExpL;
+import com.tbohne.util.math.Float32ExpLHelpers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Port of FromStringTests. Each op parses "1E{bitOffset}".
+ * The Float32Exp and Float32ExpL cases parse into their own types, and the Float32ExpL cases also
+ * parse from a char[], from ASCII bytes, and from the exact hex and B notation forms of the value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FromStringBenchmark {
+    @Param({"32", "64", "128", "256"})
+    public int bitOffset;
+
+    private String string;
+    private char[] chars;
+    private byte[] bytes;
+    private String hexString;
+    private String bNotationString;
+    private Float32Exp float32Exp;
+    private Float32ExpL float32ExpL;
+
+    @Setup
+    public void setup() {
+        string = "1E" + bitOffset;
+        chars = string.toCharArray();
+        bytes = string.getBytes(StandardCharsets.US_ASCII);
+        long parts = Float32ExpLHelpers.cast(string, 0, string.length());
+        hexString = Float32ExpLHelpers.toHexString(parts, new StringBuilder()).toString();
+        bNotationString = Float32ExpLHelpers.toBNotationString(parts, new StringBuilder()).toString();
+        float32Exp = new Float32Exp();
+        float32ExpL = new Float32ExpL();
+    }
+
+    @Benchmark
+    public double doubleFromString() {
+        return Double.parseDouble(string);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalFromString() {
+        return new BigDecimal(string);
+    }
+
+    @Benchmark
+    public Float32Exp float32ExpFromString() {
+        float32Exp.set(string);
+        return float32Exp;
+    }
+
+    @Benchmark
+    public long float32ExpLFromString() {
+        return float32ExpL.set(string).getParts();
+    }
+
+    @Benchmark
+    public long float32ExpLFromChars() {
+        return float32ExpL.set(chars).getParts();
+    }
+
+    @Benchmark
+    public long float32ExpLFromAsciiBytes() {
+        return Float32ExpLHelpers.cast(bytes, 0, bytes.length);
+    }
+
+    @Benchmark
+    public long float32ExpLFromHexString() {
+        return Float32ExpLHelpers.parseHexString(hexString, 0, hexString.length());
+    }
+
+    @Benchmark
+    public long float32ExpLFromBNotation() {
+        return Float32ExpLHelpers.parseBNotation(bNotationString, 0, bNotationString.length());
+    }
+}
@@ -0,0 +1,126 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32Exp;
+import com.tbohne.util.math.Float32ExpL;
+import com.tbohne.util.math.ImmutableFloat32Exp;
+import com.tbohne.util.math.ImmutableFloat32ExpL;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Port of LCGRNGTests. Each op is one step of the naïve linear congruential generator from
+ * http://benchmarksgame.alioth.debian.org/u64q/fasta-description.html#fasta, with all of the
+ * constants scaled by 2^bitOffset.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LCGRNGBenchmark {
+    @Param({"32", "64", "128", "256"})
+    public int bitOffset;
+
+    private double doubleIM;
+    private double doubleIA;
+    private double doubleIC;
+    private double doubleSeed;
+    private double doubleRes;
+
+    private BigDecimal bigDecimalIM;
+    private BigDecimal bigDecimalIA;
+    private BigDecimal bigDecimalIC;
+    private BigDecimal bigDecimalSeed;
+    private BigDecimal bigDecimalRes;
+    private BigDecimal bigDecimalMax;
+
+    private ImmutableFloat32Exp float32ExpIM;
+    private ImmutableFloat32Exp float32ExpIA;
+    private ImmutableFloat32Exp float32ExpIC;
+    private Float32Exp float32ExpSeed;
+    private Float32Exp float32ExpRes;
+    private ImmutableFloat32Exp float32ExpMax;
+
+    private ImmutableFloat32ExpL float32ExpLIM;
+    private ImmutableFloat32ExpL float32ExpLIA;
+    private ImmutableFloat32ExpL float32ExpLIC;
+    private Float32ExpL float32ExpLSeed;
+    private Float32ExpL float32ExpLRes;
+    private ImmutableFloat32ExpL float32ExpLMax;
+
+    @Setup
+    public void setup() {
+        double offset = Math.pow(2.0, bitOffset);
+        doubleIM = 139968 * offset;
+        doubleIA = 3877 * offset;
+        doubleIC = 29573 * offset;
+        doubleSeed = 42 * offset;
+        doubleRes = 0;
+
+        BigDecimal bigOffset = BigDecimal.valueOf(2).pow(bitOffset);
+        bigDecimalIM = BigDecimal.valueOf(139968).multiply(bigOffset);
+        bigDecimalIA = BigDecimal.valueOf(3877).multiply(bigOffset);
+        bigDecimalIC = BigDecimal.valueOf(29573).multiply(bigOffset);
+        bigDecimalSeed = BigDecimal.valueOf(42).multiply(bigOffset);
+        bigDecimalRes = BigDecimal.ZERO;
+        bigDecimalMax = BigDecimal.valueOf(Integer.MAX_VALUE);
+
+        float32ExpIM = new ImmutableFloat32Exp(new Float32Exp(139968).shiftLeft(bitOffset));
+        float32ExpIA = new ImmutableFloat32Exp(new Float32Exp(3877).shiftLeft(bitOffset));
+        float32ExpIC = new ImmutableFloat32Exp(new Float32Exp(29573).shiftLeft(bitOffset));
+        float32ExpSeed = new Float32Exp(42);
+        float32ExpSeed.shiftLeft(bitOffset);
+        float32ExpRes = new Float32Exp(ImmutableFloat32Exp.ZERO);
+        float32ExpMax = new ImmutableFloat32Exp(Integer.MAX_VALUE);
+
+        float32ExpLIM = new ImmutableFloat32ExpL(new Float32ExpL(139968).shiftLeft(bitOffset));
+        float32ExpLIA = new ImmutableFloat32ExpL(new Float32ExpL(3877).shiftLeft(bitOffset));
+        float32ExpLIC = new ImmutableFloat32ExpL(new Float32ExpL(29573).shiftLeft(bitOffset));
+        float32ExpLSeed = new Float32ExpL(42);
+        float32ExpLSeed.shiftLeft(bitOffset);
+        float32ExpLRes = new Float32ExpL(ImmutableFloat32ExpL.ZERO);
+        float32ExpLMax = new ImmutableFloat32ExpL(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public double doubleLcg() {
+        doubleSeed = (doubleSeed * doubleIA + doubleIC) % doubleIM;
+        doubleRes += Integer.MAX_VALUE * doubleSeed / doubleIM;
+        return doubleRes;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalLcg() {
+        bigDecimalSeed = bigDecimalSeed.multiply(bigDecimalIA).add(bigDecimalIC).remainder(bigDecimalIM);
+        bigDecimalRes = bigDecimalRes.add(bigDecimalMax).multiply(bigDecimalSeed)
+                .divide(bigDecimalIM, BigDecimal.ROUND_HALF_EVEN);
+        return bigDecimalRes;
+    }
+
+    @Benchmark
+    public Float32Exp float32ExpLcg() {
+        float32ExpSeed.multiply(float32ExpIA).add(float32ExpIC).remainder(float32ExpIM);
+        float32ExpRes.add(float32ExpMax).multiply(float32ExpSeed).divide(float32ExpIM);
+        return float32ExpRes;
+    }
+
+    @Benchmark
+    public long float32ExpLLcg() {
+        float32ExpLSeed.multiply(float32ExpLIA).add(float32ExpLIC).remainder(float32ExpLIM);
+        return float32ExpLRes.add(float32ExpLMax).multiply(float32ExpLSeed).divide(float32ExpLIM).getParts();
+    }
+}
@@ -0,0 +1,75 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32ExpLFixedPointHelpers;
+import com.tbohne.util.math.Float32ExpLHelpers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the double based log2 and pow2 in Float32ExpLHelpers against the fixed point kernels
+ * in Float32ExpLFixedPointHelpers. Each op takes the log2 of 1.001^bitOffset, or 2 to the
+ * bitOffset/3 power.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Log2Pow2Benchmark {
+    private static final double BASE = 1.001;
+
+    @Param({"32", "64", "128", "256"})
+    public int bitOffset;
+
+    private long log2Input;
+    private long pow2Input;
+
+    @Setup
+    public void setup() {
+        log2Input = Float32ExpLHelpers.getDoubleParts(Math.pow(BASE, bitOffset));
+        pow2Input = Float32ExpLHelpers.getDoubleParts(bitOffset / 3.0);
+    }
+
+    @Benchmark
+    public double doubleLog2() {
+        return Math.log(Math.pow(BASE, bitOffset)) / Math.log(2);
+    }
+
+    @Benchmark
+    public long float32ExpLLog2() {
+        return Float32ExpLHelpers.log2(log2Input);
+    }
+
+    @Benchmark
+    public long float32ExpLFixedPointLog2() {
+        return Float32ExpLFixedPointHelpers.log2(log2Input);
+    }
+
+    @Benchmark
+    public double doublePow2() {
+        return Math.pow(2, bitOffset / 3.0);
+    }
+
+    @Benchmark
+    public long float32ExpLPow2() {
+        return Float32ExpLHelpers.pow2(pow2Input);
+    }
+
+    @Benchmark
+    public long float32ExpLFixedPointPow2() {
+        return Float32ExpLFixedPointHelpers.pow2(pow2Input);
+    }
+}
@@ -0,0 +1,81 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32ExpL;
+import com.tbohne.util.math.ImmutableFloat32ExpL;
+import com.tbohne.util.math.LongToFloat32ExpLMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds an income to player balances keyed by sequential ids, in a HashMap<Long, Float32ExpL> and
+ * in a LongToFloat32ExpLMap. Reported per add.
+ *
+ * The players are visited in a pseudorandom order, like activity from many players. Visiting ids
+ * in order favors HashMap, since Long.hashCode of sequential ids walks its table in order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private final ImmutableFloat32ExpL income = new ImmutableFloat32ExpL(1.5);
+    private HashMap<Long, Float32ExpL> hashMap;
+    private LongToFloat32ExpLMap primitiveMap;
+    private long nextId = 1;
+
+    @Setup
+    public void setup() {
+        hashMap = new HashMap<>();
+        primitiveMap = new LongToFloat32ExpLMap();
+        for (long id = 0; id < size; id++) {
+            hashMap.put(id, new Float32ExpL(100));
+            primitiveMap.put(id, 100);
+        }
+    }
+
+    // xorshift, reduced to [0, size)
+    private long nextId() {
+        nextId ^= nextId << 13;
+        nextId ^= nextId >>> 7;
+        nextId ^= nextId << 17;
+        return (nextId >>> 1) % size;
+    }
+
+    @Benchmark
+    public Float32ExpL hashMapAdd() {
+        Float32ExpL balance = hashMap.get(nextId());
+        balance.add(income);
+        return balance;
+    }
+
+    @Benchmark
+    public Float32ExpL hashMapMerge() {
+        return hashMap.merge(nextId(), new Float32ExpL(income), (a, b) -> {
+            a.add(b);
+            return a;
+        });
+    }
+
+    @Benchmark
+    public long longToFloat32ExpLMapAddTo() {
+        return primitiveMap.addTo(nextId(), income);
+    }
+}
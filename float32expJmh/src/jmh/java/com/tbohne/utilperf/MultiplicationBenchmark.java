@@ -0,0 +1,84 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32Exp;
+import com.tbohne.util.math.Float32ExpL;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Port of MultiplicationPerfTests. Each op is one multiply and one divide by 2^bitOffset.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiplicationBenchmark {
+    @Param({"32", "64", "128", "256"})
+    public int bitOffset;
+
+    private double doubleOffset;
+    private double doubleFirst;
+    private BigDecimal bigDecimalOffset;
+    private BigDecimal bigDecimalFirst;
+    private Float32Exp float32ExpOffset;
+    private Float32Exp float32ExpFirst;
+    private Float32ExpL float32ExpLOffset;
+    private Float32ExpL float32ExpLFirst;
+
+    @Setup
+    public void setup() {
+        doubleOffset = Math.pow(2.0, bitOffset);
+        doubleFirst = doubleOffset;
+        bigDecimalOffset = BigDecimal.valueOf(2).pow(bitOffset);
+        bigDecimalFirst = bigDecimalOffset;
+        float32ExpOffset = new Float32Exp(1);
+        float32ExpOffset.shiftLeft(bitOffset);
+        float32ExpFirst = new Float32Exp(float32ExpOffset);
+        float32ExpLOffset = new Float32ExpL(1);
+        float32ExpLOffset.shiftLeft(bitOffset);
+        float32ExpLFirst = new Float32ExpL(float32ExpLOffset);
+    }
+
+    @Benchmark
+    public double doubleMultiply() {
+        doubleFirst *= doubleOffset;
+        doubleFirst /= doubleOffset;
+        return doubleFirst;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalMultiply() {
+        bigDecimalFirst = bigDecimalFirst.multiply(bigDecimalOffset);
+        bigDecimalFirst = bigDecimalFirst.divide(bigDecimalOffset, BigDecimal.ROUND_FLOOR);
+        return bigDecimalFirst;
+    }
+
+    @Benchmark
+    public Float32Exp float32ExpMultiply() {
+        float32ExpFirst.multiply(float32ExpOffset);
+        float32ExpFirst.divide(float32ExpOffset);
+        return float32ExpFirst;
+    }
+
+    @Benchmark
+    public long float32ExpLMultiply() {
+        float32ExpLFirst.multiply(float32ExpLOffset);
+        float32ExpLFirst.divide(float32ExpLOffset);
+        return float32ExpLFirst.getParts();
+    }
+}
@@ -0,0 +1,86 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32ExpL;
+import com.tbohne.util.math.ImmutableFloat32ExpL;
+import com.tbohne.util.math.PolynomialBatch;
+import com.tbohne.util.math.Polynomials;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates count degree-4 polynomials at the same x, by calling Polynomials.at on each list,
+ * and with PolynomialBatch, sequentially and in parallel. The parallel result depends on the
+ * number of cores available.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolynomialBatchBenchmark {
+    private static final int LENGTH = 5;
+
+    @Param({"1000", "100000"})
+    public int count;
+
+    private final List<List<Float32ExpL>> polynomials = new ArrayList<>();
+    private PolynomialBatch batch;
+    private long[] outParts;
+    private final ImmutableFloat32ExpL x = new ImmutableFloat32ExpL(123456);
+    private final Float32ExpL out = new Float32ExpL();
+    private final Float32ExpL temp1 = new Float32ExpL();
+    private final Float32ExpL temp2 = new Float32ExpL();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1234);
+        polynomials.clear();
+        for (int p = 0; p < count; p++) {
+            List<Float32ExpL> polynomial = new ArrayList<>(LENGTH);
+            for (int i = 0; i < LENGTH; i++) {
+                polynomial.add(new Float32ExpL(random.nextDouble()));
+            }
+            polynomials.add(polynomial);
+        }
+        batch = new PolynomialBatch(polynomials);
+        outParts = new long[count];
+    }
+
+    @Benchmark
+    public long polynomialsAt() {
+        long result = 0;
+        for (int p = 0; p < polynomials.size(); p++) {
+            Polynomials.at(polynomials.get(p), x, out, temp1, temp2);
+            result ^= out.getParts();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long[] polynomialBatchAt() {
+        batch.at(x, outParts);
+        return outParts;
+    }
+
+    @Benchmark
+    public long[] polynomialBatchAtParallel() {
+        batch.atParallel(x, outParts);
+        return outParts;
+    }
+}
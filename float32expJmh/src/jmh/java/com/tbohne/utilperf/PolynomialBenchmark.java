@@ -0,0 +1,77 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.CompiledPolynomial;
+import com.tbohne.util.math.Float32ExpL;
+import com.tbohne.util.math.ImmutableFloat32ExpL;
+import com.tbohne.util.math.PolynomialStepper;
+import com.tbohne.util.math.Polynomials;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates a polynomial shaped like floatanimatorperf's initPolynomial: a constant 1, then
+ * degree coefficients of 1/1000, then zeroes up to 30 coefficients. Compares Polynomials.at
+ * against CompiledPolynomial, and against PolynomialStepper advancing by a fixed step, which
+ * includes the amortized cost of reseeding.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolynomialBenchmark {
+    private static final int LENGTH = 30;
+
+    @Param({"1", "4", "16", "29"})
+    public int degree;
+
+    private final List<Float32ExpL> polynomial = new ArrayList<>(LENGTH);
+    private CompiledPolynomial compiledPolynomial;
+    private PolynomialStepper polynomialStepper;
+    private final ImmutableFloat32ExpL x = new ImmutableFloat32ExpL(123456);
+    private final Float32ExpL out = new Float32ExpL();
+    private final Float32ExpL temp1 = new Float32ExpL();
+    private final Float32ExpL temp2 = new Float32ExpL();
+
+    @Setup
+    public void setup() {
+        polynomial.clear();
+        polynomial.add(new Float32ExpL(1));
+        for (int i = 1; i < LENGTH; i++) {
+            polynomial.add(i <= degree ? new Float32ExpL(0.001) : new Float32ExpL());
+        }
+        compiledPolynomial = new CompiledPolynomial(polynomial);
+        polynomialStepper = new PolynomialStepper(polynomial, x, new ImmutableFloat32ExpL(16));
+    }
+
+    @Benchmark
+    public long polynomialsAt() {
+        Polynomials.at(polynomial, x, out, temp1, temp2);
+        return out.getParts();
+    }
+
+    @Benchmark
+    public long compiledPolynomialAt() {
+        return compiledPolynomial.atParts(x.getParts());
+    }
+
+    @Benchmark
+    public long polynomialStepperStep() {
+        return polynomialStepper.stepParts();
+    }
+}
@@ -0,0 +1,118 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32Exp;
+import com.tbohne.util.math.Float32ExpL;
+import com.tbohne.util.math.Float32ExpLFixedPointHelpers;
+import com.tbohne.util.math.Float32ExpLHelpers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Port of PowerPerfTests. Each op raises 1.001 to the bitOffset power.
+ * float32ExpLPow takes the integer powi path; float32ExpLComplexPow is the log2/pow2 path it replaced,
+ * and float32ExpLFixedPointPow measures the Float32ExpLFixedPointHelpers kernel on the same inputs.
+ * The roots and logs take 1.001 * 2^bitOffset, and sqrt is compared with pow(0.5). exp takes the
+ * ln of that, since larger values are out of range.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PowerBenchmark {
+    private static final double BASE = 1.001;
+
+    @Param({"32", "64", "128", "256"})
+    public int bitOffset;
+
+    private BigDecimal bigDecimalBase;
+    private Float32Exp float32ExpBase;
+    private Float32ExpL float32ExpLBase;
+    private long shiftedParts;
+    private long lnParts;
+    private final long halfParts = Float32ExpLHelpers.getDoubleParts(0.5);
+
+    @Setup
+    public void setup() {
+        bigDecimalBase = BigDecimal.valueOf(BASE);
+        float32ExpBase = new Float32Exp();
+        float32ExpLBase = new Float32ExpL();
+        shiftedParts = Float32ExpLHelpers.shiftLeft(Float32ExpLHelpers.getDoubleParts(BASE), bitOffset);
+        lnParts = Float32ExpLHelpers.ln(shiftedParts);
+    }
+
+    @Benchmark
+    public double doublePow() {
+        return Math.pow(BASE, bitOffset);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalPow() {
+        return bigDecimalBase.pow(bitOffset);
+    }
+
+    @Benchmark
+    public Float32Exp float32ExpPow() {
+        float32ExpBase.set(BASE).pow(bitOffset);
+        return float32ExpBase;
+    }
+
+    @Benchmark
+    public long float32ExpLPow() {
+        return float32ExpLBase.set(BASE).pow(bitOffset).getParts();
+    }
+
+    @Benchmark
+    public long float32ExpLComplexPow() {
+        return Float32ExpLHelpers.complex_pow(Float32ExpLHelpers.getDoubleParts(BASE), Float32ExpLHelpers.getLongParts(bitOffset));
+    }
+
+    @Benchmark
+    public long float32ExpLFixedPointPow() {
+        return Float32ExpLFixedPointHelpers.pow(Float32ExpLHelpers.getDoubleParts(BASE), Float32ExpLHelpers.getLongParts(bitOffset));
+    }
+
+    @Benchmark
+    public long float32ExpLSqrt() {
+        return Float32ExpLHelpers.sqrt(shiftedParts);
+    }
+
+    @Benchmark
+    public long float32ExpLPowHalf() {
+        return Float32ExpLHelpers.pow(shiftedParts, halfParts);
+    }
+
+    @Benchmark
+    public long float32ExpLCbrt() {
+        return Float32ExpLHelpers.cbrt(shiftedParts);
+    }
+
+    @Benchmark
+    public long float32ExpLExp() {
+        return Float32ExpLHelpers.exp(lnParts);
+    }
+
+    @Benchmark
+    public long float32ExpLLn() {
+        return Float32ExpLHelpers.ln(shiftedParts);
+    }
+
+    @Benchmark
+    public long float32ExpLLog10() {
+        return Float32ExpLHelpers.log10(shiftedParts);
+    }
+}
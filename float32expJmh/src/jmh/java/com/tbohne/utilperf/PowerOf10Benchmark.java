@@ -0,0 +1,54 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32Exp;
+import com.tbohne.util.math.Float32ExpLHelpers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each op builds 10 to the exponent power. Exponents within +/-350 come from the power of ten
+ * table, and 4096 falls back to building it one bit of the exponent at a time.
+ * ToStringBenchmark and FromStringBenchmark show the effect on formatting and parsing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PowerOf10Benchmark {
+    @Param({"-300", "-8", "8", "300", "4096"})
+    public int exponent;
+
+    @Benchmark
+    public double doublePowerOf10() {
+        return Math.pow(10, exponent);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalPowerOf10() {
+        return BigDecimal.ONE.scaleByPowerOfTen(exponent);
+    }
+
+    @Benchmark
+    public Float32Exp float32ExpPowerOf10() {
+        return Float32Exp.getPowerOf10(exponent);
+    }
+
+    @Benchmark
+    public long float32ExpLPowerOf10() {
+        return Float32ExpLHelpers.getPowerOf10Parts(exponent);
+    }
+}
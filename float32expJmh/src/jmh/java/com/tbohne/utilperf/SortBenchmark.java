@@ -0,0 +1,96 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32ExpL;
+import com.tbohne.util.math.Float32ExpLHelpers;
+import com.tbohne.util.math.Float32ExpLSort;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranks count random positive scores: Collections.sort of Float32ExpL objects, Arrays.sort of
+ * sortable keys, Float32ExpLSort's radix sorts of packed parts, and topIndices for the top 100.
+ * Each includes copying the unsorted input, since sorting sorted input is not representative.
+ * The parallel result depends on the number of cores available.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+    private static final int TOP_COUNT = 100;
+
+    @Param({"1000", "1000000"})
+    public int count;
+
+    private List<Float32ExpL> list;
+    private long[] parts;
+    private long[] keys;
+    private long[] work;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1234);
+        list = new ArrayList<>(count);
+        parts = new long[count];
+        keys = new long[count];
+        work = new long[count];
+        for (int i = 0; i < count; i++) {
+            Float32ExpL value = new Float32ExpL(random.nextDouble() * 1e12);
+            list.add(value);
+            parts[i] = value.getParts();
+            keys[i] = Float32ExpLHelpers.toSortableKey(parts[i]);
+        }
+    }
+
+    @Benchmark
+    public List<Float32ExpL> collectionsSort() {
+        List<Float32ExpL> copy = new ArrayList<>(list);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public long[] arraysSortKeys() {
+        System.arraycopy(keys, 0, work, 0, count);
+        Arrays.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public long[] float32ExpLSort() {
+        System.arraycopy(parts, 0, work, 0, count);
+        Float32ExpLSort.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    public long[] float32ExpLParallelSort() {
+        System.arraycopy(parts, 0, work, 0, count);
+        Float32ExpLSort.parallelSort(work);
+        return work;
+    }
+
+    @Benchmark
+    public int[] float32ExpLTopIndices() {
+        return Float32ExpLSort.topIndices(parts, TOP_COUNT);
+    }
+}
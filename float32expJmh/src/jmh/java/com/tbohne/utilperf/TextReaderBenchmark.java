@@ -0,0 +1,65 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32ExpLHelpers;
+import com.tbohne.util.math.Float32ExpLTextReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a comma separated dump of 100000 balances like "1.234567E12", by splitting the String
+ * and calling Float32ExpLHelpers.cast on each field, and with Float32ExpLTextReader.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextReaderBenchmark {
+    private static final int COUNT = 100000;
+
+    private String text;
+    private final long[] out = new long[COUNT];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1234);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < COUNT; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(random.nextDouble() * Math.pow(10, random.nextInt(30)));
+        }
+        text = sb.toString();
+    }
+
+    @Benchmark
+    public long[] splitAndCast() {
+        String[] fields = text.split(",");
+        for (int i = 0; i < fields.length; i++) {
+            out[i] = Float32ExpLHelpers.cast(fields[i].toCharArray(), 0, fields[i].length());
+        }
+        return out;
+    }
+
+    @Benchmark
+    public long[] float32ExpLTextReader() throws IOException {
+        new Float32ExpLTextReader(new StringReader(text)).read(out, 0, COUNT);
+        return out;
+    }
+}
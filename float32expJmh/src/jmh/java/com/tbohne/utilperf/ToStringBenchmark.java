@@ -0,0 +1,81 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32Exp;
+import com.tbohne.util.math.Float32ExpL;
+import com.tbohne.util.math.ImmutableFloat32Exp;
+import com.tbohne.util.math.ImmutableFloat32ExpL;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Port of ToStringTests. Each op increments a value near 2^bitOffset, and formats it.
+ * float32ExpLToShortestString formats with Float32ExpLShortestDecimal, which round-trips.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToStringBenchmark {
+    @Param({"32", "64", "128", "256"})
+    public int bitOffset;
+
+    private double doubleOffset;
+    private BigDecimal bigDecimalOffset;
+    private Float32Exp float32ExpOffset;
+    private Float32ExpL float32ExpLOffset;
+
+    @Setup
+    public void setup() {
+        doubleOffset = Math.pow(2.0, bitOffset);
+        bigDecimalOffset = BigDecimal.valueOf(2).pow(bitOffset);
+        float32ExpOffset = new Float32Exp(1);
+        float32ExpOffset.shiftLeft(bitOffset);
+        float32ExpLOffset = new Float32ExpL(1);
+        float32ExpLOffset.shiftLeft(bitOffset);
+    }
+
+    @Benchmark
+    public String doubleToString() {
+        doubleOffset += 1.0;
+        return Double.toString(doubleOffset);
+    }
+
+    @Benchmark
+    public String bigDecimalToString() {
+        bigDecimalOffset = bigDecimalOffset.add(BigDecimal.ONE);
+        return bigDecimalOffset.toString();
+    }
+
+    @Benchmark
+    public String float32ExpToString() {
+        float32ExpOffset.add(ImmutableFloat32Exp.ONE);
+        return float32ExpOffset.toString();
+    }
+
+    @Benchmark
+    public String float32ExpLToString() {
+        float32ExpLOffset.add(ImmutableFloat32ExpL.ONE);
+        return float32ExpLOffset.toString();
+    }
+
+    @Benchmark
+    public String float32ExpLToShortestString() {
+        float32ExpLOffset.add(ImmutableFloat32ExpL.ONE);
+        return float32ExpLOffset.toShortestString(new StringBuilder()).toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.tbohne.utilperf;
+
+import com.tbohne.util.math.Float32ExpLHelpers;
+import com.tbohne.util.math.Float32ExpLVectorOps;
+import com.tbohne.util.math.ImmutableFloat32ExpL;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Element-wise passes over count values, with Float32ExpLVectorOps, and with the scalar
+ * Float32ExpLHelpers loops it falls back to. Exponents are spread over 64, so about half the adds
+ * align.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class VectorOpsBenchmark {
+    @Param({"1000", "1000000"})
+    public int count;
+
+    private long[] a;
+    private long[] b;
+    private long[] out;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1234);
+        a = new long[count];
+        b = new long[count];
+        out = new long[count];
+        for (int i = 0; i < count; i++) {
+            a[i] = Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt(64));
+            b[i] = Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt(64));
+        }
+    }
+
+    @Benchmark
+    public long[] vectorAdd() {
+        Float32ExpLVectorOps.add(a, b, out);
+        return out;
+    }
+
+    @Benchmark
+    public long[] scalarAdd() {
+        for (int i = 0; i < count; i++) {
+            out[i] = Float32ExpLHelpers.add(a[i], b[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public long[] vectorMultiply() {
+        Float32ExpLVectorOps.multiply(a, b, out);
+        return out;
+    }
+
+    @Benchmark
+    public long[] scalarMultiply() {
+        for (int i = 0; i < count; i++) {
+            out[i] = Float32ExpLHelpers.multiply(a[i], b[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public long[] vectorMuldiv() {
+        Float32ExpLVectorOps.muldiv(a, b, a, out);
+        return out;
+    }
+
+    @Benchmark
+    public long[] scalarMuldiv() {
+        for (int i = 0; i < count; i++) {
+            out[i] = Float32ExpLHelpers.muldiv(a[i], b[i], a[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public long vectorSum() {
+        return Float32ExpLVectorOps.sum(a);
+    }
+
+    @Benchmark
+    public long scalarSum() {
+        long sum = ImmutableFloat32ExpL.ZERO.getParts();
+        for (int i = 0; i < count; i++) {
+            sum = Float32ExpLHelpers.add(sum, a[i]);
+        }
+        return sum;
+    }
+}
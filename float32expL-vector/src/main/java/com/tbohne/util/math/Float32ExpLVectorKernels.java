@@ -0,0 +1,185 @@
+package com.tbohne.util.math;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The Vector API halves of Float32ExpLVectorOps. These are only loaded if the
+ * jdk.incubator.vector module is present.
+ *
+ * Each lane follows Float32ExpLHelpers step for step. Each method returns how many leading
+ * elements it handled. If any lane of a chunk might throw, such as for an exponent near the
+ * limits, or a zero divisor, the rest is left for the scalar loop, which throws at the same
+ * element the scalar code would.
+ */
+/*package*/ final class Float32ExpLVectorKernels {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    /*package*/ static final int LANES = SPECIES.length();
+    // sum works a vector at a time through SUM_LANES partial sums
+    /*package*/ static final boolean SUPPORTED = LANES >= 2 && Float32ExpLVectorOps.SUM_LANES % LANES == 0;
+    private static final int INT_MAX_BITS = Float32ExpLHelpers.INT_MAX_BITS;
+    private static final double TWO_POW_52 = 0x1p52;
+    private static final long TWO_POW_52_BITS = Double.doubleToRawLongBits(TWO_POW_52);
+    private static final long DOUBLE_EXPONENT_BIAS = 1023;
+    private static final long DOUBLE_SIGNIFICAND_MASK = (1L << 52) - 1;
+    // products of significands are at most 2^62, so this leaves less than 2^52
+    private static final int DIVIDEND_DROPPED_BITS = 11;
+
+    private Float32ExpLVectorKernels() {}
+
+    /*package*/ static int add(long[] a, long[] b, long[] out, int length) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            LongVector value = LongVector.fromArray(SPECIES, a, i);
+            LongVector other = LongVector.fromArray(SPECIES, b, i);
+            if (nearExponentLimit(significand(value), exponent(value))
+                    .or(nearExponentLimit(significand(other), exponent(other))).anyTrue()) {
+                break;
+            }
+            add(value, other).intoArray(out, i);
+        }
+        return i;
+    }
+
+    /*package*/ static int multiply(long[] a, long[] b, long[] out, int length) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            LongVector value = LongVector.fromArray(SPECIES, a, i);
+            LongVector other = LongVector.fromArray(SPECIES, b, i);
+            LongVector significand = significand(value).mul(significand(other));
+            LongVector exponent = exponent(value).add(exponent(other));
+            if (nearExponentLimit(significand, exponent).anyTrue()) {
+                break;
+            }
+            normalize(significand, exponent).intoArray(out, i);
+        }
+        return i;
+    }
+
+    /*package*/ static int muldiv(long[] a, long[] mul, long[] div, long[] out, int length) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            LongVector value = LongVector.fromArray(SPECIES, a, i);
+            LongVector mulValue = LongVector.fromArray(SPECIES, mul, i);
+            LongVector divValue = LongVector.fromArray(SPECIES, div, i);
+            LongVector divSignificand = significand(divValue);
+            LongVector significand = divide(significand(value).mul(significand(mulValue)), divSignificand);
+            LongVector exponent = exponent(value).add(exponent(mulValue)).sub(exponent(divValue));
+            if (divSignificand.compare(VectorOperators.EQ, 0)
+                    .or(nearExponentLimit(significand, exponent)).anyTrue()) {
+                break;
+            }
+            normalize(significand, exponent).intoArray(out, i);
+        }
+        return i;
+    }
+
+    // Adds values[i] into partials[i % SUM_LANES], for i < end, like sumScalar. The partial sums
+    // are kept in the array, a vector at a time, since SUM_LANES may be a multiple of LANES.
+    /*package*/ static void sum(long[] values, int end, long[] partials) {
+        for (int i = 0; i < end; i += Float32ExpLVectorOps.SUM_LANES) {
+            for (int lane = 0; lane < Float32ExpLVectorOps.SUM_LANES; lane += LANES) {
+                LongVector sum = LongVector.fromArray(SPECIES, partials, lane);
+                LongVector value = LongVector.fromArray(SPECIES, values, i + lane);
+                if (nearExponentLimit(significand(sum), exponent(sum))
+                        .or(nearExponentLimit(significand(value), exponent(value))).anyTrue()) {
+                    Float32ExpLVectorOps.sumScalar(values, i, lane, end, partials);
+                    return;
+                }
+                add(sum, value).intoArray(partials, lane);
+            }
+        }
+    }
+
+    // Float32ExpLHelpers.add. Neither value may be nearExponentLimit.
+    private static LongVector add(LongVector value, LongVector other) {
+        LongVector exponent = exponent(value);
+        LongVector otherExponent = exponent(other);
+        // put the larger exponent first
+        VectorMask<Long> swap = exponent.compare(VectorOperators.LT, otherExponent);
+        LongVector high = value.blend(other, swap);
+        LongVector low = other.blend(value, swap);
+        LongVector highExponent = exponent.blend(otherExponent, swap);
+        LongVector lowExponent = otherExponent.blend(exponent, swap);
+        LongVector diff = highExponent.sub(lowExponent);
+        // lanes that are 32 or more apart are just the larger value
+        VectorMask<Long> aligned = diff.compare(VectorOperators.LT, INT_MAX_BITS);
+        LongVector sum = significand(high).lanewise(VectorOperators.LSHL, diff).add(significand(low));
+        return high.blend(normalize(sum, lowExponent), aligned);
+    }
+
+    // Lanes where normalizing might move the exponent out of range. Normalizing moves the exponent
+    // by at most 32, so lanes further than that from the limits, or that are zero, are safe. Any
+    // chunk with such a lane is left to the scalar code, so that it throws in the same place.
+    private static VectorMask<Long> nearExponentLimit(LongVector significand, LongVector exponent) {
+        return exponent.compare(VectorOperators.LT, (long) Integer.MIN_VALUE + INT_MAX_BITS)
+                .or(exponent.compare(VectorOperators.GT, (long) Integer.MAX_VALUE - INT_MAX_BITS))
+                .andNot(significand.compare(VectorOperators.EQ, 0));
+    }
+
+    // Float32ExpLHelpers.getNormalizedParts, for lanes that aren't nearExponentLimit.
+    private static LongVector normalize(LongVector significand, LongVector exponent) {
+        LongVector bitpattern = significand.lanewise(VectorOperators.XOR,
+                significand.lanewise(VectorOperators.ASHR, 63));
+        LongVector zeroes = leadingZeros(bitpattern);
+        LongVector shiftLeft = zeroes.sub(INT_MAX_BITS + 1);
+        VectorMask<Long> left = shiftLeft.compare(VectorOperators.GT, 0);
+        LongVector shifted = significand.lanewise(VectorOperators.ASHR, shiftLeft.neg())
+                .blend(significand.lanewise(VectorOperators.LSHL, shiftLeft), left);
+        LongVector newExponent = exponent.add(INT_MAX_BITS + 1).sub(zeroes);
+        return shifted.lanewise(VectorOperators.LSHL, INT_MAX_BITS)
+                .or(newExponent.and(0xFFFFFFFFL))
+                .blend(Float32ExpLHelpers.ZERO_PATTERN, significand.compare(VectorOperators.EQ, 0));
+    }
+
+    // Long.numberOfLeadingZeros of each non-negative lane, since there's no lane-wise operator for
+    // it in every supported JDK. A value under 2^52 ORed into the significand of 2^52 is exactly
+    // 2^52 + value, so subtracting 2^52 leaves the value as a double, with floor(log2) in the
+    // exponent bits. Lanes of 2^31 and up are shifted down 31 bits first, to fit.
+    private static LongVector leadingZeros(LongVector x) {
+        VectorMask<Long> large = x.compare(VectorOperators.GE, 1L << 31);
+        LongVector small = x.blend(x.lanewise(VectorOperators.LSHR, 31), large);
+        DoubleVector exact = small.or(TWO_POW_52_BITS).viewAsFloatingLanes().sub(TWO_POW_52);
+        LongVector log2 = exact.viewAsIntegralLanes().lanewise(VectorOperators.LSHR, 52)
+                .sub(DOUBLE_EXPONENT_BIAS)
+                .add(31, large);
+        return log2.neg().add(63).blend(64, x.compare(VectorOperators.EQ, 0));
+    }
+
+    // dividend / divisor, truncated like long division, where dividend is zero or a product of
+    // two normalized significands, and divisor is a nonzero significand. Few platforms can divide
+    // longs lane-wise, so this divides the magnitudes as doubles, like leadingZeros converts
+    // them. The top 51 bits of the dividend and all of the divisor are exact, so the rounded
+    // quotient is off by at most one, which the exact remainder corrects. Zero divisors give
+    // garbage.
+    private static LongVector divide(LongVector dividend, LongVector divisor) {
+        LongVector dividendMagnitude = dividend.lanewise(VectorOperators.ABS);
+        LongVector divisorMagnitude = divisor.lanewise(VectorOperators.ABS);
+        DoubleVector estimate = dividendMagnitude.lanewise(VectorOperators.LSHR, DIVIDEND_DROPPED_BITS)
+                .or(TWO_POW_52_BITS).viewAsFloatingLanes().sub(TWO_POW_52)
+                .div(divisorMagnitude.or(TWO_POW_52_BITS).viewAsFloatingLanes().sub(TWO_POW_52))
+                .mul(1L << DIVIDEND_DROPPED_BITS);
+        // rounds the estimate to an integer in the low bits, as above in reverse
+        LongVector quotient = estimate.add(TWO_POW_52).viewAsIntegralLanes().and(DOUBLE_SIGNIFICAND_MASK);
+        // the sign bits of (remainder) and (divisor - remainder - 1) say if it's one too big or small
+        LongVector remainder = dividendMagnitude.sub(quotient.mul(divisorMagnitude));
+        quotient = quotient.add(remainder.lanewise(VectorOperators.ASHR, 63))
+                .sub(divisorMagnitude.sub(remainder).sub(1).lanewise(VectorOperators.ASHR, 63));
+        LongVector sign = dividend.lanewise(VectorOperators.XOR, divisor).lanewise(VectorOperators.ASHR, 63);
+        return quotient.lanewise(VectorOperators.XOR, sign).sub(sign);
+    }
+
+    private static LongVector significand(LongVector parts) {
+        return parts.lanewise(VectorOperators.ASHR, INT_MAX_BITS);
+    }
+
+    private static LongVector exponent(LongVector parts) {
+        return parts.lanewise(VectorOperators.LSHL, INT_MAX_BITS).lanewise(VectorOperators.ASHR, INT_MAX_BITS);
+    }
+}
@@ -0,0 +1,140 @@
+package com.tbohne.util.math;
+
+import java.util.Arrays;
+
+/**
+ * Bulk Float32ExpL arithmetic over arrays of packed parts, using the Vector API when it's
+ * available.
+ *
+ * Every element of the result is bit-for-bit what the matching Float32ExpLHelpers method returns,
+ * including throwing ArithmeticException for the first element whose exponent is out of range.
+ * The kernels split each lane into significand and exponent, align the exponents, and
+ * renormalize with a lane-wise count of leading zeros, exactly like the scalar code.
+ *
+ * The Vector API is an incubator module, so it's only used if the JVM was started with
+ * --add-modules jdk.incubator.vector, and the platform has vectors of two to eight longs.
+ * Otherwise, these fall back to plain scalar loops, with identical results.
+ *
+ * The output array may be the same as an input array.
+ */
+public final class Float32ExpLVectorOps {
+    // sum keeps this many interleaved partial sums, whether or not it's vectorized, so the
+    // result doesn't depend on the platform.
+    /*package*/ static final int SUM_LANES = 8;
+    private static final boolean VECTORIZED = vectorApiAvailable();
+
+    private Float32ExpLVectorOps() {}
+
+    /**
+     * Returns true if these use the Vector API, rather than scalar loops.
+     */
+    public static boolean isVectorized() {return VECTORIZED;}
+
+    /**
+     * Sets out[i] to Float32ExpLHelpers.add(a[i], b[i]).
+     */
+    public static void add(long[] a, long[] b, long[] out) {
+        int length = checkLength(a, b, out);
+        int i = VECTORIZED ? Float32ExpLVectorKernels.add(a, b, out, length) : 0;
+        addScalar(a, b, out, i, length);
+    }
+
+    /**
+     * Sets out[i] to Float32ExpLHelpers.multiply(a[i], b[i]).
+     */
+    public static void multiply(long[] a, long[] b, long[] out) {
+        int length = checkLength(a, b, out);
+        int i = VECTORIZED ? Float32ExpLVectorKernels.multiply(a, b, out, length) : 0;
+        multiplyScalar(a, b, out, i, length);
+    }
+
+    /**
+     * Sets out[i] to Float32ExpLHelpers.muldiv(a[i], mul[i], div[i]).
+     */
+    public static void muldiv(long[] a, long[] mul, long[] div, long[] out) {
+        int length = checkLength(a, mul, out);
+        checkLength(a, div, out);
+        int i = VECTORIZED ? Float32ExpLVectorKernels.muldiv(a, mul, div, out, length) : 0;
+        muldivScalar(a, mul, div, out, i, length);
+    }
+
+    /**
+     * Returns the sum of the values, using Float32ExpLHelpers.add.
+     *
+     * Since addition rounds, the order matters. Value i is added to partial sum i % SUM_LANES,
+     * up to the last multiple of SUM_LANES, then the partial sums are added in order, and then the
+     * remaining values are added in order.
+     */
+    public static long sum(long[] values) {
+        long[] partials = new long[SUM_LANES];
+        Arrays.fill(partials, Float32ExpLHelpers.ZERO_PATTERN);
+        int end = values.length - values.length % SUM_LANES;
+        if (VECTORIZED) {
+            Float32ExpLVectorKernels.sum(values, end, partials);
+        } else {
+            sumScalar(values, 0, end, partials);
+        }
+        long sum = partials[0];
+        for (int i = 1; i < SUM_LANES; i++) {
+            sum = Float32ExpLHelpers.add(sum, partials[i]);
+        }
+        for (int i = end; i < values.length; i++) {
+            sum = Float32ExpLHelpers.add(sum, values[i]);
+        }
+        return sum;
+    }
+
+    /*package*/ static void addScalar(long[] a, long[] b, long[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = Float32ExpLHelpers.add(a[i], b[i]);
+        }
+    }
+
+    /*package*/ static void multiplyScalar(long[] a, long[] b, long[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = Float32ExpLHelpers.multiply(a[i], b[i]);
+        }
+    }
+
+    /*package*/ static void muldivScalar(long[] a, long[] mul, long[] div, long[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = Float32ExpLHelpers.muldiv(a[i], mul[i], div[i]);
+        }
+    }
+
+    // Adds values[i] into partials[i % SUM_LANES], for i in [from, end). from must be a multiple of
+    // SUM_LANES.
+    /*package*/ static void sumScalar(long[] values, int from, int end, long[] partials) {
+        sumScalar(values, from, 0, end, partials);
+    }
+
+    // Like sumScalar, but the lanes before firstLane of the first block were already added.
+    /*package*/ static void sumScalar(long[] values, int from, int firstLane, int end, long[] partials) {
+        for (int lane = 0; lane < SUM_LANES; lane++) {
+            long sum = partials[lane];
+            for (int i = from + (lane < firstLane ? SUM_LANES : 0) + lane; i < end; i += SUM_LANES) {
+                sum = Float32ExpLHelpers.add(sum, values[i]);
+            }
+            partials[lane] = sum;
+        }
+    }
+
+    private static int checkLength(long[] a, long[] b, long[] out) {
+        if (a.length != b.length || a.length != out.length) {
+            throw new IllegalArgumentException(
+                    "lengths " + a.length + ", " + b.length + " and " + out.length + " do not match");
+        }
+        return a.length;
+    }
+
+    private static boolean vectorApiAvailable() {
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return false;
+        }
+        try {
+            return Float32ExpLVectorKernels.SUPPORTED;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.tbohne.util.math;
+
+import com.tbohne.util.Assert;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import java.util.Random;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class Float32ExpLVectorOpsTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    private static final long[] EDGE_PARTS = new long[]{
+            Float32ExpLHelpers.ZERO_PATTERN,
+            ImmutableFloat32ExpL.ONE.getParts(),
+            ImmutableFloat32ExpL.NEGATIVE_ONE.getParts(),
+            ImmutableFloat32ExpL.PI.getParts(),
+            Float32ExpLHelpers.getNormalizedParts(0x40000001, 0),
+            Float32ExpLHelpers.getNormalizedParts(-0x40000001, 0),
+            Float32ExpLHelpers.getNormalizedParts(0x7FFFFFFF, 31),
+            Float32ExpLHelpers.getNormalizedParts(-0x7FFFFFFF, 31),
+            Float32ExpLHelpers.getNormalizedParts(0x40000000, 32),
+            Float32ExpLHelpers.getNormalizedParts(0x40000000, -32),
+    };
+
+    @Test
+    public void whenVectorModuleAddedThenVectorized() {
+        org.junit.Assert.assertTrue(Float32ExpLVectorOps.isVectorized());
+    }
+
+    @Test
+    public void whenAddedThenMatchesScalar() {
+        long[] a = randomParts(1, 1003);
+        long[] b = randomParts(2, 1003);
+        long[] out = new long[a.length];
+        Float32ExpLVectorOps.add(a, b, out);
+        for (int i = 0; i < a.length; i++) {
+            Assert.assertEqualsHex("index " + i, Float32ExpLHelpers.add(a[i], b[i]), out[i]);
+        }
+    }
+
+    @Test
+    public void whenMultipliedThenMatchesScalar() {
+        long[] a = randomParts(3, 1003);
+        long[] b = randomParts(4, 1003);
+        long[] out = new long[a.length];
+        Float32ExpLVectorOps.multiply(a, b, out);
+        for (int i = 0; i < a.length; i++) {
+            Assert.assertEqualsHex("index " + i, Float32ExpLHelpers.multiply(a[i], b[i]), out[i]);
+        }
+    }
+
+    @Test
+    public void whenMuldivThenMatchesScalar() {
+        long[] a = randomParts(5, 1003);
+        long[] mul = randomParts(6, 1003);
+        long[] div = randomParts(7, 1003);
+        for (int i = 0; i < div.length; i++) {
+            if (div[i] == Float32ExpLHelpers.ZERO_PATTERN) {
+                div[i] = ImmutableFloat32ExpL.PI.getParts();
+            }
+        }
+        long[] out = new long[a.length];
+        Float32ExpLVectorOps.muldiv(a, mul, div, out);
+        for (int i = 0; i < a.length; i++) {
+            Assert.assertEqualsHex("index " + i, Float32ExpLHelpers.muldiv(a[i], mul[i], div[i]), out[i]);
+        }
+    }
+
+    @Test
+    public void whenOutputIsInputThenUpdatesInPlace() {
+        long[] a = randomParts(8, 64);
+        long[] b = randomParts(9, 64);
+        long[] expected = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            expected[i] = Float32ExpLHelpers.add(a[i], b[i]);
+        }
+        Float32ExpLVectorOps.add(a, b, a);
+        for (int i = 0; i < a.length; i++) {
+            Assert.assertEqualsHex("index " + i, expected[i], a[i]);
+        }
+    }
+
+    @Test
+    public void whenSummedThenMatchesScalarOrder() {
+        for (int length : new int[]{0, 1, 3, 4, 5, 1003}) {
+            long[] values = randomParts(10 + length, length);
+            long[] partials = new long[Float32ExpLVectorOps.SUM_LANES];
+            java.util.Arrays.fill(partials, Float32ExpLHelpers.ZERO_PATTERN);
+            int end = length - length % Float32ExpLVectorOps.SUM_LANES;
+            Float32ExpLVectorOps.sumScalar(values, 0, end, partials);
+            long expected = partials[0];
+            for (int i = 1; i < partials.length; i++) {
+                expected = Float32ExpLHelpers.add(expected, partials[i]);
+            }
+            for (int i = end; i < length; i++) {
+                expected = Float32ExpLHelpers.add(expected, values[i]);
+            }
+            Assert.assertEqualsHex("length " + length, expected, Float32ExpLVectorOps.sum(values));
+        }
+    }
+
+    @Test
+    public void whenLaneOverflowsThenThrowsArithmeticException() {
+        long[] a = new long[16];
+        java.util.Arrays.fill(a, ImmutableFloat32ExpL.ONE.getParts());
+        a[13] = ImmutableFloat32ExpL.MAX_POSITIVE.getParts();
+        long[] out = new long[a.length];
+        exception.expect(ArithmeticException.class);
+        Float32ExpLVectorOps.multiply(a, a, out);
+    }
+
+    @Test
+    public void whenLaneOverflowsThenEarlierLanesWritten() {
+        long[] a = new long[16];
+        java.util.Arrays.fill(a, ImmutableFloat32ExpL.ONE.getParts());
+        a[13] = ImmutableFloat32ExpL.MAX_POSITIVE.getParts();
+        long[] out = new long[a.length];
+        try {
+            Float32ExpLVectorOps.add(a, a, out);
+            org.junit.Assert.fail("expected ArithmeticException");
+        } catch (ArithmeticException e) {
+            for (int i = 0; i < 13; i++) {
+                Assert.assertEqualsHex("index " + i, Float32ExpLHelpers.add(a[i], a[i]), out[i]);
+            }
+            Assert.assertEqualsHex("index 13", 0, out[13]);
+        }
+    }
+
+    @Test
+    public void whenDivisorIsZeroThenThrowsArithmeticException() {
+        long[] a = randomParts(11, 16);
+        long[] div = new long[a.length];
+        java.util.Arrays.fill(div, ImmutableFloat32ExpL.ONE.getParts());
+        div[5] = Float32ExpLHelpers.ZERO_PATTERN;
+        exception.expect(ArithmeticException.class);
+        Float32ExpLVectorOps.muldiv(a, a, div, new long[a.length]);
+    }
+
+    @Test
+    public void whenLengthsDifferThenThrowsIllegalArgumentException() {
+        exception.expect(IllegalArgumentException.class);
+        Float32ExpLVectorOps.add(new long[4], new long[4], new long[3]);
+    }
+
+    // Mixes edge values, values with nearby exponents so adds align, and scattered exponents.
+    private static long[] randomParts(int seed, int length) {
+        Random random = new Random(seed);
+        long[] parts = new long[length];
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    parts[i] = EDGE_PARTS[random.nextInt(EDGE_PARTS.length)];
+                    break;
+                case 1:
+                    parts[i] = Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt(80) - 40);
+                    break;
+                default:
+                    parts[i] = Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt(2000000) - 1000000);
+                    break;
+            }
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,96 @@
+package com.tbohne.util.math;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongUnaryOperator;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.DEFAULT_STRING_PARAMS;
+import static com.tbohne.util.math.Float32ExpLHelpers.getDoubleParts;
+import static com.tbohne.util.math.Float32ExpLHelpers.getLongParts;
+
+/**
+ * A Float32ExpL that may be updated atomically, without locks.
+ *
+ * Since a Float32ExpL is entirely held in a single long of packed parts, this mirrors AtomicLong,
+ * and every update is a compare-and-set loop around one of the Float32ExpLHelpers kernels.
+ *
+ * Like AtomicLong, the arithmetic methods return the packed parts of the previous or updated
+ * value as a long, so they do no allocations. Use new ImmutableFloat32ExpL(parts, true) or
+ * get(Float32ExpL) to read them as a value.
+ *
+ * Like AtomicLong, this does not override equals or hashCode, since it's expected to change.
+ * Because the parts are always normalized, compareAndSet succeeds exactly when the current value
+ * equals the expected value.
+ */
+public class AtomicFloat32ExpL extends Number {
+    private static final long serialVersionUID = 1L;
+
+    private final AtomicLong parts;
+
+    public AtomicFloat32ExpL() {parts = new AtomicLong(Float32ExpLHelpers.ZERO_PATTERN);}
+    public AtomicFloat32ExpL(IFloat32ExpL val) {parts = new AtomicLong(val.getParts());}
+    public AtomicFloat32ExpL(long val) {parts = new AtomicLong(getLongParts(val));}
+    public AtomicFloat32ExpL(double val) {parts = new AtomicLong(getDoubleParts(val));}
+    public AtomicFloat32ExpL(long newParts, boolean ISolmnlySwearIKnowWhatImDoing) {parts = new AtomicLong(newParts);}
+
+    public long getParts() {return parts.get();}
+    public ImmutableFloat32ExpL get() {return new ImmutableFloat32ExpL(parts.get(), true);}
+    public Float32ExpLChainedExpression get(Float32ExpL out) {return out.setParts(parts.get());}
+
+    public void set(IFloat32ExpL val) {parts.set(val.getParts());}
+    public void set(long val) {parts.set(getLongParts(val));}
+    public void set(double val) {parts.set(getDoubleParts(val));}
+    public void setParts(long newParts) {parts.set(newParts);}
+
+    public long getAndSet(IFloat32ExpL val) {return parts.getAndSet(val.getParts());}
+    public long getAndSet(long val) {return parts.getAndSet(getLongParts(val));}
+    public long getAndSet(double val) {return parts.getAndSet(getDoubleParts(val));}
+
+    public boolean compareAndSet(IFloat32ExpL expect, IFloat32ExpL update) {return parts.compareAndSet(expect.getParts(), update.getParts());}
+    public boolean compareAndSetParts(long expectParts, long updateParts) {return parts.compareAndSet(expectParts, updateParts);}
+
+    public long addAndGet(IFloat32ExpL val) {return parts.accumulateAndGet(val.getParts(), Float32ExpLHelpers::add);}
+    public long addAndGet(long val) {return parts.accumulateAndGet(getLongParts(val), Float32ExpLHelpers::add);}
+    public long addAndGet(double val) {return parts.accumulateAndGet(getDoubleParts(val), Float32ExpLHelpers::add);}
+    public long getAndAdd(IFloat32ExpL val) {return parts.getAndAccumulate(val.getParts(), Float32ExpLHelpers::add);}
+    public long getAndAdd(long val) {return parts.getAndAccumulate(getLongParts(val), Float32ExpLHelpers::add);}
+    public long getAndAdd(double val) {return parts.getAndAccumulate(getDoubleParts(val), Float32ExpLHelpers::add);}
+
+    public long subtractAndGet(IFloat32ExpL val) {return parts.accumulateAndGet(val.getParts(), Float32ExpLHelpers::subtract);}
+    public long subtractAndGet(long val) {return parts.accumulateAndGet(getLongParts(val), Float32ExpLHelpers::subtract);}
+    public long subtractAndGet(double val) {return parts.accumulateAndGet(getDoubleParts(val), Float32ExpLHelpers::subtract);}
+    public long getAndSubtract(IFloat32ExpL val) {return parts.getAndAccumulate(val.getParts(), Float32ExpLHelpers::subtract);}
+    public long getAndSubtract(long val) {return parts.getAndAccumulate(getLongParts(val), Float32ExpLHelpers::subtract);}
+    public long getAndSubtract(double val) {return parts.getAndAccumulate(getDoubleParts(val), Float32ExpLHelpers::subtract);}
+
+    public long multiplyAndGet(IFloat32ExpL val) {return parts.accumulateAndGet(val.getParts(), Float32ExpLHelpers::multiply);}
+    public long multiplyAndGet(long val) {return parts.accumulateAndGet(getLongParts(val), Float32ExpLHelpers::multiply);}
+    public long multiplyAndGet(double val) {return parts.accumulateAndGet(getDoubleParts(val), Float32ExpLHelpers::multiply);}
+    public long getAndMultiply(IFloat32ExpL val) {return parts.getAndAccumulate(val.getParts(), Float32ExpLHelpers::multiply);}
+    public long getAndMultiply(long val) {return parts.getAndAccumulate(getLongParts(val), Float32ExpLHelpers::multiply);}
+    public long getAndMultiply(double val) {return parts.getAndAccumulate(getDoubleParts(val), Float32ExpLHelpers::multiply);}
+
+    public long divideAndGet(IFloat32ExpL val) {return parts.accumulateAndGet(val.getParts(), Float32ExpLHelpers::divide);}
+    public long divideAndGet(long val) {return parts.accumulateAndGet(getLongParts(val), Float32ExpLHelpers::divide);}
+    public long divideAndGet(double val) {return parts.accumulateAndGet(getDoubleParts(val), Float32ExpLHelpers::divide);}
+    public long getAndDivide(IFloat32ExpL val) {return parts.getAndAccumulate(val.getParts(), Float32ExpLHelpers::divide);}
+    public long getAndDivide(long val) {return parts.getAndAccumulate(getLongParts(val), Float32ExpLHelpers::divide);}
+    public long getAndDivide(double val) {return parts.getAndAccumulate(getDoubleParts(val), Float32ExpLHelpers::divide);}
+
+    /**
+     * Atomically replaces the parts with accumulator(currentParts, otherParts), and returns the
+     * new parts. The accumulator should be side-effect-free, since it may be re-applied when
+     * threads contend. The Float32ExpLHelpers kernels are all suitable.
+     */
+    public long accumulateAndGet(long otherParts, LongBinaryOperator accumulator) {return parts.accumulateAndGet(otherParts, accumulator);}
+    public long getAndAccumulate(long otherParts, LongBinaryOperator accumulator) {return parts.getAndAccumulate(otherParts, accumulator);}
+    public long updateAndGet(LongUnaryOperator updater) {return parts.updateAndGet(updater);}
+    public long getAndUpdate(LongUnaryOperator updater) {return parts.getAndUpdate(updater);}
+
+    @Override public int intValue() {return Float32ExpLHelpers.intValue(parts.get());}
+    @Override public long longValue() {return Float32ExpLHelpers.longValue(parts.get());}
+    @Override public float floatValue() {return Float32ExpLHelpers.floatValue(parts.get());}
+    @Override public double doubleValue() {return Float32ExpLHelpers.doubleValue(parts.get());}
+
+    @Override public String toString() {return Float32ExpLHelpers.toString(parts.get(), new StringBuilder(), DEFAULT_STRING_PARAMS).toString();}
+}
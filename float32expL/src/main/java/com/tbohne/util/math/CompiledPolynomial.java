@@ -0,0 +1,135 @@
+package com.tbohne.util.math;
+
+import java.util.List;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.DEFAULT_STRING_PARAMS;
+import static com.tbohne.util.math.Float32ExpLHelpers.ZERO_PATTERN;
+import static com.tbohne.util.math.Float32ExpLHelpers.getDoubleParts;
+import static com.tbohne.util.math.Float32ExpLHelpers.getLongParts;
+
+/**
+ * An immutable snapshot of a polynomial, for evaluating the same polynomial many times.
+ *
+ * Polynomials.at walks a List of IFloat32ExpL, keeping a running power of x, so each term costs
+ * two multiplies and an add, plus virtual calls. This copies the coefficients into a long[] of
+ * packed parts once, and evaluates with Horner's method directly on the parts, which is one
+ * multiply and one add per term.
+ *
+ * Trailing zero coefficients are dropped. If most of the remaining coefficients are zero, this
+ * keeps only the nonzero terms and their powers, and Horner's method steps over the gaps by
+ * multiplying by x^gap.
+ *
+ * Results may differ from Polynomials.at in the last bit, since the operations round in a
+ * different order.
+ */
+public class CompiledPolynomial {
+    // parts of the coefficients, lowest power first. Only the nonzero ones if sparse.
+    private final long[] coefficients;
+    // the power of x for each coefficient, or null if coefficients is dense.
+    private final int[] powers;
+
+    public CompiledPolynomial(List<? extends IFloat32ExpL> polynomial) {
+        int length = polynomial.size();
+        int nonZeroCount = 0;
+        for (int i = 0; i < polynomial.size(); i++) {
+            if (polynomial.get(i).getParts() != ZERO_PATTERN) {
+                ++nonZeroCount;
+                length = i + 1;
+            }
+        }
+        if (nonZeroCount == 0) {
+            length = 0;
+        }
+        if (nonZeroCount * 2 < length) {
+            coefficients = new long[nonZeroCount];
+            powers = new int[nonZeroCount];
+            int term = 0;
+            for (int i = 0; i < length; i++) {
+                long parts = polynomial.get(i).getParts();
+                if (parts != ZERO_PATTERN) {
+                    coefficients[term] = parts;
+                    powers[term] = i;
+                    ++term;
+                }
+            }
+        } else {
+            coefficients = new long[length];
+            powers = null;
+            for (int i = 0; i < length; i++) {
+                coefficients[i] = polynomial.get(i).getParts();
+            }
+        }
+    }
+
+    /**
+     * Returns the highest power with a nonzero coefficient, or 0 if the polynomial is zero.
+     */
+    public int degree() {
+        if (coefficients.length == 0) {
+            return 0;
+        }
+        return powers != null ? powers[powers.length - 1] : coefficients.length - 1;
+    }
+
+    public boolean isSparse() {return powers != null;}
+
+    public Float32ExpLChainedExpression at(IFloat32ExpL x, Float32ExpL out) {return out.setParts(atParts(x.getParts()));}
+    public Float32ExpLChainedExpression at(long x, Float32ExpL out) {return out.setParts(atParts(getLongParts(x)));}
+    public Float32ExpLChainedExpression at(double x, Float32ExpL out) {return out.setParts(atParts(getDoubleParts(x)));}
+
+    /**
+     * Returns the parts of the polynomial evaluated at the x parts.
+     */
+    public long atParts(long x) {
+        if (coefficients.length == 0) {
+            return ZERO_PATTERN;
+        } else if (powers == null) {
+            long result = coefficients[coefficients.length - 1];
+            for (int i = coefficients.length - 2; i >= 0; i--) {
+                result = Float32ExpLHelpers.add(Float32ExpLHelpers.multiply(result, x), coefficients[i]);
+            }
+            return result;
+        } else {
+            int term = coefficients.length - 1;
+            long result = coefficients[term];
+            while (term > 0) {
+                result = Float32ExpLHelpers.multiply(result, powerParts(x, powers[term] - powers[term - 1]));
+                --term;
+                result = Float32ExpLHelpers.add(result, coefficients[term]);
+            }
+            return powers[0] == 0 ? result : Float32ExpLHelpers.multiply(result, powerParts(x, powers[0]));
+        }
+    }
+
+    // x^power, by repeated squaring, for a positive power
+    private static long powerParts(long x, int power) {
+        long result = x;
+        long square = x;
+        --power;
+        while (power > 0) {
+            if ((power & 1) != 0) {
+                result = Float32ExpLHelpers.multiply(result, square);
+            }
+            power >>= 1;
+            if (power > 0) {
+                square = Float32ExpLHelpers.multiply(square, square);
+            }
+        }
+        return result;
+    }
+
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('[');
+        for (int i = 0; i < coefficients.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            if (powers != null) {
+                sb.append("x^").append(powers[i]).append('*');
+            }
+            Float32ExpLHelpers.toString(coefficients[i], sb, DEFAULT_STRING_PARAMS);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -1,5 +1,9 @@
 package com.tbohne.util.math;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
@@ -48,13 +52,15 @@ import static com.tbohne.util.math.Float32ExpLHelpers.getNormalizedParts;
  *
  * TODO: There seems to be more methods in BigDecimal to emulate
  */
-public class Float32ExpL extends Number implements Float32ExpLChainedExpression, Float32ExpLHelpers.RemainderSettable {
+public class Float32ExpL extends Number implements Float32ExpLChainedExpression, Float32ExpLHelpers.RemainderSettable, Externalizable {
+    private static final long serialVersionUID = 1L;
     private long parts;
 
     public Float32ExpL() {parts = Float32ExpLHelpers.ZERO_PATTERN;}
     public Float32ExpL(char[] in, int offset, int len) {parts = cast(in, offset, len);}
     public Float32ExpL(char[] in) {parts = cast(in, 0, in.length);}
-    public Float32ExpL(String val) {parts = cast(val.toCharArray(), 0, val.length());}
+    public Float32ExpL(CharSequence in, int offset, int len) {parts = cast(in, offset, len);}
+    public Float32ExpL(String val) {parts = cast(val, 0, val.length());}
     public Float32ExpL(double val) {parts = getDoubleParts(val);}
     public Float32ExpL(int val) {parts = getLongParts(val);}
     public Float32ExpL(long val) {parts = getLongParts(val);}
@@ -76,12 +82,14 @@ public class Float32ExpL extends Number implements Float32ExpLChainedExpression,
     public Float32ExpLChainedExpression set(int val) {parts = getLongParts(val); return this;}
     public Float32ExpLChainedExpression set(long val) {parts = getLongParts(val); return this;}
     public Float32ExpLChainedExpression set(char[] in) {parts = cast(in, 0, in.length); return this;}
-    public Float32ExpLChainedExpression set(String val) {parts = cast(val.toCharArray(), 0, val.length()); return this;}
+    public Float32ExpLChainedExpression set(String val) {parts = cast(val, 0, val.length()); return this;}
     public Float32ExpLChainedExpression set(double val) {parts = getDoubleParts(val); return this;}
     public Float32ExpLChainedExpression set(char[] in, int offset, int len) {parts = cast(in,offset,len); return this;}
+    public Float32ExpLChainedExpression set(CharSequence in, int offset, int len) {parts = cast(in,offset,len); return this;}
     public Float32ExpLChainedExpression set(BigDecimal val) {parts = cast(val); return this;}
     public Float32ExpLChainedExpression set(BigInteger val) {parts = cast(val); return this;}
     public Float32ExpLChainedExpression set(IFloat32ExpL val) {parts = val.getParts(); return this;}
+    /*package*/ Float32ExpLChainedExpression setParts(long newParts) {parts = newParts; return this;}
 
     @Override public Float32ExpLChainedExpression add(IFloat32ExpL val) {parts = Float32ExpLHelpers.add(parts, val.getParts()); return this;}
     @Override public Float32ExpLChainedExpression add(long val) {parts = Float32ExpLHelpers.add(parts, getLongParts(val)); return this;}
@@ -154,6 +162,11 @@ public class Float32ExpL extends Number implements Float32ExpLChainedExpression,
     @Override public Float32ExpLChainedExpression pow2() {parts = Float32ExpLHelpers.pow2(parts); return this;}
     @Override public Float32ExpLChainedExpression log2i() {parts = Float32ExpLHelpers.log2i(parts); return this;}
     @Override public Float32ExpLChainedExpression log2() {parts = Float32ExpLHelpers.log2(parts); return this;}
+    @Override public Float32ExpLChainedExpression sqrt() {parts = Float32ExpLHelpers.sqrt(parts); return this;}
+    @Override public Float32ExpLChainedExpression cbrt() {parts = Float32ExpLHelpers.cbrt(parts); return this;}
+    @Override public Float32ExpLChainedExpression exp() {parts = Float32ExpLHelpers.exp(parts); return this;}
+    @Override public Float32ExpLChainedExpression ln() {parts = Float32ExpLHelpers.ln(parts); return this;}
+    @Override public Float32ExpLChainedExpression log10() {parts = Float32ExpLHelpers.log10(parts); return this;}
 
     @Override public Float32ExpLChainedExpression abs() {parts = Float32ExpLHelpers.abs(parts); return this;}
     @Override public Float32ExpLChainedExpression negate() {parts = Float32ExpLHelpers.negate(parts); return this;}
@@ -219,8 +232,15 @@ public class Float32ExpL extends Number implements Float32ExpLChainedExpression,
     @Override public StringBuilder toString(StringBuilder sb, StringFormatParams params) {
         return Float32ExpLHelpers.toString(parts, sb, params);
     }
+    @Override public int toString(char[] out, int offset, StringFormatParams params) {
+        return Float32ExpLHelpers.toString(parts, out, offset, params);
+    }
+    @Override public <T extends Appendable> T toString(T out, StringFormatParams params) throws IOException {
+        return Float32ExpLHelpers.toString(parts, out, params);
+    }
     @Override public StringBuilder toBNotationString(StringBuilder sb) {return Float32ExpLHelpers.toBNotationString(parts, sb);}
     @Override public StringBuilder toHexString(StringBuilder sb) {return Float32ExpLHelpers.toHexString(parts, sb);}
+    @Override public StringBuilder toShortestString(StringBuilder sb) {return Float32ExpLShortestDecimal.toString(parts, sb);}
 
     @Override public BigInteger toBigInteger() {return Float32ExpLHelpers.toBigInteger(parts);}
     @Override public BigDecimal toBigDecimal() {return Float32ExpLHelpers.toBigDecimal(parts);}
@@ -228,4 +248,7 @@ public class Float32ExpL extends Number implements Float32ExpLChainedExpression,
     @Override public long longValue() {return Float32ExpLHelpers.longValue(parts);}
     @Override public float floatValue() {return Float32ExpLHelpers.floatValue(parts);}
     @Override public double doubleValue() {return Float32ExpLHelpers.doubleValue(parts);}
+
+    @Override public void writeExternal(ObjectOutput out) throws IOException {Float32ExpLCodec.write(parts, out);}
+    @Override public void readExternal(ObjectInput in) throws IOException {parts = Float32ExpLCodec.read(in);}
 }
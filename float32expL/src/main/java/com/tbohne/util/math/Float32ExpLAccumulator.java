@@ -0,0 +1,124 @@
+package com.tbohne.util.math;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.DEFAULT_STRING_PARAMS;
+import static com.tbohne.util.math.Float32ExpLHelpers.INT_MAX_BITS;
+import static com.tbohne.util.math.Float32ExpLHelpers.ZERO_PATTERN;
+import static com.tbohne.util.math.Float32ExpLHelpers.getDoubleParts;
+import static com.tbohne.util.math.Float32ExpLHelpers.getLongParts;
+
+/**
+ * A running Float32ExpL sum that doesn't drop small values.
+ *
+ * Float32ExpLHelpers.add rounds to 32 bits after every add, and returns the larger value when the
+ * exponents are 32 or more apart, so adding many small values to a large one loses all of them.
+ * This keeps the sum as a 124 bit fixed point number instead: a high long scaled to the largest
+ * value so far, and a low long of 62 more bits below it. Like the compensation term of Kahan
+ * summation, the low long collects the bits that don't fit in the high long. The sum is only
+ * rounded to 32 bits by sumParts(), and only rounds down when values are more than 124 bits
+ * below the largest so far.
+ *
+ * Adds don't allocate. This is not thread safe; use Float32ExpLAdder for that.
+ */
+public class Float32ExpLAccumulator {
+    private static final int LOW_BITS = 62;
+    private static final long LOW_MASK = (1L << LOW_BITS) - 1;
+    // moves a 32 bit significand near the top of the high long, leaving room for carries
+    private static final int SIGNIFICAND_SHIFT = INT_MAX_BITS - 2;
+
+    // The sum is (high + low / 2^62) * 2^exponent, where -2^62 <= high < 2^62 and 0 <= low < 2^62.
+    private long high;
+    private long low;
+    private long exponent;
+
+    public Float32ExpLAccumulator() {}
+
+    /**
+     * Returns the packed parts of the sum of the values, added with a Float32ExpLAccumulator.
+     */
+    public static long sumParts(long[] values) {
+        Float32ExpLAccumulator accumulator = new Float32ExpLAccumulator();
+        accumulator.addParts(values, 0, values.length);
+        return accumulator.sumParts();
+    }
+
+    public void add(IFloat32ExpL val) {addParts(val.getParts());}
+    public void add(long val) {addParts(getLongParts(val));}
+    public void add(double val) {addParts(getDoubleParts(val));}
+
+    public void addParts(long otherParts) {
+        if (otherParts == ZERO_PATTERN) {
+            return;
+        }
+        long significand = (otherParts >> INT_MAX_BITS) << SIGNIFICAND_SHIFT;
+        long otherExponent = (long) (int) otherParts - SIGNIFICAND_SHIFT;
+        if (high == 0 && low == 0) {
+            high = significand;
+            exponent = otherExponent;
+            return;
+        }
+        if (otherExponent > exponent) {
+            shiftRight(otherExponent - exponent);
+        }
+        long shift = exponent - otherExponent;
+        long highPart;
+        long lowPart;
+        if (shift < LOW_BITS) {
+            highPart = significand >> shift;
+            lowPart = (significand << (LOW_BITS - shift)) & LOW_MASK;
+        } else {
+            highPart = significand >> 63;
+            lowPart = (significand >> Math.min(shift - LOW_BITS, 63)) & LOW_MASK;
+        }
+        long sumLow = low + lowPart;
+        high += highPart + (sumLow >>> LOW_BITS);
+        low = sumLow & LOW_MASK;
+        if ((high ^ (high << 1)) < 0) { // outside of [-2^62, 2^62), so make room for another bit
+            shiftRight(1);
+        }
+    }
+
+    /**
+     * Adds values[i] for i in [from, to), in order.
+     */
+    public void addParts(long[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            addParts(values[i]);
+        }
+    }
+
+    /**
+     * Returns the packed parts of the sum, rounded down to 32 bits.
+     *
+     * @throws ArithmeticException if the sum is out of range
+     */
+    public long sumParts() {
+        // move the top of the sum to the top of a long, less the sign bit and a spare
+        int shift = Long.numberOfLeadingZeros(high ^ (high >> 63)) - 2;
+        long window = (high << shift) | (low >>> (LOW_BITS - shift));
+        return Float32ExpLHelpers.getNormalizedParts(window, exponent - shift);
+    }
+
+    public ImmutableFloat32ExpL sum() {return new ImmutableFloat32ExpL(sumParts(), true);}
+
+    public Float32ExpLChainedExpression sum(Float32ExpL out) {return out.setParts(sumParts());}
+
+    public void reset() {
+        high = 0;
+        low = 0;
+        exponent = 0;
+    }
+
+    // Divides high:low by 2^bits, rounding down, and scales exponent up to match.
+    private void shiftRight(long bits) {
+        if (bits < LOW_BITS) {
+            low = ((low >>> bits) | (high << (LOW_BITS - bits))) & LOW_MASK;
+            high >>= bits;
+        } else {
+            low = (high >> Math.min(bits - LOW_BITS, 63)) & LOW_MASK;
+            high >>= 63;
+        }
+        exponent += bits;
+    }
+
+    @Override public String toString() {return Float32ExpLHelpers.toString(sumParts(), new StringBuilder(), DEFAULT_STRING_PARAMS).toString();}
+}
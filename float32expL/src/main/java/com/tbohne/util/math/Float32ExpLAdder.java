@@ -0,0 +1,144 @@
+package com.tbohne.util.math;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.DEFAULT_STRING_PARAMS;
+import static com.tbohne.util.math.Float32ExpLHelpers.ZERO_PATTERN;
+import static com.tbohne.util.math.Float32ExpLHelpers.getDoubleParts;
+import static com.tbohne.util.math.Float32ExpLHelpers.getLongParts;
+
+/**
+ * A running Float32ExpL sum for many threads to add to, modeled on LongAdder.
+ *
+ * Uncontended adds are a single compare-and-set on a base value, like AtomicFloat32ExpL. Once
+ * threads collide, each thread adds into one of a set of cells instead, so threads mostly
+ * don't contend with each other. sum() adds the base and all the cells together.
+ *
+ * Like LongAdder, sum() is not an atomic snapshot: adds that happen during sum() may or may not
+ * be included. Also, since Float32ExpL addition rounds, the result can differ slightly depending
+ * on which cells the adds landed in. Use AtomicFloat32ExpL if exact ordering matters.
+ *
+ * Like LongAdder, this does not override equals or hashCode.
+ */
+public class Float32ExpLAdder extends Number {
+    private static final long serialVersionUID = 1L;
+    // Cells are spaced this many longs apart, so that each is on its own cache line.
+    private static final int CELL_STRIDE = 8;
+    private static final int CELL_COUNT = cellCount(Runtime.getRuntime().availableProcessors());
+
+    private static final ThreadLocal<int[]> probe = new ThreadLocal<int[]>() {
+        @Override protected int[] initialValue() {
+            // any nonzero seed works, and mixing the id spreads sequential threads across cells
+            long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+            return new int[]{(int) (id ^ (id >>> 32)) | 1};
+        }
+    };
+
+    private final AtomicLong base = new AtomicLong(ZERO_PATTERN);
+    private volatile AtomicLongArray cells;
+
+    public Float32ExpLAdder() {}
+
+    public void add(IFloat32ExpL val) {addParts(val.getParts());}
+    public void add(long val) {addParts(getLongParts(val));}
+    public void add(double val) {addParts(getDoubleParts(val));}
+
+    public void addParts(long otherParts) {
+        AtomicLongArray cs = cells;
+        if (cs == null) {
+            long current = base.get();
+            if (base.compareAndSet(current, Float32ExpLHelpers.add(current, otherParts))) {
+                return;
+            }
+            cs = getOrCreateCells();
+        }
+        int[] threadProbe = probe.get();
+        while(true) {
+            int index = (threadProbe[0] & (CELL_COUNT - 1)) * CELL_STRIDE;
+            long current = cs.get(index);
+            if (cs.compareAndSet(index, current, Float32ExpLHelpers.add(current, otherParts))) {
+                return;
+            }
+            // collided with another thread, so move this thread to another cell (xorshift)
+            int next = threadProbe[0];
+            next ^= next << 13;
+            next ^= next >>> 17;
+            next ^= next << 5;
+            threadProbe[0] = next;
+        }
+    }
+
+    /**
+     * Returns the packed parts of the current sum.
+     */
+    public long sumParts() {
+        long sum = base.get();
+        AtomicLongArray cs = cells;
+        if (cs != null) {
+            for (int i = 0; i < cs.length(); i += CELL_STRIDE) {
+                sum = Float32ExpLHelpers.add(sum, cs.get(i));
+            }
+        }
+        return sum;
+    }
+
+    public ImmutableFloat32ExpL sum() {return new ImmutableFloat32ExpL(sumParts(), true);}
+
+    public Float32ExpLChainedExpression sum(Float32ExpL out) {return out.setParts(sumParts());}
+
+    /**
+     * Resets the sum to zero. Like LongAdder, this is only reliable when there are no concurrent
+     * adds.
+     */
+    public void reset() {
+        base.set(ZERO_PATTERN);
+        AtomicLongArray cs = cells;
+        if (cs != null) {
+            for (int i = 0; i < cs.length(); i += CELL_STRIDE) {
+                cs.set(i, ZERO_PATTERN);
+            }
+        }
+    }
+
+    /**
+     * Returns the packed parts of the sum, and resets each part to zero as it's read. Adds that
+     * happen concurrently are either included in the result, or left for the next sum.
+     */
+    public long sumPartsThenReset() {
+        long sum = base.getAndSet(ZERO_PATTERN);
+        AtomicLongArray cs = cells;
+        if (cs != null) {
+            for (int i = 0; i < cs.length(); i += CELL_STRIDE) {
+                sum = Float32ExpLHelpers.add(sum, cs.getAndSet(i, ZERO_PATTERN));
+            }
+        }
+        return sum;
+    }
+
+    private AtomicLongArray getOrCreateCells() {
+        synchronized (base) {
+            AtomicLongArray cs = cells;
+            if (cs == null) {
+                cs = new AtomicLongArray(CELL_COUNT * CELL_STRIDE);
+                for (int i = 0; i < cs.length(); i += CELL_STRIDE) {
+                    cs.set(i, ZERO_PATTERN);
+                }
+                cells = cs;
+            }
+            return cs;
+        }
+    }
+
+    // smallest power of two at least as large as the processor count
+    private static int cellCount(int processors) {
+        return Integer.highestOneBit(Math.max(processors, 2) * 2 - 1);
+    }
+
+    @Override public int intValue() {return Float32ExpLHelpers.intValue(sumParts());}
+    @Override public long longValue() {return Float32ExpLHelpers.longValue(sumParts());}
+    @Override public float floatValue() {return Float32ExpLHelpers.floatValue(sumParts());}
+    @Override public double doubleValue() {return Float32ExpLHelpers.doubleValue(sumParts());}
+
+    @Override public String toString() {return Float32ExpLHelpers.toString(sumParts(), new StringBuilder(), DEFAULT_STRING_PARAMS).toString();}
+}
@@ -0,0 +1,145 @@
+package com.tbohne.util.math;
+
+import java.util.Arrays;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.getDoubleParts;
+import static com.tbohne.util.math.Float32ExpLHelpers.getLongParts;
+
+/**
+ * A fixed-length array of Float32ExpL values, stored as a single long[] of packed parts.
+ *
+ * A Float32ExpL is an object header wrapped around a single long, so large tables of them spend
+ * most of their memory on headers, and are scattered across the heap. This stores only the parts,
+ * so it's ~3x smaller, and the bulk operations walk memory linearly, calling the
+ * Float32ExpLHelpers kernels directly.
+ *
+ * Individual values are read into and written from a caller-supplied Float32ExpL, so indexed
+ * access does no allocations.
+ *
+ * Bulk operations mutate this array in place, and return this array, to allow chaining.
+ */
+public class Float32ExpLArray {
+    private final long[] parts;
+
+    public Float32ExpLArray(int length) {
+        parts = new long[length];
+        Arrays.fill(parts, Float32ExpLHelpers.ZERO_PATTERN);
+    }
+    public Float32ExpLArray(Float32ExpLArray other) {parts = other.parts.clone();}
+    public Float32ExpLArray(long[] newParts, boolean ISolmnlySwearIKnowWhatImDoing) {parts = newParts;}
+
+    public int length() {return parts.length;}
+
+    /**
+     * Returns the backing array of packed parts. Changes to the returned array are reflected in
+     * this Float32ExpLArray, and vice versa.
+     */
+    public long[] getPartsArray() {return parts;}
+
+    public long getParts(int index) {return parts[index];}
+    public void setParts(int index, long newParts) {parts[index] = newParts;}
+
+    public Float32ExpLChainedExpression get(int index, Float32ExpL out) {return out.setParts(parts[index]);}
+
+    public void set(int index, IFloat32ExpL val) {parts[index] = val.getParts();}
+    public void set(int index, long val) {parts[index] = getLongParts(val);}
+    public void set(int index, double val) {parts[index] = getDoubleParts(val);}
+
+    public Float32ExpLArray fill(IFloat32ExpL val) {Arrays.fill(parts, val.getParts()); return this;}
+    public Float32ExpLArray fill(long val) {Arrays.fill(parts, getLongParts(val)); return this;}
+    public Float32ExpLArray fill(double val) {Arrays.fill(parts, getDoubleParts(val)); return this;}
+
+    public Float32ExpLArray add(Float32ExpLArray other) {
+        long[] otherParts = checkLength(other);
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = Float32ExpLHelpers.add(parts[i], otherParts[i]);
+        }
+        return this;
+    }
+    public Float32ExpLArray add(IFloat32ExpL val) {return addParts(val.getParts());}
+    public Float32ExpLArray add(long val) {return addParts(getLongParts(val));}
+    public Float32ExpLArray add(double val) {return addParts(getDoubleParts(val));}
+    private Float32ExpLArray addParts(long other) {
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = Float32ExpLHelpers.add(parts[i], other);
+        }
+        return this;
+    }
+
+    public Float32ExpLArray subtract(Float32ExpLArray other) {
+        long[] otherParts = checkLength(other);
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = Float32ExpLHelpers.subtract(parts[i], otherParts[i]);
+        }
+        return this;
+    }
+    public Float32ExpLArray subtract(IFloat32ExpL val) {return subtractParts(val.getParts());}
+    public Float32ExpLArray subtract(long val) {return subtractParts(getLongParts(val));}
+    public Float32ExpLArray subtract(double val) {return subtractParts(getDoubleParts(val));}
+    private Float32ExpLArray subtractParts(long other) {
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = Float32ExpLHelpers.subtract(parts[i], other);
+        }
+        return this;
+    }
+
+    public Float32ExpLArray multiply(Float32ExpLArray other) {
+        long[] otherParts = checkLength(other);
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = Float32ExpLHelpers.multiply(parts[i], otherParts[i]);
+        }
+        return this;
+    }
+    public Float32ExpLArray multiply(IFloat32ExpL val) {return multiplyParts(val.getParts());}
+    public Float32ExpLArray multiply(long val) {return multiplyParts(getLongParts(val));}
+    public Float32ExpLArray multiply(double val) {return multiplyParts(getDoubleParts(val));}
+    private Float32ExpLArray multiplyParts(long other) {
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = Float32ExpLHelpers.multiply(parts[i], other);
+        }
+        return this;
+    }
+
+    public Float32ExpLArray divide(Float32ExpLArray other) {
+        long[] otherParts = checkLength(other);
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = Float32ExpLHelpers.divide(parts[i], otherParts[i]);
+        }
+        return this;
+    }
+    public Float32ExpLArray divide(IFloat32ExpL val) {return divideParts(val.getParts());}
+    public Float32ExpLArray divide(long val) {return divideParts(getLongParts(val));}
+    public Float32ExpLArray divide(double val) {return divideParts(getDoubleParts(val));}
+    private Float32ExpLArray divideParts(long other) {
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = Float32ExpLHelpers.divide(parts[i], other);
+        }
+        return this;
+    }
+
+    private long[] checkLength(Float32ExpLArray other) {
+        if (other.parts.length != parts.length) {
+            throw new IllegalArgumentException(
+                    "length " + other.parts.length + " does not match length " + parts.length);
+        }
+        return other.parts;
+    }
+
+    @Override public boolean equals(Object object) {
+        return object instanceof Float32ExpLArray && Arrays.equals(parts, ((Float32ExpLArray) object).parts);
+    }
+
+    @Override public int hashCode() {return Arrays.hashCode(parts);}
+
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append('[');
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            Float32ExpLHelpers.toString(parts[i], sb, Float32ExpLHelpers.DEFAULT_STRING_PARAMS);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -71,6 +71,11 @@ public interface Float32ExpLChainedExpression extends IFloat32ExpL {
     Float32ExpLChainedExpression log2();
     Float32ExpLChainedExpression log2i(); //only keeps the integer part
     Float32ExpLChainedExpression pow2(); //inverse of log2. DOES NOT SQUARE.
+    Float32ExpLChainedExpression sqrt();
+    Float32ExpLChainedExpression cbrt();
+    Float32ExpLChainedExpression exp();
+    Float32ExpLChainedExpression ln();
+    Float32ExpLChainedExpression log10();
 
     Float32ExpLChainedExpression abs();
     Float32ExpLChainedExpression negate();
@@ -0,0 +1,200 @@
+package com.tbohne.util.math;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.INT_MAX_BITS;
+import static com.tbohne.util.math.Float32ExpLHelpers.ZERO_PATTERN;
+
+/**
+ * A compact binary form of packed Float32ExpL parts, for save files and network messages.
+ *
+ * Each value is a varint tag, then the significand's high bytes. The tag is
+ * (zigzag(exponent + 30) << 2 | (byteCount - 1)) + 1, where byteCount is how many bytes of the
+ * significand remain after trimming trailing zero bytes, and zero is the tag 0 alone. The
+ * exponent is offset so that values near 1 have exponents near 0, and zigzag keeps small
+ * negative exponents short. Varints are 7 bits per byte, low bits first, with the high bit set on
+ * every byte but the last.
+ *
+ * Small integers and round numbers take 2 or 3 bytes, and no value takes more than 9.
+ */
+public final class Float32ExpLCodec {
+    public static final int MAX_ENCODED_LENGTH = 9;
+    private static final int EXPONENT_OFFSET = 30;
+    private static final int SIGNIFICAND_BYTES = 4;
+
+    private Float32ExpLCodec() {}
+
+    /**
+     * Returns how many bytes encoding the parts takes.
+     */
+    public static int encodedLength(long parts) {
+        if (parts == ZERO_PATTERN) {
+            return 1;
+        }
+        return varintLength(tagOf(parts)) + significandByteCount(parts);
+    }
+
+    public static void write(long parts, DataOutput out) throws IOException {
+        if (parts == ZERO_PATTERN) {
+            out.writeByte(0);
+            return;
+        }
+        long tag = tagOf(parts);
+        while ((tag & ~0x7FL) != 0) {
+            out.writeByte((int) (tag & 0x7F) | 0x80);
+            tag >>>= 7;
+        }
+        out.writeByte((int) tag);
+        int significand = (int) (parts >> INT_MAX_BITS);
+        int byteCount = significandByteCount(parts);
+        for (int i = 0; i < byteCount; i++) {
+            out.writeByte(significand >>> (24 - 8 * i));
+        }
+    }
+
+    /**
+     * Reads one value written by write. Throws StreamCorruptedException if the bytes are not a
+     * valid encoding.
+     */
+    public static long read(DataInput in) throws IOException {
+        long tag = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift >= Long.SIZE - 7) {
+                throw new StreamCorruptedException("Float32ExpL varint is too long");
+            }
+            b = in.readUnsignedByte();
+            tag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        if (tag == 0) {
+            return ZERO_PATTERN;
+        }
+        int byteCount = byteCountOf(tag);
+        int significand = 0;
+        for (int i = 0; i < byteCount; i++) {
+            significand |= in.readUnsignedByte() << (24 - 8 * i);
+        }
+        try {
+            return assemble(tag, significand);
+        } catch (IllegalArgumentException e) {
+            throw new StreamCorruptedException(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the parts at the buffer's position. Throws BufferOverflowException if there isn't
+     * room, in which case some bytes may have been written.
+     */
+    public static void write(long parts, ByteBuffer out) {
+        if (parts == ZERO_PATTERN) {
+            out.put((byte) 0);
+            return;
+        }
+        long tag = tagOf(parts);
+        while ((tag & ~0x7FL) != 0) {
+            out.put((byte) ((tag & 0x7F) | 0x80));
+            tag >>>= 7;
+        }
+        out.put((byte) tag);
+        int significand = (int) (parts >> INT_MAX_BITS);
+        int byteCount = significandByteCount(parts);
+        for (int i = 0; i < byteCount; i++) {
+            out.put((byte) (significand >>> (24 - 8 * i)));
+        }
+    }
+
+    /**
+     * Reads one value at the buffer's position. Throws BufferUnderflowException if the buffer
+     * ends first, and IllegalArgumentException if the bytes are not a valid encoding.
+     */
+    public static long read(ByteBuffer in) {
+        long tag = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift >= Long.SIZE - 7) {
+                throw new IllegalArgumentException("Float32ExpL varint is too long");
+            }
+            b = in.get();
+            tag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        if (tag == 0) {
+            return ZERO_PATTERN;
+        }
+        int byteCount = byteCountOf(tag);
+        int significand = 0;
+        for (int i = 0; i < byteCount; i++) {
+            significand |= (in.get() & 0xFF) << (24 - 8 * i);
+        }
+        return assemble(tag, significand);
+    }
+
+    public static void encode(long[] parts, ByteBuffer out) {encode(parts, 0, parts.length, out);}
+
+    /**
+     * Writes parts[from] through parts[to - 1] in order. The count is not written.
+     */
+    public static void encode(long[] parts, int from, int to, ByteBuffer out) {
+        for (int i = from; i < to; i++) {
+            write(parts[i], out);
+        }
+    }
+
+    public static void decode(ByteBuffer in, long[] parts) {decode(in, parts, 0, parts.length);}
+
+    /**
+     * Reads to - from values into parts[from] through parts[to - 1].
+     */
+    public static void decode(ByteBuffer in, long[] parts, int from, int to) {
+        for (int i = from; i < to; i++) {
+            parts[i] = read(in);
+        }
+    }
+
+    /**
+     * Returns how many bytes encoding all of the parts takes, to size a buffer.
+     */
+    public static int encodedLength(long[] parts, int from, int to) {
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            length += encodedLength(parts[i]);
+        }
+        return length;
+    }
+
+    private static long tagOf(long parts) {
+        long exponent = (long) (int) parts + EXPONENT_OFFSET;
+        long zigzag = (exponent << 1) ^ (exponent >> 63);
+        return ((zigzag << 2) | (significandByteCount(parts) - 1)) + 1;
+    }
+
+    private static int byteCountOf(long tag) {
+        return (int) ((tag - 1) & 3) + 1;
+    }
+
+    private static int significandByteCount(long parts) {
+        int significand = (int) (parts >> INT_MAX_BITS);
+        return SIGNIFICAND_BYTES - Integer.numberOfTrailingZeros(significand) / 8;
+    }
+
+    private static int varintLength(long tag) {
+        return (Long.SIZE - Long.numberOfLeadingZeros(tag | 1) + 6) / 7;
+    }
+
+    private static long assemble(long tag, int significand) {
+        long zigzag = (tag - 1) >>> 2;
+        long exponent = ((zigzag >>> 1) ^ -(zigzag & 1)) - EXPONENT_OFFSET;
+        // a normalized significand's top two bits differ
+        if (exponent < Integer.MIN_VALUE || exponent > Integer.MAX_VALUE || (significand ^ (significand << 1)) >= 0) {
+            throw new IllegalArgumentException("Not a valid Float32ExpL encoding");
+        }
+        return ((long) significand << INT_MAX_BITS) | (exponent & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,184 @@
+package com.tbohne.util.math;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.DEFAULT_STRING_PARAMS;
+import static com.tbohne.util.math.Float32ExpLHelpers.INT_MAX_BITS;
+import static com.tbohne.util.math.Float32ExpLHelpers.ZERO_PATTERN;
+import static com.tbohne.util.math.Float32ExpLHelpers.getLongParts;
+import static com.tbohne.util.math.Float32ExpLHelpers.getNormalizedParts;
+
+/**
+ * Alternative pow, pow2, and log2 kernels for Float32ExpL parts, that never round-trip through
+ * double, Math.pow, or Math.log.
+ *
+ * Float32ExpLHelpers.complex_pow, pow2 and log2 convert the significand to a double and call
+ * Math.log and Math.pow. These instead work in 62 bit fixed point: the top 8 bits of the fraction
+ * select a table entry, and a short polynomial covers the remaining bits. The tables are built
+ * once at class load with StrictMath, so results are identical on every platform.
+ *
+ * These take and return the same packed parts as Float32ExpLHelpers, so they can be swapped in
+ * for the Float32ExpLHelpers versions:
+ *      new Float32ExpL(Float32ExpLFixedPointHelpers.pow(base.getParts(), exponent.getParts()), true)
+ * Results are not bit-identical to the Float32ExpLHelpers versions.
+ */
+public class Float32ExpLFixedPointHelpers {
+    private static final int EXPONENT_BIAS = 30;
+    private static final int FRACTION_BITS = 62;
+    private static final long FIXED_ONE = 1L << FRACTION_BITS;
+    private static final long LN_2 = 0x2C5C85FDF473DE6AL; // ln(2) in fixed point
+    private static final long LOG2_E = 0x5C551D94AE0BF85DL; // 1/ln(2) in fixed point
+    private static final int TABLE_BITS = 8;
+    private static final int TABLE_SIZE = 1 << TABLE_BITS;
+
+    private static final long ONE_PATTERN = getLongParts(1);
+    private static final long TWO_PATTERN = getLongParts(2);
+    private static final long TEN_PATTERN = getLongParts(10);
+
+    // log2(1 + i/256) in fixed point. The last entry is exactly 1, for significands that round up.
+    private static final long[] log2Table = new long[TABLE_SIZE + 1];
+    // 2^(i/256) in fixed point
+    private static final long[] pow2Table = new long[TABLE_SIZE];
+    static {
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            double log2 = StrictMath.log(1 + (double) i / TABLE_SIZE) / StrictMath.log(2);
+            log2Table[i] = (long) (log2 * FIXED_ONE);
+            pow2Table[i] = (long) (StrictMath.pow(2, (double) i / TABLE_SIZE) * FIXED_ONE);
+        }
+        log2Table[TABLE_SIZE] = FIXED_ONE;
+    }
+
+    private Float32ExpLFixedPointHelpers() {}
+
+    public static long pow(long value, long other) {
+        if (value == ZERO_PATTERN
+                || other == ZERO_PATTERN
+                || value == TEN_PATTERN
+                || other == TWO_PATTERN) {
+            return Float32ExpLHelpers.pow(value, other);
+        }
+        boolean negateResult = false;
+        if (value < 0) {
+            //negative base requires integer exponent, so this throws if other isn't an integer.
+            negateResult = Float32ExpLHelpers.verifyNegativeSig((int) (other >> INT_MAX_BITS), (int) other);
+            value = Float32ExpLHelpers.negate(value);
+        }
+        // this.pow(other) = this.log2().multiply(other).pow2(), without rounding in between
+        long integerBits = (int) value + EXPONENT_BIAS;
+        int shift = log2Shift(integerBits);
+        long log2 = fixedLog2(integerBits, (int) (value >> INT_MAX_BITS), shift);
+        long otherSignificand = other >> INT_MAX_BITS;
+        long otherExponent = (int) other;
+        // log2 * otherSignificand is 94 bits, so keep the high 64
+        long product = multiplyHigh(log2, otherSignificand << (INT_MAX_BITS - 1));
+        long productExponent = shift + otherExponent - FRACTION_BITS + INT_MAX_BITS + 1;
+        value = fixedPow2(product, productExponent);
+        if (negateResult) {
+            return Float32ExpLHelpers.negate(value);
+        }
+        return value;
+    }
+
+    public static long pow2(long value) {
+        long significand = value >> INT_MAX_BITS;
+        int exponent = (int) value;
+        if (exponent > 0) {
+            StringBuilder sb = new StringBuilder();
+            Float32ExpLHelpers.toString(value, sb, DEFAULT_STRING_PARAMS).append(" out of range");
+            throw new IllegalArgumentException(sb.toString());
+        } else if (value == ZERO_PATTERN) {
+            return ONE_PATTERN;
+        }
+        return fixedPow2(significand, exponent);
+    }
+
+    public static long log2(long value) {
+        long significand = value >> INT_MAX_BITS;
+        long exponent = (int) value;
+        if (significand <= 0) {
+            StringBuilder builder = new StringBuilder("nonpositive value ");
+            Float32ExpLHelpers.toString(value, builder, DEFAULT_STRING_PARAMS);
+            throw new IllegalArgumentException(builder.toString());
+        } else if (value == ONE_PATTERN) { // lg(1) == 0.0
+            return ZERO_PATTERN;
+        } else if (significand == 0x40000000) {// lg(power-of-2) == exponent
+            return getLongParts(exponent + EXPONENT_BIAS);
+        }
+        long integerBits = exponent + EXPONENT_BIAS;
+        int shift = log2Shift(integerBits);
+        long log2 = fixedLog2(integerBits, (int) significand, shift);
+        return getNormalizedParts(log2, shift - FRACTION_BITS);
+    }
+
+    // How many fraction bits fixedLog2 has to give up, to make room for the integer bits.
+    private static int log2Shift(long integerBits) {
+        return Long.SIZE - Long.numberOfLeadingZeros(Math.abs(integerBits));
+    }
+
+    // Returns integerBits + lg(significand / 2^30) with (FRACTION_BITS - shift) fraction bits.
+    // significand must be normalized and positive.
+    private static long fixedLog2(long integerBits, int significand, int shift) {
+        // significand / 2^30 = (1 + index/256) * (1 + r), where |r| <= 1/512. Rounding to the
+        // nearest entry means values just under a power of two use the exact last entry, rather
+        // than cancelling against an inexact one.
+        int remainderBits = EXPONENT_BIAS - TABLE_BITS;
+        int index = (int) ((significand + (1L << (remainderBits - 1))) >> remainderBits) - TABLE_SIZE;
+        long remainder = significand - ((long) (TABLE_SIZE + index) << remainderBits);
+        long r = (remainder << (FRACTION_BITS - remainderBits)) / (TABLE_SIZE + index);
+        // ln(1 + r) = r - r^2/2 + r^3/3 - r^4/4
+        long poly = FIXED_ONE / 3 - r / 4;
+        poly = FIXED_ONE / 2 - multiplyFixed(r, poly);
+        poly = FIXED_ONE - multiplyFixed(r, poly);
+        long fraction = log2Table[index] + multiplyFixed(multiplyFixed(r, poly), LOG2_E);
+        return (integerBits << (FRACTION_BITS - shift)) + (fraction >> shift);
+    }
+
+    // Returns the parts of 2^(significand * 2^exponent), for a significand of up to 63 bits.
+    private static long fixedPow2(long significand, long exponent) {
+        if (significand == 0) {
+            return ONE_PATTERN;
+        }
+        long integer;
+        long fraction;
+        if (exponent >= 0) {
+            integer = significand << exponent;
+            if (exponent >= INT_MAX_BITS || (integer >> exponent) != significand) {
+                throw new ArithmeticException("Exponent 2^" + significand + "B" + exponent + " out of range");
+            }
+            fraction = 0;
+        } else if (exponent > -Long.SIZE + 1) {
+            int shift = (int) -exponent;
+            integer = significand >> shift;
+            fraction = (significand - (integer << shift)) << (FRACTION_BITS - shift);
+        } else {
+            integer = significand >> (Long.SIZE - 1);
+            int shift = (int) Math.min(-exponent - FRACTION_BITS, Long.SIZE - 1);
+            fraction = (significand >> shift) - (integer << FRACTION_BITS);
+        }
+        // 2^fraction = 2^(index/256) * e^(r*ln(2)), where r < 1/256
+        int index = (int) (fraction >>> (FRACTION_BITS - TABLE_BITS));
+        long r = fraction & ((1L << (FRACTION_BITS - TABLE_BITS)) - 1);
+        long t = multiplyFixed(r, LN_2);
+        // e^t = 1 + t + t^2/2 + t^3/6 + t^4/24
+        long poly = FIXED_ONE / 6 + t / 24;
+        poly = FIXED_ONE / 2 + multiplyFixed(t, poly);
+        poly = FIXED_ONE + multiplyFixed(t, poly);
+        poly = FIXED_ONE + multiplyFixed(t, poly);
+        long result = multiplyFixed(pow2Table[index], poly);
+        return getNormalizedParts(result, integer - FRACTION_BITS);
+    }
+
+    private static long multiplyFixed(long left, long right) {
+        return multiplyHigh(left, right) << (Long.SIZE - FRACTION_BITS);
+    }
+
+    // The high 64 bits of the 128 bit product. Math.multiplyHigh is not available on Java 8.
+    /*package*/ static long multiplyHigh(long left, long right) {
+        long leftHigh = left >> INT_MAX_BITS;
+        long leftLow = left & 0xFFFFFFFFL;
+        long rightHigh = right >> INT_MAX_BITS;
+        long rightLow = right & 0xFFFFFFFFL;
+        long lowProduct = leftLow * rightLow;
+        long middle = leftHigh * rightLow + (lowProduct >>> INT_MAX_BITS);
+        long middleLow = (middle & 0xFFFFFFFFL) + leftLow * rightHigh;
+        return leftHigh * rightHigh + (middle >> INT_MAX_BITS) + (middleLow >> INT_MAX_BITS);
+    }
+}
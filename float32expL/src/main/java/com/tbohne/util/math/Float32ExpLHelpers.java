@@ -4,8 +4,14 @@ import com.tbohne.util.Assert;
 import com.tbohne.util.math.IFloat32ExpL.ExponentToStringInterface;
 import com.tbohne.util.math.IFloat32ExpL.StringFormatParams;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.tbohne.util.math.Float32ExpLFixedPointHelpers.multiplyHigh;
 
 /**
  * This is the shared logic of Float32ExpL and ImmutableFloat32ExpL.
@@ -15,6 +21,16 @@ public class Float32ExpLHelpers {
     private static final int EXPONENT_BIAS = 30;
     private static final int ZERO_EXPONENT = Integer.MIN_VALUE;
     private static final double INV_LOG10 = 0.30102999566398114; // 1/lg(10)
+    private static final double LN_2 = Math.log(2);
+    private static final double LOG2_E = 1 / LN_2;
+    // significand * 2^exponent is a normal double for exponents between these
+    private static final int MIN_DOUBLE_EXPONENT = -1000;
+    private static final int MAX_DOUBLE_EXPONENT = 960;
+    // Math.exp of values smaller than this is a normal double
+    private static final double MAX_DOUBLE_EXP = 700;
+    // powi keeps significands in [2^61, 2^62], and gives up once an exponent passes the limit
+    private static final int POWI_FRACTION_BITS = 61;
+    private static final long POWI_EXPONENT_LIMIT = 1L << 40;
     private static final boolean INTERNAL_ASSERTS = false;
 
     static final long ZERO_PATTERN = (ZERO_EXPONENT & 0xFFFFFFFFL);
@@ -23,6 +39,15 @@ public class Float32ExpLHelpers {
     private static final long TWO_PATTERN = getLongParts(2);
     private static final long TEN_PATTERN = getLongParts(10);
     private static final long NEG_ONE_PATTERN = getLongParts(-1);
+    private static final int SORTABLE_SIGNIFICAND_BITS = 30;
+    private static final int SORTABLE_SIGNIFICAND_MASK = (1 << SORTABLE_SIGNIFICAND_BITS) - 1;
+    private static final int SORTABLE_SIGNIFICAND_TOP = 1 << SORTABLE_SIGNIFICAND_BITS;
+    private static final long SORTABLE_KEY_FLAG = 1L << 62;
+    // moves a significand to the top of 62 bits, like the product of two significands, for fma
+    private static final int WIDE_SHIFT = INT_MAX_BITS - 2;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    // "00" through "99", so decimal digits can be written two at a time
+    private static final char[] DIGIT_PAIRS = makeDigitPairs();
 
     public static class DefaultExponentToString implements ExponentToStringInterface {
         @Override
@@ -31,6 +56,20 @@ public class Float32ExpLHelpers {
                 stringBuilder.append('E').append(exponent);
             }
         }
+
+        @Override
+        public int addExponent(char[] out, int offset, int exponent) {
+            if (exponent != 0) {
+                out[offset++] = 'E';
+                offset = writeInt(exponent, out, offset);
+            }
+            return offset;
+        }
+
+        @Override
+        public int maxLength() {
+            return MAX_EXPONENT_STRING_LENGTH;
+        }
     }
 
     public static final DefaultExponentToString DEFAULT_EXPONENT_TO_STRING = new DefaultExponentToString();
@@ -45,6 +84,14 @@ public class Float32ExpLHelpers {
     public static final int ENG_STRING_EXPONENT_MULTIPLE = 3;
     public static final StringFormatParams ENG_STRING_PARAMS = new StringFormatParams(ENG_MIN_PRECISION, ENG_MAX_PRECISION, ENG_STRING_EXPONENT_MULTIPLE, DEFAULT_EXPONENT_TO_STRING);
 
+    private static final int MAX_EXPONENT_STRING_LENGTH = 12; // "E-2147483648"
+    // toString(long, StringBuilder, StringFormatParams) writes the digits here, rather than allocating
+    private static final ThreadLocal<char[]> digitScratch = new ThreadLocal<char[]>() {
+        @Override protected char[] initialValue() {
+            return new char[maxDigitsLength(DEFAULT_STRING_PARAMS)];
+        }
+    };
+
     private static final int[] pow10s = new int[]{
             0x50000000, -27, //1e1
             0x64000000, -24, //1e2
@@ -78,49 +125,302 @@ public class Float32ExpLHelpers {
             0x777A5BEB, 1783446535, //1e536870912
     };
 
-    public static long cast(char[] in, int offset, int len) {
-        //TODO Parse HexString
-        int end = offset + len;
+    // Dense table of getPowerOf10Parts results for the common range, so toString and cast don't
+    // have to rebuild them one bit of the exponent at a time. Built with the same squaring path,
+    // so cached and uncached results are identical.
+    private static final int POW10_CACHE_LIMIT = 350;
+    private static final long[] pow10Cache = new long[POW10_CACHE_LIMIT * 2 + 1];
+    static {
+        for (int i = -POW10_CACHE_LIMIT; i <= POW10_CACHE_LIMIT; i++) {
+            pow10Cache[i + POW10_CACHE_LIMIT] = computePowerOf10Parts(i);
+        }
+    }
+
+    public static long cast(char[] in, int offset, int len) {return cast(new CharArray(in), offset, len);}
+
+    /**
+     * Like cast(char[], int, int), but reads directly from a String or other CharSequence, without
+     * copying it. The other cast overloads all parse through this one.
+     */
+    public static long cast(CharSequence in, int offset, int len) {
+        if (isHexString(in, offset, len)) {
+            return parseHexString(in, offset, len);
+        }
+        return parseDecimal(in, offset, offset + len, false);
+    }
+
+    // Whether the text starts with 0x, so cast reads it with parseHexString
+    /*package*/ static boolean isHexString(CharSequence in, int offset, int len) {
+        return len > 1 && in.charAt(offset) == '0' && (in.charAt(offset + 1) == 'x' || in.charAt(offset + 1) == 'X');
+    }
+
+    /**
+     * Like cast(char[], int, int), but reads ASCII bytes, for parsing network and file data
+     * without decoding it to chars first.
+     */
+    public static long cast(byte[] in, int offset, int len) {return cast(new AsciiBytes(in), offset, len);}
+
+    /**
+     * Like cast(byte[], int, int), for the ASCII bytes at absolute index offset of the buffer.
+     * The buffer's position is not changed.
+     */
+    public static long cast(ByteBuffer in, int offset, int len) {
+        if (in.hasArray()) {
+            return cast(in.array(), in.arrayOffset() + offset, len);
+        }
+        return cast(new AsciiByteBuffer(in), offset, len);
+    }
+
+    /**
+     * Parses the decimal value in [offset, end): an optional '-', digits with an optional '.', and
+     * then an optional base 10 exponent after 'e' or 'E', or base 2 exponent after 'b' or 'B'.
+     * Digits past the first 10 or so only move the decimal point.
+     * cast stops at the first char that isn't part of a value. If strict, that char, or a value
+     * without digits, throws NumberFormatException instead.
+     */
+    /*package*/ static long parseDecimal(CharSequence in, int offset, int end, boolean strict) {
         boolean negative = false;
         long sigDec = 0; //initial digits
         int sig10Offset = 0; //times pow(10, sig10Offset)
         long sig2Offset = 0; //times pow(2, sig10Offset)
         //sign
-        if (offset < end && in[offset] == '-') {
+        if (offset < end && in.charAt(offset) == '-') {
             negative = true;
             ++offset;
         }
+        int digitsStart = offset;
         //parse initial easy digits into sigDec
-        while(offset < end && Character.isDigit(in[offset]) && sigDec <= Integer.MAX_VALUE) {
-            sigDec = sigDec * 10 + (in[offset] - '0');
+        while(offset < end && isAsciiDigit(in.charAt(offset)) && sigDec <= Integer.MAX_VALUE) {
+            sigDec = sigDec * 10 + (in.charAt(offset) - '0');
             ++offset;
         }
         //If there's more digits, just ignore them, and increase sig10Offset
-        while(offset < end && Character.isDigit(in[offset])) {
+        while(offset < end && isAsciiDigit(in.charAt(offset))) {
             ++sig10Offset;
             ++offset;
         }
+        boolean hasDigits = offset != digitsStart;
         //If there's a decimal point, keep going and decrease sig10Offset
-        if (offset < end && in[offset] == '.') {
-            ++offset;
-            while(offset < end && Character.isDigit(in[offset]) && sigDec <= Integer.MAX_VALUE) {
-                sigDec = sigDec * 10 + (in[offset] - '0');
+        if (offset < end && in.charAt(offset) == '.') {
+            digitsStart = ++offset;
+            while(offset < end && isAsciiDigit(in.charAt(offset)) && sigDec <= Integer.MAX_VALUE) {
+                sigDec = sigDec * 10 + (in.charAt(offset) - '0');
                 --sig10Offset;
                 ++offset;
             }
+            //If there's more digits, just ignore them
+            while(offset < end && isAsciiDigit(in.charAt(offset))) {
+                ++offset;
+            }
+            hasDigits |= offset != digitsStart;
         }
-        //If there's more digits, just ignore them
-        while(offset < end && Character.isDigit(in[offset])) {
-            ++offset;
+        if (strict && !hasDigits) {
+            throw new NumberFormatException("Value has no digits at index " + offset);
         }
         //If there's an e-notation suffix for base10 or base2, then increase those
-        if (offset < end && (in[offset] == 'e' || in[offset] == 'E')) {
-            ++offset;
-            sig10Offset += Integer.parseInt(new String(in, offset, end-offset));
-        } else if (offset < end && (in[offset] == 'b' || in[offset] == 'B')) {
-            ++offset;
-            sig2Offset = Long.parseLong(new String(in, offset, end-offset));
+        if (offset < end && (in.charAt(offset) == 'e' || in.charAt(offset) == 'E')) {
+            long exponent = sig10Offset + parseInteger(in, offset + 1, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            if (exponent < Integer.MIN_VALUE || exponent > Integer.MAX_VALUE) {
+                throw new NumberFormatException("Exponent out of range at index " + offset);
+            }
+            sig10Offset = (int) exponent;
+            offset = end;
+        } else if (offset < end && (in.charAt(offset) == 'b' || in.charAt(offset) == 'B')) {
+            sig2Offset = parseInteger(in, offset + 1, end, Long.MIN_VALUE, Long.MAX_VALUE);
+            offset = end;
+        }
+        if (strict && offset != end) {
+            throw new NumberFormatException("Unexpected '" + in.charAt(offset) + "' at index " + offset);
+        }
+        return decimalToParts(negative, sigDec, sig10Offset, sig2Offset);
+    }
+
+    private static boolean isAsciiDigit(char c) {return c >= '0' && c <= '9';}
+
+    // Parses [offset, end) as a signed decimal integer in [min, max], like Long.parseLong, but
+    // without making a String. The digits are accumulated negative, since that range is larger.
+    /*package*/ static long parseInteger(CharSequence in, int offset, int end, long min, long max) {
+        boolean negative = offset < end && in.charAt(offset) == '-';
+        int start = offset < end && (in.charAt(offset) == '-' || in.charAt(offset) == '+') ? offset + 1 : offset;
+        if (start == end) {
+            throw new NumberFormatException("Invalid integer at index " + offset);
+        }
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = in.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit || result * 10 < limit + digit) {
+                throw new NumberFormatException("Invalid integer at index " + offset);
+            }
+            result = result * 10 - digit;
+        }
+        return negative ? result : -result;
+    }
+
+    // Views a char[] as a CharSequence, for parsing. CharBuffer.wrap does the same, but its
+    // position and bounds checks made parsing char[]s about three times slower.
+    /*package*/ static final class CharArray implements CharSequence {
+        private final char[] chars;
+
+        CharArray(char[] chars) {this.chars = chars;}
+
+        @Override public int length() {return chars.length;}
+        @Override public char charAt(int index) {return chars[index];}
+        @Override public CharSequence subSequence(int start, int end) {return new String(chars, start, end - start);}
+        @Override public String toString() {return new String(chars);}
+    }
+
+    // Views ASCII bytes as chars, so that they're parsed by the same code as chars.
+    private static final class AsciiBytes implements CharSequence {
+        private final byte[] bytes;
+
+        AsciiBytes(byte[] bytes) {this.bytes = bytes;}
+
+        @Override public int length() {return bytes.length;}
+        @Override public char charAt(int index) {return (char) (bytes[index] & 0xFF);}
+        @Override public CharSequence subSequence(int start, int end) {return toString().substring(start, end);}
+        @Override public String toString() {return new String(bytes, StandardCharsets.ISO_8859_1);}
+    }
+
+    // Views the ASCII bytes of a ByteBuffer as chars, by absolute index, like AsciiBytes.
+    private static final class AsciiByteBuffer implements CharSequence {
+        private final ByteBuffer bytes;
+
+        AsciiByteBuffer(ByteBuffer bytes) {this.bytes = bytes;}
+
+        @Override public int length() {return bytes.limit();}
+        @Override public char charAt(int index) {return (char) (bytes.get(index) & 0xFF);}
+        @Override public CharSequence subSequence(int start, int end) {return toString().substring(start, end);}
+        @Override public String toString() {
+            char[] chars = new char[bytes.limit()];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = charAt(i);
+            }
+            return new String(chars);
+        }
+    }
+
+    /**
+     * Parses the output of toHexString exactly. The significand and exponent are each 1 to 8 hex
+     * digits of their 32 bits, so there's no rounding, and no powers of 10 are involved.
+     * Throws NumberFormatException if the text is not in that format, or if the significand is not
+     * normalized.
+     */
+    public static long parseHexString(CharSequence in, int offset, int len) {
+        int end = offset + len;
+        if (len < 5 || in.charAt(offset) != '0' || (in.charAt(offset + 1) != 'x' && in.charAt(offset + 1) != 'X')) {
+            throw new NumberFormatException("Hex string must start with 0x at index " + offset);
+        }
+        int i = offset + 2;
+        long significand = 0;
+        int digit;
+        while (i < end && (digit = hexDigitValue(in.charAt(i))) >= 0) {
+            significand = (significand << 4) | digit;
+            ++i;
+        }
+        int significandDigits = i - offset - 2;
+        if (i == end || (in.charAt(i) != 'p' && in.charAt(i) != 'P')) {
+            throw new NumberFormatException("Hex string is missing P at index " + i);
+        }
+        int exponentStart = ++i;
+        long exponent = 0;
+        while (i < end && (digit = hexDigitValue(in.charAt(i))) >= 0) {
+            exponent = (exponent << 4) | digit;
+            ++i;
+        }
+        if (i != end) {
+            throw new NumberFormatException("Invalid hex digit at index " + i);
+        }
+        return hexParts(significand, significandDigits, exponent, i - exponentStart, offset);
+    }
+
+    public static long parseHexString(char[] in, int offset, int len) {return parseHexString(new CharArray(in), offset, len);}
+
+    private static int hexDigitValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static long hexParts(long significand, int significandDigits, long exponent, int exponentDigits, int offset) {
+        if (significandDigits < 1 || significandDigits > 8 || exponentDigits < 1 || exponentDigits > 8) {
+            throw new NumberFormatException("Hex string at index " + offset + " must have 1 to 8 digits in each part");
+        }
+        long parts = (significand << INT_MAX_BITS) | exponent;
+        int sig = (int) significand;
+        if (parts != ZERO_PATTERN && (sig ^ (sig << 1)) >= 0) {
+            throw new NumberFormatException("Hex string at index " + offset + " has an unnormalized significand");
+        }
+        return parts;
+    }
+
+    /**
+     * Parses the output of toBNotationString, a decimal integer significand, 'B', and a decimal
+     * base 2 exponent, without the decimal point and base 10 handling of cast. The result is
+     * exact whenever the significand fits in 32 bits, which it always does for toBNotationString.
+     * Throws NumberFormatException if the text is not in that format.
+     */
+    public static long parseBNotation(CharSequence in, int offset, int len) {
+        int end = offset + len;
+        int b = offset;
+        while (b < end && in.charAt(b) != 'B' && in.charAt(b) != 'b') {
+            ++b;
+        }
+        if (b == end) {
+            throw new NumberFormatException("B notation is missing B at index " + offset);
+        }
+        long significand = parseInteger(in, offset, b, Long.MIN_VALUE, Long.MAX_VALUE);
+        long exponent = parseInteger(in, b + 1, end, Long.MIN_VALUE, Long.MAX_VALUE);
+        return getNormalizedParts(significand, exponent);
+    }
+
+    public static long parseBNotation(char[] in, int offset, int len) {return parseBNotation(new CharArray(in), offset, len);}
+
+    /**
+     * Appends toHexString of values[from] through values[to - 1], separated by delimiter, for an
+     * exact text form of many values that parseHexStrings reads back.
+     */
+    public static StringBuilder toHexStrings(long[] values, int from, int to, char delimiter, StringBuilder sb) {
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                sb.append(delimiter);
+            }
+            toHexString(values[i], sb);
+        }
+        return sb;
+    }
+
+    /**
+     * Parses the delimited hex strings in [offset, offset + len) into out, starting at outOffset,
+     * and returns how many there were. Empty text has no values.
+     */
+    public static int parseHexStrings(CharSequence in, int offset, int len, char delimiter, long[] out, int outOffset) {
+        int end = offset + len;
+        int count = 0;
+        int start = offset;
+        while (start < end) {
+            int stop = start;
+            while (stop < end && in.charAt(stop) != delimiter) {
+                ++stop;
+            }
+            out[outOffset + count] = parseHexString(in, start, stop - start);
+            ++count;
+            start = stop + 1;
         }
+        return count;
+    }
+
+    /**
+     * Returns the parts of sigDec * pow(10, sig10Offset) * pow(2, sig2Offset), negated if
+     * negative. This is the end of parsing, once the digits and exponents are read.
+     */
+    /*package*/ static long decimalToParts(boolean negative, long sigDec, int sig10Offset, long sig2Offset) {
         //assign the initial digits and take care of easy base2 power
         if (negative) {
             sigDec = -sigDec;
@@ -162,7 +462,14 @@ public class Float32ExpLHelpers {
         }
     }
 
-    public static long getPowerOf10Parts(int initial_exp) {
+    public static long getPowerOf10Parts(int exponent) {
+        if (exponent >= -POW10_CACHE_LIMIT && exponent <= POW10_CACHE_LIMIT) {
+            return pow10Cache[exponent + POW10_CACHE_LIMIT];
+        }
+        return computePowerOf10Parts(exponent);
+    }
+
+    private static long computePowerOf10Parts(int initial_exp) {
         boolean negative = initial_exp < 0;
         initial_exp = negative ? -initial_exp : initial_exp;
         long significand = 0x40000000; //initialize to 1.0
@@ -266,6 +573,73 @@ public class Float32ExpLHelpers {
         return getNormalizedParts(significand * mulSignificand / divSignificand, exponent + mulExponent - divExponent);
     }
 
+    /**
+     * Returns value * mul + add, normalized once. Unlike multiply then add, the product keeps all
+     * 62 bits until after the add, so the result is the exact result rounded down, and there's
+     * one normalization instead of two.
+     */
+    public static long fma(long value, long mul, long add) {
+        long product = (value >> INT_MAX_BITS) * (mul >> INT_MAX_BITS);
+        if (product == 0) {
+            return add;
+        }
+        long productExponent = (long) (int) value + (int) mul;
+        // move the addend to the top of a 62 bit significand, like the product. A zero addend is
+        // then far below the product.
+        long addSignificand = (add >> INT_MAX_BITS) << WIDE_SHIFT;
+        long addExponent = (long) (int) add - WIDE_SHIFT;
+        long exponent = Math.max(productExponent, addExponent);
+        long sum = (product >> Math.min(exponent - productExponent, 63))
+                + (addSignificand >> Math.min(exponent - addExponent, 63));
+        return getNormalizedParts(sum, exponent);
+    }
+
+    /**
+     * Returns the sum of a[i] * b[i]. The arrays must be the same length.
+     */
+    public static long dot(long[] a, long[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("lengths " + a.length + " and " + b.length + " do not match");
+        }
+        return sumOfProducts(a, b, 0, a.length);
+    }
+
+    /**
+     * Returns the sum of a[i] * b[i], for i in [from, to).
+     *
+     * The running sum is a 64 bit fixed point number, scaled to the largest product so far, and
+     * is only normalized to 32 bits at the end. Unlike adding the results of multiply, no bits of
+     * the products are dropped until they're 62 bits below the largest product. This only throws
+     * if the result is out of range.
+     */
+    public static long sumOfProducts(long[] a, long[] b, int from, int to) {
+        long sum = 0;
+        // below the exponent of any nonzero product
+        long sumExponent = 2L * Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            long value = a[i];
+            long other = b[i];
+            long product = (value >> INT_MAX_BITS) * (other >> INT_MAX_BITS);
+            if (product == 0) {
+                continue;
+            }
+            long productExponent = (long) (int) value + (int) other;
+            if (productExponent > sumExponent) {
+                sum >>= Math.min(productExponent - sumExponent, 63);
+                sumExponent = productExponent;
+            } else {
+                product >>= Math.min(sumExponent - productExponent, 63);
+            }
+            long next = sum + product;
+            if (((sum ^ next) & (product ^ next)) < 0) { // overflow, so make room for another bit
+                next = (sum >> 1) + (product >> 1);
+                sumExponent++;
+            }
+            sum = next;
+        }
+        return getNormalizedParts(sum, sumExponent);
+    }
+
     public static long divideToIntegralValue(long value, long other) {
         long significand = value >> INT_MAX_BITS;
         long exponent = (int)value;
@@ -427,6 +801,11 @@ public class Float32ExpLHelpers {
             return getPowerOf10Parts((int) pow10exp);
         } else if (other == TWO_PATTERN) { //X^2 = X*X
             return multiply(value, value);
+        } else if (otherExponent >= 0 && otherExponent < INT_MAX_BITS) { //X^N for integer N
+            return powi(value, (long) otherSignificand << otherExponent);
+        } else if (otherExponent < 0 && otherExponent > -INT_MAX_BITS
+                && (otherSignificand & ((1 << -otherExponent) - 1)) == 0) { //X^N for integer N
+            return powi(value, otherSignificand >> -otherExponent);
         } else { //N^X
             boolean negateResult = false;
             if (significand < 0) {
@@ -444,6 +823,66 @@ public class Float32ExpLHelpers {
         }
     }
 
+    /**
+     * Returns value^n, by exponentiation by squaring.
+     *
+     * The significands are multiplied as 62 bit fixed point, and only rounded down to 32 bits at
+     * the end, so unlike complex_pow no bits are lost to Math.log and Math.pow. Each step rounds
+     * down in the 62nd bit, so the result is the exact power rounded down, unless that is within
+     * about n * 2^-60 of a 32 bit boundary, where it may be one less.
+     *
+     * @throws ArithmeticException if the result is out of range, or value is zero and n is negative
+     */
+    public static long powi(long value, long n) {
+        if (n == 0) { //X^0 = 1
+            return ONE_PATTERN;
+        } else if (value == ZERO_PATTERN) { //0^N = 0
+            if (n < 0) {
+                throw new ArithmeticException("0 raised to a negative value");
+            }
+            return value;
+        }
+        boolean negateResult = value < 0 && (n & 1) != 0;
+        long significand = Math.abs(value >> INT_MAX_BITS);
+        long exponent = (int) value;
+        // base and result are in [2^61, 2^62], times 2^baseExponent and 2^resultExponent
+        long base;
+        long baseExponent;
+        if (n > 0) {
+            base = significand << (POWI_FRACTION_BITS - EXPONENT_BIAS);
+            baseExponent = exponent + EXPONENT_BIAS - POWI_FRACTION_BITS;
+        } else { // X^-N = (1/X)^N, where 1/X is 2^92/significand, in two exact divisions
+            long high = (1L << (POWI_FRACTION_BITS + 1)) / significand;
+            long remainder = (1L << (POWI_FRACTION_BITS + 1)) % significand;
+            base = (high << EXPONENT_BIAS) + (remainder << EXPONENT_BIAS) / significand;
+            baseExponent = -exponent - EXPONENT_BIAS - POWI_FRACTION_BITS - 1;
+        }
+        long result = 1L << POWI_FRACTION_BITS;
+        long resultExponent = -POWI_FRACTION_BITS;
+        // Math.abs(Long.MIN_VALUE) is 2^63 unsigned
+        for (long remaining = Math.abs(n); ; ) {
+            if ((remaining & 1) != 0) {
+                long product = multiplyHigh(result, base);
+                int shift = Long.numberOfLeadingZeros(product) - 2;
+                result = product << shift;
+                resultExponent += baseExponent + Long.SIZE - shift;
+            }
+            remaining >>>= 1;
+            if (remaining == 0) {
+                break;
+            }
+            long square = multiplyHigh(base, base);
+            int shift = Long.numberOfLeadingZeros(square) - 2;
+            base = square << shift;
+            baseExponent = 2 * baseExponent + Long.SIZE - shift;
+            // base is multiplied in at least once more, and the result only moves further from 1
+            if (Math.abs(baseExponent) > POWI_EXPONENT_LIMIT) {
+                throw new ArithmeticException("Exponent " + baseExponent + " out of range");
+            }
+        }
+        return getNormalizedParts(negateResult ? -result : result, resultExponent);
+    }
+
     // this.pow(other) = this.log2().multiply(other).pow2()
     public static long complex_pow(long value, long other) {
         long significand = value >> INT_MAX_BITS;
@@ -471,7 +910,7 @@ public class Float32ExpLHelpers {
         return assembleParts(significand, exponent);
     }
 
-    private static boolean verifyNegativeSig(int otherSignificand, int otherExponent) {
+    /*package*/ static boolean verifyNegativeSig(int otherSignificand, int otherExponent) {
         if (otherExponent <= -INT_MAX_BITS) { //exponent definitely not integer
             throw new IllegalArgumentException("exponent for negative base must be an integer");
         } else if (otherExponent <= 0) { //exponent might not be integer
@@ -562,6 +1001,98 @@ public class Float32ExpLHelpers {
         return value;
     }
 
+    // Square root, rounded down. The exponent is halved, and the significand is an exact integer
+    // square root, so this is both faster and more accurate than pow(0.5).
+    public static long sqrt(long value) {
+        long significand = value >> INT_MAX_BITS;
+        long exponent = (int)value;
+        if (significand < 0) {
+            throw valueException("negative value ", value);
+        } else if (significand == 0) {
+            return ZERO_PATTERN;
+        }
+        // scale the significand to [2^60, 2^62) with an even exponent, so the root is a normalized
+        // significand, and the exponent halves exactly.
+        int shift = INT_MAX_BITS - 2 + (int) (exponent & 1);
+        long square = significand << shift;
+        long root = (long) Math.sqrt((double) square);
+        // the rounded double root may be one off
+        if (root * root > square) {
+            root--;
+        } else if ((root + 1) * (root + 1) <= square) {
+            root++;
+        }
+        return assembleParts(root, (exponent - shift) >> 1);
+    }
+
+    // cbrt(significand * 2^exponent) = cbrt(significand * 2^(exponent mod 3)) * 2^(exponent / 3)
+    public static long cbrt(long value) {
+        long significand = value >> INT_MAX_BITS;
+        long exponent = (int)value;
+        if (significand == 0) {
+            return ZERO_PATTERN;
+        }
+        long remainder = Math.floorMod(exponent, 3);
+        long root = getDoubleParts(Math.cbrt(Math.scalb((double) significand, (int) remainder)));
+        return assembleParts(root >> INT_MAX_BITS, (int) root + (exponent - remainder) / 3);
+    }
+
+    // e^value. Large values are split into pow2 of the integer and fractional parts of
+    // value*log2(e), so the result can be far outside the range of double.
+    public static long exp(long value) {
+        long significand = value >> INT_MAX_BITS;
+        int exponent = (int)value;
+        if (significand == 0) {
+            return ONE_PATTERN;
+        }
+        double power = Math.scalb((double) significand, exponent);
+        if (Math.abs(power) < MAX_DOUBLE_EXP) {
+            return getDoubleParts(Math.exp(power));
+        }
+        double power2 = power * LOG2_E;
+        double integer = Math.floor(power2);
+        if (!(integer >= Integer.MIN_VALUE && integer <= Integer.MAX_VALUE)) {
+            StringBuilder builder = new StringBuilder("exp of ");
+            toString(value, builder, DEFAULT_STRING_PARAMS).append(" out of range");
+            throw new ArithmeticException(builder.toString());
+        }
+        long fraction = getDoubleParts(Math.exp((power2 - integer) * LN_2));
+        return assembleParts(fraction >> INT_MAX_BITS, (int) fraction + (long) integer);
+    }
+
+    // Natural log. Values in the range of double use Math.log directly, others are split into
+    // ln(significand) + exponent*ln(2).
+    public static long ln(long value) {
+        long significand = value >> INT_MAX_BITS;
+        long exponent = (int)value;
+        if (significand <= 0) {
+            throw valueException("nonpositive value ", value);
+        } else if (exponent > MIN_DOUBLE_EXPONENT && exponent < MAX_DOUBLE_EXPONENT) {
+            return getDoubleParts(Math.log(Math.scalb((double) significand, (int) exponent)));
+        }
+        double fraction = Math.log(Math.scalb((double) significand, -EXPONENT_BIAS));
+        return getDoubleParts(fraction + (exponent + EXPONENT_BIAS) * LN_2);
+    }
+
+    // Base 10 log, like ln. Powers of ten in the range of double are exact.
+    public static long log10(long value) {
+        long significand = value >> INT_MAX_BITS;
+        long exponent = (int)value;
+        if (significand <= 0) {
+            throw valueException("nonpositive value ", value);
+        } else if (exponent > MIN_DOUBLE_EXPONENT && exponent < MAX_DOUBLE_EXPONENT) {
+            return getDoubleParts(Math.log10(Math.scalb((double) significand, (int) exponent)));
+        }
+        double fraction = Math.log10(Math.scalb((double) significand, -EXPONENT_BIAS));
+        return getDoubleParts(fraction + (exponent + EXPONENT_BIAS) * INV_LOG10);
+    }
+
+    private static IllegalArgumentException valueException(String message, long value) {
+        StringBuilder builder = new StringBuilder(message);
+        toString(value, builder, DEFAULT_STRING_PARAMS);
+        return new IllegalArgumentException(builder.toString());
+    }
+
     public static long abs(long value) {
         long significand = value >> INT_MAX_BITS;
         long exponent = (int)value;
@@ -744,12 +1275,143 @@ public class Float32ExpLHelpers {
         return significand > otherSignificand;
     }
 
+    /**
+     * Returns a long whose natural signed order matches the numeric order of the parts, so that
+     * keys may be sorted with Arrays.sort(long[]), radix sorts, or compared with Long.compare.
+     *
+     * Zero becomes 0. Positive values become keys from 1L<<62 up, with a flag bit, then the
+     * exponent offset to be unsigned, then the low 30 bits of the significand, since the top two
+     * bits of a normalized significand are always 01. Negative values become the bitwise not of
+     * the key of their inverted significand, which reverses their order below zero.
+     *
+     * The parts must be normalized.
+     */
+    public static long toSortableKey(long parts) {
+        if (parts == ZERO_PATTERN) {
+            return 0;
+        }
+        long sign = parts >> 63;
+        int significand = (int) (parts >> INT_MAX_BITS) ^ (int) sign;
+        long exponent = ((int) parts ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        long key = SORTABLE_KEY_FLAG | (exponent << SORTABLE_SIGNIFICAND_BITS) | (significand & SORTABLE_SIGNIFICAND_MASK);
+        return key ^ sign;
+    }
+
+    /**
+     * The inverse of toSortableKey. Throws IllegalArgumentException for longs that toSortableKey
+     * never returns.
+     */
+    public static long fromSortableKey(long key) {
+        if (key == 0) {
+            return ZERO_PATTERN;
+        }
+        long sign = key >> 63;
+        long positiveKey = key ^ sign;
+        if (positiveKey < SORTABLE_KEY_FLAG) {
+            throw new IllegalArgumentException("Key " + key + " was not made by toSortableKey");
+        }
+        int exponent = (int) (positiveKey >>> SORTABLE_SIGNIFICAND_BITS) ^ Integer.MIN_VALUE;
+        int significand = ((int) positiveKey & SORTABLE_SIGNIFICAND_MASK | SORTABLE_SIGNIFICAND_TOP) ^ (int) sign;
+        return ((long) significand << INT_MAX_BITS) | (exponent & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns a well mixed hash of a long, for hash tables that use the low bits as an index.
+     *
+     * hashCode folds the parts together, but small integers and their multiples share most of
+     * their bits, and differ mostly in the high bits of the significand, so those hashes cluster.
+     * This is the 64 bit finalizer from MurmurHash3, so every bit of the input affects every bit of
+     * the result.
+     */
+    public static int mixHash(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return (int) value;
+    }
+
+    /**
+     * Returns the most chars that toString(long, char[], int, StringFormatParams) can write with
+     * these params, or -1 if params.exponentToString doesn't say how long its exponents can be.
+     * The params are mutable, so this should be checked again if they might have changed.
+     */
+    public static int maxStringLength(StringFormatParams params) {
+        int exponentLength = params.exponentToString.maxLength();
+        if (exponentLength < 0) {
+            return -1;
+        }
+        return maxDigitsLength(params) + exponentLength;
+    }
+
+    // sign, decimal point, and digits. If the exponent is negative, the digits before the decimal
+    // can go negative, which pushes up to exponentMultiple extra digits after the decimal.
+    private static int maxDigitsLength(StringFormatParams params) {
+        return 2 + Math.max(params.minDigits, params.maxDigits) + 2 * Math.max(params.exponentMultiple, 1);
+    }
+
     public static StringBuilder toString(long value, StringBuilder sb, StringFormatParams params) {
+        char[] digits = digitScratch.get();
+        int digitsLength = maxDigitsLength(params);
+        if (digits.length < digitsLength) {
+            digits = new char[digitsLength];
+            digitScratch.set(digits);
+        }
+        long displayExpAndEnd = toStringDigits(value, digits, 0, params);
+        sb.append(digits, 0, (int) displayExpAndEnd);
+        params.exponentToString.addExponent(sb, (int) (displayExpAndEnd >> INT_MAX_BITS));
+        return sb;
+    }
+
+    /**
+     * Writes the value into out starting at offset, and returns the number of chars written.
+     * This does no allocations, unless params has a custom ExponentToStringInterface that
+     * doesn't override addExponent(char[], int, int).
+     * out must have room for maxStringLength(params) chars after offset. If that's -1, use one of
+     * the other overloads instead.
+     */
+    public static int toString(long value, char[] out, int offset, StringFormatParams params) {
+        long displayExpAndEnd = toStringDigits(value, out, offset, params);
+        int end = params.exponentToString.addExponent(out,
+                (int) displayExpAndEnd,
+                (int) (displayExpAndEnd >> INT_MAX_BITS));
+        return end - offset;
+    }
+
+    /**
+     * Appends the value to out, with a single append call. If out is a CharBuffer with an
+     * accessible array, and the length of the exponent is known, this writes directly into that
+     * array, and does no allocations.
+     */
+    public static <T extends Appendable> T toString(long value, T out, StringFormatParams params) throws IOException {
+        int maxLength = maxStringLength(params);
+        if (maxLength < 0) {
+            out.append(toString(value, new StringBuilder(), params));
+            return out;
+        }
+        if (out instanceof CharBuffer) {
+            CharBuffer buffer = (CharBuffer) out;
+            if (buffer.hasArray() && buffer.remaining() >= maxLength) {
+                int len = toString(value, buffer.array(), buffer.arrayOffset() + buffer.position(), params);
+                buffer.position(buffer.position() + len);
+                return out;
+            }
+        }
+        char[] chars = new char[maxLength];
+        int len = toString(value, chars, 0, params);
+        out.append(CharBuffer.wrap(chars, 0, len));
+        return out;
+    }
+
+    // Writes the sign and digits into out, and returns the display exponent in the high bits and
+    // the end offset in the low bits.
+    private static long toStringDigits(long value, char[] out, int offset, StringFormatParams params) {
         int exponent = (int) value;
         int workingSig = (int) (value >> INT_MAX_BITS);
         int workingExp = (int) value;
         if (workingSig < 0) {
-            sb.append('-');
+            out[offset++] = '-';
             if (workingSig == 0x80000000) {
                 workingSig = 0x40000000;
                 workingExp += 1;
@@ -765,7 +1427,10 @@ public class Float32ExpLHelpers {
             //find next smallest power of 10
             base10Exp =  (long) ((((long) exponent) + EXPONENT_BIAS) * INV_LOG10);
             if (base10Exp > Integer.MAX_VALUE) {
-                return sb.append("INF");
+                out[offset++] = 'I';
+                out[offset++] = 'N';
+                out[offset++] = 'F';
+                return offset;
             }
             long pow10Parts = getPowerOf10Parts((int) base10Exp);
             long pow10Sig = pow10Parts >> INT_MAX_BITS;
@@ -795,7 +1460,8 @@ public class Float32ExpLHelpers {
             maxSig = longSig + 1; //longSig was crafted to have an unused bit on the right
             minSig = longSig - 1; //giving us room for interact with "an extra bit" of rounding
         }
-        return toStringImpl(sb,
+        return toStringImpl(out,
+                offset,
                 params,
                 (int) base10Exp,
                 minSig,
@@ -803,7 +1469,13 @@ public class Float32ExpLHelpers {
                 oneSig);
     }
 
-    private static StringBuilder toStringImpl(StringBuilder sb,
+    // Writes the digits of maxSig/oneSig. Digits are shown until they differ from the digits of
+    // minSig/oneSig, or maxSig runs out of digits, limited by params.minDigits and
+    // params.maxDigits, after which any remaining digits are zeros.
+    // oneSig is always 2^shift or 10*2^(shift-1), so rather than dividing by oneSig for every
+    // digit, the digits are shifted out of the fraction two at a time.
+    private static long toStringImpl(char[] out,
+            int offset,
             StringFormatParams params,
             int base10Exp,
             long minSig,
@@ -814,41 +1486,127 @@ public class Float32ExpLHelpers {
         int displayExponent = base10Exp - digitsBeforeDecimal + 1;
         int minDigitsAfterDecimal = params.minDigits - digitsBeforeDecimal;
         int maxDigitsAfterDecimal = params.maxDigits - digitsBeforeDecimal;
-        //show digits before decimal
-        while(digitsBeforeDecimal > 0) {
-            char minDigit = (char) (minSig /  oneSig);
-            char maxDigit = (char) (maxSig /  oneSig);
-            sb.append((char) ('0' + maxDigit));
-            if (minDigit == maxDigit) {
-                minSig = minSig % oneSig * 10;
-                maxSig = maxSig % oneSig * 10;
-            } else {
-                maxSig = 0;
-            }
-            --digitsBeforeDecimal;
-        }
-        if (minDigitsAfterDecimal > 0 ||
-                (maxDigitsAfterDecimal > 0 && maxSig != 0)) {
-            sb.append('.');
-        }
-        //show digits after decimal
-        while(minDigitsAfterDecimal > 0 ||
-                (maxDigitsAfterDecimal > 0 && maxSig != 0)) {
-            char minDigit = (char) (minSig /  oneSig);
-            char maxDigit = (char) (maxSig /  oneSig);
-            sb.append((char) ('0' + maxDigit));
-            if (minDigit == maxDigit) {
-                minSig = minSig % oneSig * 10;
-                maxSig = maxSig % oneSig * 10;
-            } else {
-                maxSig = 0;
+        if (digitsBeforeDecimal < 0) {
+            digitsBeforeDecimal = 0;
+        }
+        //split the values into integer and fraction. If oneSig is 10*2^shift, the integer has two digits.
+        int shift = Long.numberOfTrailingZeros(oneSig);
+        int integerDigits = 1;
+        if ((oneSig >> shift) != 1) {
+            --shift;
+            integerDigits = 2;
+        }
+        long fractionMask = (1L << shift) - 1;
+        int maxInteger = (int) (maxSig >> shift);
+        int minInteger = (int) (minSig >> shift);
+        long maxFraction = maxSig & fractionMask;
+        //find the first digit that differs between min and max, counting from 1
+        int digitLimit = digitsBeforeDecimal + Math.max(Math.max(minDigitsAfterDecimal, maxDigitsAfterDecimal), 0);
+        int differentDigit = Integer.MAX_VALUE;
+        if (integerDigits == 2 && maxInteger / 10 != minInteger / 10) {
+            differentDigit = 1;
+        } else if (maxInteger != minInteger) {
+            differentDigit = integerDigits;
+        } else {
+            long maxRemaining = maxFraction;
+            long minRemaining = minSig & fractionMask;
+            for (int digit = integerDigits; digit < digitLimit; digit += 2) {
+                maxRemaining *= 100;
+                minRemaining *= 100;
+                long maxPair = maxRemaining >>> shift;
+                long minPair = minRemaining >>> shift;
+                if (maxPair != minPair) {
+                    differentDigit = maxPair / 10 != minPair / 10 ? digit + 1 : digit + 2;
+                    break;
+                }
+                maxRemaining &= fractionMask;
+                minRemaining &= fractionMask;
             }
-            --minDigitsAfterDecimal;
-            --maxDigitsAfterDecimal;
         }
-        //show exponent
-        params.exponentToString.addExponent(sb, displayExponent);
-        return sb;
+        //find the last digit of maxSig. Each digit removes one factor of 2 from the fraction.
+        int lastDigit = integerDigits;
+        if (maxFraction != 0) {
+            lastDigit += Math.max(shift - Long.numberOfTrailingZeros(maxFraction), 0);
+        } else if (maxSig == 0) {
+            lastDigit = 0;
+        } else if (integerDigits == 2 && maxInteger % 10 == 0) {
+            lastDigit = 1;
+        }
+        int significantDigits = Math.min(differentDigit, lastDigit);
+        int digitsAfterDecimal = Math.max(Math.max(minDigitsAfterDecimal,
+                Math.min(maxDigitsAfterDecimal, significantDigits - digitsBeforeDecimal)), 0);
+        int digitCount = digitsBeforeDecimal + digitsAfterDecimal;
+        int shownDigits = Math.min(digitCount, differentDigit);
+        //show digits
+        int decimalOffset = offset + digitsBeforeDecimal;
+        int end = digitsAfterDecimal > 0 ? offset + digitCount + 1 : offset + digitCount;
+        if (digitsAfterDecimal > 0) {
+            out[decimalOffset] = '.';
+        }
+        int digit = 0;
+        if (shownDigits > 0 && integerDigits == 2) {
+            digit = writeDigitPair(maxInteger, digit, shownDigits, out, offset, decimalOffset);
+        } else if (shownDigits > 0) {
+            out[digitsBeforeDecimal > 0 ? offset : offset + 1] = (char) ('0' + maxInteger);
+            digit = 1;
+        }
+        long maxRemaining = maxFraction;
+        while (digit < shownDigits) {
+            maxRemaining *= 100;
+            digit = writeDigitPair((int) (maxRemaining >>> shift), digit, shownDigits, out, offset, decimalOffset);
+            maxRemaining &= fractionMask;
+        }
+        for (; digit < digitCount; ++digit) {
+            out[digit < digitsBeforeDecimal ? offset + digit : offset + digit + 1] = '0';
+        }
+        return (((long) displayExponent) << INT_MAX_BITS) | (end & 0xFFFFFFFFL);
+    }
+
+    // Writes the two digits of pair as the digit'th and next digits, skipping the decimal point,
+    // and stopping at digitCount. Returns the next digit.
+    private static int writeDigitPair(int pair, int digit, int digitCount, char[] out, int offset, int decimalOffset) {
+        int index = offset + digit;
+        out[index < decimalOffset ? index : index + 1] = DIGIT_PAIRS[pair * 2];
+        if (digit + 1 >= digitCount) {
+            return digit + 1;
+        }
+        ++index;
+        out[index < decimalOffset ? index : index + 1] = DIGIT_PAIRS[pair * 2 + 1];
+        return digit + 2;
+    }
+
+    private static char[] makeDigitPairs() {
+        char[] pairs = new char[200];
+        for (int i = 0; i < 100; i++) {
+            pairs[i * 2] = (char) ('0' + i / 10);
+            pairs[i * 2 + 1] = (char) ('0' + i % 10);
+        }
+        return pairs;
+    }
+
+    // Writes the decimal digits of value into out, and returns the new offset.
+    /*package*/ static int writeInt(int value, char[] out, int offset) {
+        long remaining = value;
+        if (remaining < 0) {
+            out[offset++] = '-';
+            remaining = -remaining;
+        }
+        int digitCount = 1;
+        for (long pow = 10; pow <= remaining; pow *= 10) {
+            ++digitCount;
+        }
+        int end = offset + digitCount;
+        int i = end;
+        while (remaining >= 10) {
+            int pair = (int) (remaining % 100);
+            remaining /= 100;
+            out[--i] = DIGIT_PAIRS[pair * 2 + 1];
+            out[--i] = DIGIT_PAIRS[pair * 2];
+        }
+        if (i > offset) {
+            out[--i] = (char) ('0' + remaining);
+        }
+        return end;
     }
 
     public static StringBuilder toBNotationString(long value, StringBuilder sb) {
@@ -860,10 +1618,19 @@ public class Float32ExpLHelpers {
     public static StringBuilder toHexString(long value, StringBuilder sb) {
         int significand = (int) (value >> INT_MAX_BITS);
         int exponent = (int)value;
-        return sb.append("0x")
-                .append(Integer.toHexString(significand))
-                .append('P')
-                .append(Integer.toHexString(exponent));
+        sb.append("0x");
+        appendHex(significand, sb);
+        sb.append('P');
+        appendHex(exponent, sb);
+        return sb;
+    }
+
+    // Like Integer.toHexString, without making a String
+    private static void appendHex(int value, StringBuilder sb) {
+        int shift = Math.max(0, (Integer.SIZE - 1 - Integer.numberOfLeadingZeros(value)) & ~3);
+        for (; shift >= 0; shift -= 4) {
+            sb.append(HEX_DIGITS[(value >>> shift) & 0xF]);
+        }
     }
 
     /**
@@ -0,0 +1,371 @@
+package com.tbohne.util.math;
+
+import java.math.BigInteger;
+
+import static com.tbohne.util.math.Float32ExpLFixedPointHelpers.multiplyHigh;
+import static com.tbohne.util.math.Float32ExpLHelpers.INT_MAX_BITS;
+import static com.tbohne.util.math.Float32ExpLHelpers.ZERO_PATTERN;
+
+/**
+ * Shortest round-trip decimal text for packed Float32ExpL parts.
+ *
+ * toString writes the fewest significant digits that parse reads back to exactly the same parts,
+ * and parse rounds decimal text to the nearest value. Float32ExpLHelpers.toString and cast scale
+ * by the 31 bit getPowerOf10Parts, which is why they don't round-trip. Both sides here scale by
+ * 63 bit powers of 10 instead, so parse is correctly rounded unless the text is within about
+ * 2^-55 of halfway between two values.
+ *
+ * The digits are found Ryu-style: the value and the halfway points to its neighbors are each
+ * scaled to a 12 or 13 digit integer with one multiply, and then digits are dropped from the right
+ * while the bounds still differ. Each result is checked with parse, and in the rare cases where
+ * the approximate powers make the shortest candidate unsafe, the 12 digit scaled value, which
+ * always round-trips, is written instead. Digits are dropped and emitted with a high multiply by
+ * the inverse of 10, rather than a division.
+ *
+ * Output is plain for decimal exponents from -3 to 11, and otherwise scientific, like "1.2345E67".
+ * parse accepts an optional sign, digits with an optional '.', and an optional 'e' or 'E'
+ * exponent. Only the first 18 significant digits are used.
+ */
+public final class Float32ExpLShortestDecimal {
+    private static final double LOG10_2 = 0.30102999566398120;
+    private static final int SCALED_DIGITS = 12;
+    private static final int PLAIN_MAX_POINT = 12;
+    private static final int PLAIN_MIN_POINT = -2;
+    private static final int REMOVED_BITS = 5;
+    private static final long REMOVED_MASK = (1L << REMOVED_BITS) - 1;
+    private static final long MAX_PARSED_DIGITS = 100_000_000_000_000_000L;
+    // 2^66 / 10, rounded up
+    private static final long INVERSE_10 = 0x6666666666666667L;
+    // Decimal exponents past this are far out of range, and aren't in the tables.
+    private static final long MAX_DECIMAL_EXPONENT = 1L << 30;
+
+    // 10^k is about MANTISSAS[k] * 2^EXPONENTS[k], with the mantissa in [2^62, 2^63).
+    private static final int SMALL_BITS = 9;
+    private static final int SMALL_LIMIT = (1 << SMALL_BITS) - 1;
+    private static final long[] SMALL_MANTISSAS = new long[SMALL_LIMIT * 2 + 1];
+    private static final long[] SMALL_EXPONENTS = new long[SMALL_LIMIT * 2 + 1];
+    // 10^(512 * 2^i) and 10^(-512 * 2^i), for larger exponents
+    private static final int LARGE_COUNT = 22;
+    private static final long[] LARGE_MANTISSAS = new long[LARGE_COUNT];
+    private static final long[] LARGE_EXPONENTS = new long[LARGE_COUNT];
+    private static final long[] NEGATIVE_LARGE_MANTISSAS = new long[LARGE_COUNT];
+    private static final long[] NEGATIVE_LARGE_EXPONENTS = new long[LARGE_COUNT];
+    private static final int LARGE_PRECISION = 192;
+
+    static {
+        BigInteger power = BigInteger.ONE;
+        for (int k = 0; k <= SMALL_LIMIT; k++) {
+            storePower(power, BigInteger.ONE, 0, SMALL_MANTISSAS, SMALL_EXPONENTS, SMALL_LIMIT + k);
+            storePower(BigInteger.ONE, power, 0, SMALL_MANTISSAS, SMALL_EXPONENTS, SMALL_LIMIT - k);
+            power = power.multiply(BigInteger.TEN);
+        }
+        // power is 10^512. The large powers are squared at a higher precision, and then rounded.
+        int bits = power.bitLength();
+        BigInteger large = power.shiftRight(bits - LARGE_PRECISION);
+        long largeExponent = bits - LARGE_PRECISION;
+        BigInteger negativeLarge = BigInteger.ONE.shiftLeft(LARGE_PRECISION - 1 + bits).divide(power);
+        long negativeLargeExponent = -(LARGE_PRECISION - 1 + bits);
+        for (int i = 0; i < LARGE_COUNT; i++) {
+            storePower(large, BigInteger.ONE, largeExponent, LARGE_MANTISSAS, LARGE_EXPONENTS, i);
+            storePower(negativeLarge, BigInteger.ONE, negativeLargeExponent,
+                    NEGATIVE_LARGE_MANTISSAS, NEGATIVE_LARGE_EXPONENTS, i);
+            large = large.multiply(large);
+            int shift = large.bitLength() - LARGE_PRECISION;
+            large = large.shiftRight(shift);
+            largeExponent = largeExponent * 2 + shift;
+            negativeLarge = negativeLarge.multiply(negativeLarge);
+            shift = negativeLarge.bitLength() - LARGE_PRECISION;
+            negativeLarge = negativeLarge.shiftRight(shift);
+            negativeLargeExponent = negativeLargeExponent * 2 + shift;
+        }
+    }
+
+    private Float32ExpLShortestDecimal() {}
+
+    // Stores numerator / denominator * 2^exponent, rounded to a mantissa in [2^62, 2^63).
+    private static void storePower(BigInteger numerator, BigInteger denominator, long exponent,
+            long[] mantissas, long[] exponents, int index) {
+        int shift = 63 - numerator.bitLength() + denominator.bitLength();
+        BigInteger quotient = numerator.shiftLeft(Math.max(shift, 0)).divide(denominator.shiftLeft(Math.max(-shift, 0)));
+        if (quotient.bitLength() < 64) {
+            ++shift;
+            quotient = numerator.shiftLeft(Math.max(shift, 0)).divide(denominator.shiftLeft(Math.max(-shift, 0)));
+        }
+        long mantissa = quotient.add(BigInteger.ONE).shiftRight(1).longValue();
+        exponent += 1 - shift;
+        if (mantissa < 0) {
+            mantissa = 1L << 62;
+            ++exponent;
+        }
+        mantissas[index] = mantissa;
+        exponents[index] = exponent;
+    }
+
+    public static String toString(long parts) {return toString(parts, new StringBuilder()).toString();}
+
+    /**
+     * Appends the shortest decimal text that parse reads back as exactly the parts.
+     */
+    public static StringBuilder toString(long parts, StringBuilder sb) {
+        if (parts == ZERO_PATTERN) {
+            return sb.append('0');
+        }
+        int significand = (int) (parts >> INT_MAX_BITS);
+        boolean negative = significand < 0;
+        // the magnitude is m * 2^x, with m in [2^30, 2^31)
+        long m = Math.abs((long) significand);
+        long x = (int) parts;
+        if (m == 1L << 31) {
+            m = 1L << 30;
+            ++x;
+        }
+        // scale so that the value has 12 or 13 digits before the decimal point
+        long q = (long) Math.floor((x + INT_MAX_BITS - 1) * LOG10_2) - SCALED_DIGITS;
+        long scale = pow10(-q, false);
+        long shift = pow10(-q, true) + x - 2;
+        long scaled = multiplyShift(4 * m, scale, shift);
+        long upper = multiplyShift(4 * m + 2, scale, shift);
+        // the gap below 2^30 is half as wide
+        long lower = multiplyShift(4 * m - (m == 1L << 30 ? 1 : 2), scale, shift);
+        // parse rounds halfway to even, so even values include their bounds, and odd ones don't.
+        // The scaled bounds may be a unit off, so first try them a unit wider, then narrower.
+        long even = (m & 1) == 0 ? 1 : 0;
+        long shortest = shortestDigits(scaled, upper + even, lower - even);
+        long digits = shortest >>> REMOVED_BITS;
+        long exponent10 = q + (shortest & REMOVED_MASK);
+        if (toParts(negative, digits, exponent10) != parts) {
+            shortest = shortestDigits(scaled, upper - 1, lower + 1);
+            digits = shortest >>> REMOVED_BITS;
+            exponent10 = q + (shortest & REMOVED_MASK);
+            if (toParts(negative, digits, exponent10) != parts) {
+                digits = scaled;
+                exponent10 = q;
+            }
+        }
+        long quotient = divideBy10(digits);
+        while (digits == quotient * 10) {
+            digits = quotient;
+            quotient = divideBy10(digits);
+            ++exponent10;
+        }
+        return appendDecimal(negative, digits, exponent10, sb);
+    }
+
+    // Drops digits from scaled while a shorter number is still in (lower, upper], and returns
+    // the rounded digits, shifted left by REMOVED_BITS, plus how many digits were dropped.
+    private static long shortestDigits(long scaled, long upper, long lower) {
+        long digits = scaled;
+        int removed = 0;
+        long lastRemovedDigit = 0;
+        long upperQuotient = divideBy10(upper);
+        long lowerQuotient = divideBy10(lower);
+        while (upperQuotient > lowerQuotient) {
+            long quotient = divideBy10(digits);
+            lastRemovedDigit = digits - quotient * 10;
+            digits = quotient;
+            upper = upperQuotient;
+            lower = lowerQuotient;
+            upperQuotient = divideBy10(upper);
+            lowerQuotient = divideBy10(lower);
+            ++removed;
+        }
+        if (digits == lower || lastRemovedDigit >= 5) {
+            ++digits;
+        }
+        return (digits << REMOVED_BITS) | removed;
+    }
+
+    // Appends digits * 10^exponent10, plain or scientific
+    private static StringBuilder appendDecimal(boolean negative, long digits, long exponent10, StringBuilder sb) {
+        if (negative) {
+            sb.append('-');
+        }
+        int count = digitCount(digits);
+        // the value is 0.digits * 10^point
+        long point = count + exponent10;
+        if (point > 0 && point <= PLAIN_MAX_POINT) {
+            if (count <= point) {
+                appendDigits(digits, count, count, sb);
+                for (long i = count; i < point; i++) {
+                    sb.append('0');
+                }
+            } else {
+                appendDigits(digits, count, (int) point, sb);
+            }
+        } else if (point <= 0 && point >= PLAIN_MIN_POINT) {
+            sb.append("0.");
+            for (long i = point; i < 0; i++) {
+                sb.append('0');
+            }
+            appendDigits(digits, count, count, sb);
+        } else {
+            appendDigits(digits, count, 1, sb);
+            sb.append('E').append(point - 1);
+        }
+        return sb;
+    }
+
+    // Appends the count digits, with a '.' after the first pointAfter of them if that's fewer
+    private static void appendDigits(long digits, int count, int pointAfter, StringBuilder sb) {
+        int start = sb.length();
+        boolean hasPoint = pointAfter < count;
+        int index = start + count + (hasPoint ? 1 : 0);
+        sb.setLength(index);
+        int remaining = count;
+        while (digits > Integer.MAX_VALUE) {
+            long quotient = divideBy10(digits);
+            if (hasPoint && remaining == pointAfter) {
+                sb.setCharAt(--index, '.');
+            }
+            sb.setCharAt(--index, (char) ('0' + (digits - quotient * 10)));
+            digits = quotient;
+            --remaining;
+        }
+        int small = (int) digits;
+        while (remaining > 0) {
+            // small / 10, for any non-negative int
+            int quotient = (int) ((small * 0xCCCCCCCDL) >>> 35);
+            if (hasPoint && remaining == pointAfter) {
+                sb.setCharAt(--index, '.');
+            }
+            sb.setCharAt(--index, (char) ('0' + (small - quotient * 10)));
+            small = quotient;
+            --remaining;
+        }
+    }
+
+    // value / 10, for any non-negative long. The error in INVERSE_10 adds less than 0.05 to the
+    // exact quotient, which never carries into the integer part.
+    private static long divideBy10(long value) {
+        return multiplyHigh(value, INVERSE_10) >> 2;
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        long bound = 10;
+        while (count < 19 && value >= bound) {
+            bound *= 10;
+            ++count;
+        }
+        return count;
+    }
+
+    public static long parse(CharSequence in) {return parse(in, 0, in.length());}
+
+    /**
+     * Returns the parts nearest to the decimal text. Throws NumberFormatException if the text is
+     * not a decimal number, and ArithmeticException if the value is out of range.
+     */
+    public static long parse(CharSequence in, int offset, int len) {
+        int end = offset + len;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (in.charAt(i) == '-' || in.charAt(i) == '+')) {
+            negative = in.charAt(i) == '-';
+            ++i;
+        }
+        long digits = 0;
+        long exponent10 = 0;
+        boolean hasDigits = false;
+        char c;
+        while (i < end && (c = in.charAt(i)) >= '0' && c <= '9') {
+            hasDigits = true;
+            if (digits < MAX_PARSED_DIGITS) {
+                digits = digits * 10 + (c - '0');
+            } else {
+                ++exponent10;
+            }
+            ++i;
+        }
+        if (i < end && in.charAt(i) == '.') {
+            ++i;
+            while (i < end && (c = in.charAt(i)) >= '0' && c <= '9') {
+                hasDigits = true;
+                if (digits < MAX_PARSED_DIGITS) {
+                    digits = digits * 10 + (c - '0');
+                    --exponent10;
+                }
+                ++i;
+            }
+        }
+        if (!hasDigits) {
+            throw new NumberFormatException("No digits at index " + offset);
+        }
+        if (i < end && (in.charAt(i) == 'e' || in.charAt(i) == 'E')) {
+            exponent10 += Float32ExpLHelpers.parseInteger(in, i + 1, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            i = end;
+        }
+        if (i != end) {
+            throw new NumberFormatException("Unexpected '" + in.charAt(i) + "' at index " + i);
+        }
+        return toParts(negative, digits, exponent10);
+    }
+
+    // The parts nearest to digits * 10^exponent10, rounding half to even
+    /*package*/ static long toParts(boolean negative, long digits, long exponent10) {
+        if (digits == 0) {
+            return ZERO_PATTERN;
+        }
+        if (exponent10 > MAX_DECIMAL_EXPONENT || exponent10 < -MAX_DECIMAL_EXPONENT) {
+            throw new ArithmeticException("Exponent 10^" + exponent10 + " out of range");
+        }
+        int zeroes = Long.numberOfLeadingZeros(digits);
+        long normalized = digits << (zeroes - 1);
+        long scale = pow10(exponent10, false);
+        // the product is in [2^124, 2^126), so high is in [2^60, 2^62)
+        long high = multiplyHigh(normalized, scale);
+        long low = normalized * scale;
+        int drop = high >= 1L << 61 ? 31 : 30;
+        long magnitude = high >>> drop;
+        long remainder = high & ((1L << drop) - 1);
+        long half = 1L << (drop - 1);
+        if (remainder > half || (remainder == half && (low != 0 || (magnitude & 1) != 0))) {
+            ++magnitude;
+        }
+        long exponent = pow10(exponent10, true) - (zeroes - 1) + Long.SIZE + drop;
+        return Float32ExpLHelpers.getNormalizedParts(negative ? -magnitude : magnitude, exponent);
+    }
+
+    // floor(left * right * 2^shift), for positive left and right, and shift between -127 and -1
+    private static long multiplyShift(long left, long right, long shift) {
+        long high = multiplyHigh(left, right);
+        long low = left * right;
+        int s = (int) -shift;
+        if (s >= Long.SIZE) {
+            return s >= 2 * Long.SIZE ? 0 : high >>> (s - Long.SIZE);
+        }
+        return (high << (Long.SIZE - s)) | (low >>> s);
+    }
+
+    // Returns the mantissa or the binary exponent of 10^k. Both have to be asked for separately,
+    // to avoid allocating, but past the small table that's rare.
+    private static long pow10(long k, boolean wantExponent) {
+        if (k >= -SMALL_LIMIT && k <= SMALL_LIMIT) {
+            return wantExponent ? SMALL_EXPONENTS[(int) k + SMALL_LIMIT] : SMALL_MANTISSAS[(int) k + SMALL_LIMIT];
+        }
+        long high = Math.floorDiv(k, SMALL_LIMIT + 1);
+        int index = (int) (k - high * (SMALL_LIMIT + 1)) + SMALL_LIMIT;
+        long mantissa = SMALL_MANTISSAS[index];
+        long exponent = SMALL_EXPONENTS[index];
+        long[] largeMantissas = high > 0 ? LARGE_MANTISSAS : NEGATIVE_LARGE_MANTISSAS;
+        long[] largeExponents = high > 0 ? LARGE_EXPONENTS : NEGATIVE_LARGE_EXPONENTS;
+        long bits = Math.abs(high);
+        for (int i = 0; bits != 0; i++, bits >>>= 1) {
+            if ((bits & 1) == 0) {
+                continue;
+            }
+            long productHigh = multiplyHigh(mantissa, largeMantissas[i]);
+            long productLow = mantissa * largeMantissas[i];
+            // the product is in [2^124, 2^126)
+            int shift = productHigh >= 1L << 61 ? 63 : 62;
+            mantissa = (productHigh << (Long.SIZE - shift)) | (productLow >>> shift);
+            mantissa += (productLow >>> (shift - 1)) & 1;
+            exponent += largeExponents[i] + shift;
+            if (mantissa < 0) {
+                mantissa = 1L << 62;
+                ++exponent;
+            }
+        }
+        return wantExponent ? exponent : mantissa;
+    }
+}
@@ -0,0 +1,373 @@
+package com.tbohne.util.math;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorting and selection for arrays of packed Float32ExpL parts.
+ *
+ * Each of these converts the parts to Float32ExpLHelpers.toSortableKey keys first, so that every
+ * comparison afterwards is a single long comparison, and the sorts can use the key bytes as
+ * radix digits. Results are in numeric order, including for negative values.
+ *
+ * All parts must be normalized.
+ */
+public final class Float32ExpLSort {
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX_SIZE = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX_SIZE - 1;
+    // Below this, the radix sort's histograms cost more than an insertion sort.
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+    // Ranges of at most this many values are not split further by parallelSort.
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private Float32ExpLSort() {}
+
+    /**
+     * Sorts the parts into ascending numeric order with an LSD radix sort. Allocates one scratch
+     * array as long as the range.
+     */
+    public static void sort(long[] parts) {sort(parts, 0, parts.length);}
+
+    public static void sort(long[] parts, int from, int to) {
+        verifyRange(parts, from, to);
+        toUnsignedKeys(parts, from, to);
+        radixSort(parts, new long[to - from], from, to, 0);
+        fromUnsignedKeys(parts, from, to);
+    }
+
+    /**
+     * Like sort, but radix sorts ranges in the common ForkJoinPool, and then merges them in
+     * parallel too, by splitting each merge at a binary searched key. Small arrays are just
+     * sorted directly.
+     */
+    public static void parallelSort(long[] parts) {parallelSort(parts, 0, parts.length);}
+
+    public static void parallelSort(long[] parts, int from, int to) {
+        verifyRange(parts, from, to);
+        if (to - from <= PARALLEL_THRESHOLD) {
+            sort(parts, from, to);
+            return;
+        }
+        ForkJoinPool.commonPool().invoke(new KeyAction(parts, from, to, true));
+        ForkJoinPool.commonPool().invoke(new SortAction(parts, new long[to - from], from, to, from));
+        ForkJoinPool.commonPool().invoke(new KeyAction(parts, from, to, false));
+    }
+
+    /**
+     * Returns the indices of the k largest parts, largest first. Ties are in no particular
+     * order. This selects the k largest with quickselect, which is O(n) on average, and then only
+     * sorts those k, so it's O(n + k log(k)). The parts themselves are not modified.
+     */
+    public static int[] topIndices(long[] parts, int k) {
+        if (k < 0 || k > parts.length) {
+            throw new IllegalArgumentException("k " + k + " is not in [0, " + parts.length + "]");
+        }
+        long[] keys = new long[parts.length];
+        int[] indices = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            keys[i] = Float32ExpLHelpers.toSortableKey(parts[i]);
+            indices[i] = i;
+        }
+        if (k > 0 && k < parts.length) {
+            selectDescending(keys, indices, k);
+        }
+        sortDescending(keys, indices, 0, k);
+        int[] result = new int[k];
+        System.arraycopy(indices, 0, result, 0, k);
+        return result;
+    }
+
+    private static void verifyRange(long[] parts, int from, int to) {
+        if (from < 0 || to > parts.length || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") is not in [0, " + parts.length + ")");
+        }
+    }
+
+    // Sortable keys are signed, so this also flips the top bit, to make unsigned digits sort in
+    // the same order.
+    private static void toUnsignedKeys(long[] parts, int from, int to) {
+        for (int i = from; i < to; i++) {
+            parts[i] = Float32ExpLHelpers.toSortableKey(parts[i]) ^ Long.MIN_VALUE;
+        }
+    }
+
+    private static void fromUnsignedKeys(long[] keys, int from, int to) {
+        for (int i = from; i < to; i++) {
+            keys[i] = Float32ExpLHelpers.fromSortableKey(keys[i] ^ Long.MIN_VALUE);
+        }
+    }
+
+    // Sorts unsigned keys in [from, to), using scratch starting at scratchFrom.
+    private static void radixSort(long[] keys, long[] scratch, int from, int to, int scratchFrom) {
+        int length = to - from;
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, from, to);
+            return;
+        }
+        int[] counts = new int[RADIX_SIZE];
+        long[] source = keys;
+        int sourceFrom = from;
+        long[] destination = scratch;
+        int destinationFrom = scratchFrom;
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = sourceFrom; i < sourceFrom + length; i++) {
+                counts[(int) (source[i] >>> shift) & RADIX_MASK]++;
+            }
+            // Exponents and the sign usually vary much less than the significand, so many digits
+            // are the same for every key. Those passes would not change the order.
+            if (counts[(int) (source[sourceFrom] >>> shift) & RADIX_MASK] == length) {
+                continue;
+            }
+            int offset = destinationFrom;
+            for (int digit = 0; digit < RADIX_SIZE; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for (int i = sourceFrom; i < sourceFrom + length; i++) {
+                long key = source[i];
+                destination[counts[(int) (key >>> shift) & RADIX_MASK]++] = key;
+            }
+            long[] swapArray = source;
+            source = destination;
+            destination = swapArray;
+            int swapFrom = sourceFrom;
+            sourceFrom = destinationFrom;
+            destinationFrom = swapFrom;
+        }
+        if (source != keys) {
+            System.arraycopy(source, sourceFrom, keys, from, length);
+        }
+    }
+
+    // Unsigned keys
+    private static void insertionSort(long[] keys, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long key = keys[i];
+            int j = i - 1;
+            while (j >= from && Long.compareUnsigned(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                --j;
+            }
+            keys[j + 1] = key;
+        }
+    }
+
+    // Merges the sorted unsigned keys in source [left, leftEnd) and [right, rightEnd) into
+    // destination, starting at out.
+    private static void merge(long[] source, int left, int leftEnd, int right, int rightEnd,
+            long[] destination, int out) {
+        while (left < leftEnd && right < rightEnd) {
+            if (Long.compareUnsigned(source[right], source[left]) < 0) {
+                destination[out++] = source[right++];
+            } else {
+                destination[out++] = source[left++];
+            }
+        }
+        System.arraycopy(source, left, destination, out, leftEnd - left);
+        out += leftEnd - left;
+        System.arraycopy(source, right, destination, out, rightEnd - right);
+    }
+
+    // Returns the first index in the sorted unsigned keys [from, to) whose key is at least key.
+    private static int lowerBound(long[] keys, int from, int to, long key) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (Long.compareUnsigned(keys[middle], key) < 0) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    // Moves the k largest keys (and their indices) to the front, in no particular order.
+    private static void selectDescending(long[] keys, int[] indices, int k) {
+        int from = 0;
+        int to = keys.length;
+        while (to - from > 1) {
+            int split = partitionDescending(keys, indices, from, to);
+            if (split == k) {
+                return;
+            } else if (split < k) {
+                from = split;
+            } else {
+                to = split;
+            }
+        }
+    }
+
+    private static void sortDescending(long[] keys, int[] indices, int from, int to) {
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            int split = partitionDescending(keys, indices, from, to);
+            // recurse into the smaller side, to bound the stack depth
+            if (split - from < to - split) {
+                sortDescending(keys, indices, from, split);
+                from = split;
+            } else {
+                sortDescending(keys, indices, split, to);
+                to = split;
+            }
+        }
+        for (int i = from + 1; i < to; i++) {
+            long key = keys[i];
+            int index = indices[i];
+            int j = i - 1;
+            while (j >= from && keys[j] < key) {
+                keys[j + 1] = keys[j];
+                indices[j + 1] = indices[j];
+                --j;
+            }
+            keys[j + 1] = key;
+            indices[j + 1] = index;
+        }
+    }
+
+    // Hoare partition around the median of three, with larger keys first. Returns split, where
+    // every key in [from, split) is at least every key in [split, to), and neither side is empty.
+    private static int partitionDescending(long[] keys, int[] indices, int from, int to) {
+        int middle = (from + to) >>> 1;
+        int last = to - 1;
+        int median;
+        if (keys[from] < keys[middle]) {
+            median = keys[middle] < keys[last] ? middle : keys[from] < keys[last] ? last : from;
+        } else {
+            median = keys[from] < keys[last] ? from : keys[middle] < keys[last] ? last : middle;
+        }
+        // Hoare's partition only guarantees both sides are nonempty if the pivot is first
+        swap(keys, indices, from, median);
+        long pivot = keys[from];
+        int i = from - 1;
+        int j = to;
+        while (true) {
+            do {
+                ++i;
+            } while (keys[i] > pivot);
+            do {
+                --j;
+            } while (keys[j] < pivot);
+            if (i >= j) {
+                return j + 1;
+            }
+            swap(keys, indices, i, j);
+        }
+    }
+
+    private static void swap(long[] keys, int[] indices, int i, int j) {
+        long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        int index = indices[i];
+        indices[i] = indices[j];
+        indices[j] = index;
+    }
+
+    private static class KeyAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final long[] parts;
+        private final int from;
+        private final int to;
+        private final boolean toKeys;
+
+        KeyAction(long[] parts, int from, int to, boolean toKeys) {
+            this.parts = parts;
+            this.from = from;
+            this.to = to;
+            this.toKeys = toKeys;
+        }
+
+        @Override protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                if (toKeys) {
+                    toUnsignedKeys(parts, from, to);
+                } else {
+                    fromUnsignedKeys(parts, from, to);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new KeyAction(parts, from, middle, toKeys),
+                        new KeyAction(parts, middle, to, toKeys));
+            }
+        }
+    }
+
+    private static class SortAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final long[] keys;
+        private final long[] scratch;
+        private final int from;
+        private final int to;
+        // keys[i] uses scratch[i - scratchBase]
+        private final int scratchBase;
+
+        SortAction(long[] keys, long[] scratch, int from, int to, int scratchBase) {
+            this.keys = keys;
+            this.scratch = scratch;
+            this.from = from;
+            this.to = to;
+            this.scratchBase = scratchBase;
+        }
+
+        @Override protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                radixSort(keys, scratch, from, to, from - scratchBase);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SortAction(keys, scratch, from, middle, scratchBase),
+                        new SortAction(keys, scratch, middle, to, scratchBase));
+                int scratchFrom = from - scratchBase;
+                System.arraycopy(keys, from, scratch, scratchFrom, to - from);
+                int scratchMiddle = scratchFrom + (middle - from);
+                new MergeAction(scratch, scratchFrom, scratchMiddle, scratchMiddle, scratchFrom + (to - from),
+                        keys, from).compute();
+            }
+        }
+    }
+
+    // Merges two sorted runs of source into destination. Large merges take the middle key of the
+    // longer run, find where it splits the shorter run, and merge the two halves as subtasks.
+    private static class MergeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final long[] source;
+        private final int left;
+        private final int leftEnd;
+        private final int right;
+        private final int rightEnd;
+        private final long[] destination;
+        private final int out;
+
+        MergeAction(long[] source, int left, int leftEnd, int right, int rightEnd, long[] destination, int out) {
+            this.source = source;
+            this.left = left;
+            this.leftEnd = leftEnd;
+            this.right = right;
+            this.rightEnd = rightEnd;
+            this.destination = destination;
+            this.out = out;
+        }
+
+        @Override protected void compute() {
+            if ((leftEnd - left) + (rightEnd - right) <= PARALLEL_THRESHOLD) {
+                merge(source, left, leftEnd, right, rightEnd, destination, out);
+                return;
+            }
+            int leftSplit;
+            int rightSplit;
+            if (leftEnd - left >= rightEnd - right) {
+                leftSplit = (left + leftEnd) >>> 1;
+                rightSplit = lowerBound(source, right, rightEnd, source[leftSplit]);
+            } else {
+                rightSplit = (right + rightEnd) >>> 1;
+                leftSplit = lowerBound(source, left, leftEnd, source[rightSplit]);
+            }
+            // every key before the splits is at most every key after them
+            int outSplit = out + (leftSplit - left) + (rightSplit - right);
+            invokeAll(new MergeAction(source, left, leftSplit, right, rightSplit, destination, out),
+                    new MergeAction(source, leftSplit, leftEnd, rightSplit, rightEnd, destination, outSplit));
+        }
+    }
+}
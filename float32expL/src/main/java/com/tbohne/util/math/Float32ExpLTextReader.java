@@ -0,0 +1,268 @@
+package com.tbohne.util.math;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+
+/**
+ * Parses a stream of delimited Float32ExpL values, like a column of a CSV file, into packed parts.
+ *
+ * Values are in the formats Float32ExpLHelpers.cast reads: the output of toHexString, or an
+ * optional '-', digits with an optional '.', and then an optional base 10 exponent after 'e' or
+ * 'E', or base 2 exponent after 'b' or 'B'. The results are identical to cast, so the output of
+ * toHexStrings can be streamed back exactly. Values are separated by any run of the delimiter,
+ * spaces, tabs, and line breaks, so empty fields are skipped rather than read as zero.
+ *
+ * The reader fills a char[] buffer once, and parses values directly out of it with the same code as
+ * cast, so reading does no allocations per value. A value that spans a refill is moved to the
+ * start of the buffer first, and the buffer grows if a single value doesn't fit.
+ *
+ * A value with other characters in it, or without any digits, throws NumberFormatException,
+ * after which the reader's position is undefined. Its message gives the index of the problem
+ * within the value, the value's number, and the char where the value starts, counting from
+ * where the reader started. This is not thread-safe.
+ */
+public class Float32ExpLTextReader {
+    public static final char DEFAULT_DELIMITER = ',';
+    private static final int BUFFER_SIZE = 8192;
+    private static final int END = -1;
+
+    private final Reader reader;
+    private final CharBuffer charSource;
+    private final ByteBuffer byteSource;
+    // A CharBuffer whose array is parsed in place. Its position is kept after the last value read.
+    private final CharBuffer arraySource;
+    // buffer[i] is arraySource's index i - arrayOffset
+    private final int arrayOffset;
+    private final char delimiter;
+    private char[] buffer;
+    // The value being parsed, for Float32ExpLHelpers.parseDecimal and parseHexString
+    private final ValueChars valueChars = new ValueChars();
+    // The index in the input of buffer[0]
+    private long bufferStart;
+    private int position;
+    private int limit;
+    private long valueCount;
+
+    public Float32ExpLTextReader(Reader reader) {this(reader, DEFAULT_DELIMITER);}
+
+    public Float32ExpLTextReader(Reader reader, char delimiter) {
+        this(reader, null, null, null, 0, delimiter, new char[BUFFER_SIZE], 0);
+    }
+
+    private Float32ExpLTextReader(Reader reader, CharBuffer charSource, ByteBuffer byteSource,
+            CharBuffer arraySource, int arrayOffset, char delimiter, char[] buffer, int limit) {
+        this.reader = reader;
+        this.charSource = charSource;
+        this.byteSource = byteSource;
+        this.arraySource = arraySource;
+        this.arrayOffset = arrayOffset;
+        this.delimiter = delimiter;
+        this.buffer = buffer;
+        this.limit = limit;
+    }
+
+    public static Float32ExpLTextReader of(CharBuffer in) {return of(in, DEFAULT_DELIMITER);}
+
+    /**
+     * Reads from the remaining chars of in. If in has an accessible array, it's parsed in place,
+     * and in's position is kept just after the last value read. Otherwise chars are copied out of
+     * in a buffer at a time, so its position may be up to a buffer ahead of the values read.
+     */
+    public static Float32ExpLTextReader of(CharBuffer in, char delimiter) {
+        if (in.hasArray()) {
+            int offset = in.arrayOffset();
+            Float32ExpLTextReader result = new Float32ExpLTextReader(null, null, null, in, offset, delimiter,
+                    in.array(), offset + in.limit());
+            result.position = offset + in.position();
+            result.bufferStart = -result.position;
+            return result;
+        }
+        return new Float32ExpLTextReader(null, in, null, null, 0, delimiter, new char[BUFFER_SIZE], 0);
+    }
+
+    public static Float32ExpLTextReader of(ByteBuffer in) {return of(in, DEFAULT_DELIMITER);}
+
+    /**
+     * Reads from the remaining bytes of in as ASCII. Bytes are copied out of in a buffer at a time,
+     * so its position may be up to a buffer ahead of the values read.
+     */
+    public static Float32ExpLTextReader of(ByteBuffer in, char delimiter) {
+        return new Float32ExpLTextReader(null, null, in, null, 0, delimiter, new char[BUFFER_SIZE], 0);
+    }
+
+    /**
+     * Returns how many values have been read so far.
+     */
+    public long getValueCount() {return valueCount;}
+
+    /**
+     * Returns true if there's another value to read.
+     */
+    public boolean hasNext() throws IOException {
+        return skipSeparators() != END;
+    }
+
+    /**
+     * Returns the parts of the next value. Throws NoSuchElementException at the end.
+     */
+    public long nextParts() throws IOException {
+        if (skipSeparators() == END) {
+            throw new NoSuchElementException("No more values after " + valueCount);
+        }
+        return parseValue();
+    }
+
+    /**
+     * Reads up to length values into out, starting at offset, and returns how many were read,
+     * or -1 if there were no more values.
+     */
+    public int read(long[] out, int offset, int length) throws IOException {
+        int count = 0;
+        while (count < length && skipSeparators() != END) {
+            out[offset + count] = parseValue();
+            ++count;
+        }
+        return count == 0 && length > 0 ? -1 : count;
+    }
+
+    /**
+     * Reads every remaining value, passing each's parts to consumer, and returns how many there
+     * were.
+     */
+    public long forEachRemaining(LongConsumer consumer) throws IOException {
+        long count = 0;
+        while (skipSeparators() != END) {
+            consumer.accept(parseValue());
+            ++count;
+        }
+        return count;
+    }
+
+    // Returns the next char that isn't a separator, without consuming it, or END.
+    private int skipSeparators() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return END;
+            }
+            char c = buffer[position];
+            if (!isSeparator(c)) {
+                return c;
+            }
+            ++position;
+        }
+    }
+
+    private boolean isSeparator(int c) {
+        return c == delimiter || c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == END;
+    }
+
+    // Parses the value at position with Float32ExpLHelpers.parseHexString or parseDecimal, once all
+    // of its chars are in the buffer.
+    private long parseValue() throws IOException {
+        int start = position;
+        int end = position;
+        while (true) {
+            if (end == limit) {
+                // position is still the start of the value, and fill moves it with the value
+                int kept = end - start;
+                boolean more = fill(start);
+                start = position;
+                end = position + kept;
+                if (!more) {
+                    break;
+                }
+            }
+            // every separator but the delimiter is at most ' ', so most chars need two compares
+            char c = buffer[end];
+            if ((c <= ' ' || c == delimiter) && isSeparator(c)) {
+                break;
+            }
+            ++end;
+        }
+        long parts;
+        int length = end - start;
+        valueChars.set(buffer, start, length);
+        try {
+            if (Float32ExpLHelpers.isHexString(valueChars, 0, length)) {
+                parts = Float32ExpLHelpers.parseHexString(valueChars, 0, length);
+            } else {
+                parts = Float32ExpLHelpers.parseDecimal(valueChars, 0, length, true);
+            }
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException(e.getMessage() + " of value " + valueCount + ", which starts at char "
+                    + (bufferStart + start));
+        }
+        position = end;
+        if (arraySource != null) {
+            arraySource.position(end - arrayOffset);
+        }
+        ++valueCount;
+        return parts;
+    }
+
+    // Refills the buffer, and returns false at the end of the input.
+    private boolean fill() throws IOException {
+        return fill(limit);
+    }
+
+    // Moves the chars from keep to limit to the start of the buffer, growing it if they fill it,
+    // and reads more after them. Returns false at the end of the input.
+    private boolean fill(int keep) throws IOException {
+        if (arraySource != null) {
+            // parsing a CharBuffer's array in place, which has no more chars
+            arraySource.position(limit - arrayOffset);
+            return false;
+        }
+        int kept = limit - keep;
+        if (kept == buffer.length) {
+            char[] larger = new char[buffer.length * 2];
+            System.arraycopy(buffer, keep, larger, 0, kept);
+            buffer = larger;
+        } else if (kept > 0) {
+            System.arraycopy(buffer, keep, buffer, 0, kept);
+        }
+        int count;
+        if (reader != null) {
+            count = reader.read(buffer, kept, buffer.length - kept);
+        } else if (charSource != null) {
+            count = Math.min(buffer.length - kept, charSource.remaining());
+            charSource.get(buffer, kept, count);
+        } else {
+            count = Math.min(buffer.length - kept, byteSource.remaining());
+            for (int i = 0; i < count; i++) {
+                buffer[kept + i] = (char) (byteSource.get() & 0xFF);
+            }
+        }
+        bufferStart += keep;
+        position = 0;
+        limit = kept;
+        if (count <= 0) {
+            return false;
+        }
+        limit = kept + count;
+        return true;
+    }
+
+    // The chars of the value being parsed, so that the indexes in parse errors are within it,
+    // rather than within the buffer.
+    private static final class ValueChars implements CharSequence {
+        private char[] chars;
+        private int start;
+        private int length;
+
+        void set(char[] chars, int start, int length) {
+            this.chars = chars;
+            this.start = start;
+            this.length = length;
+        }
+
+        @Override public int length() {return length;}
+        @Override public char charAt(int index) {return chars[start + index];}
+        @Override public CharSequence subSequence(int from, int to) {return new String(chars, start + from, to - from);}
+        @Override public String toString() {return new String(chars, start, length);}
+    }
+}
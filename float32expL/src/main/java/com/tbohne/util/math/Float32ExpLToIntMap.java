@@ -0,0 +1,202 @@
+package com.tbohne.util.math;
+
+import java.util.Arrays;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.DEFAULT_STRING_PARAMS;
+import static com.tbohne.util.math.Float32ExpLHelpers.getDoubleParts;
+import static com.tbohne.util.math.Float32ExpLHelpers.getLongParts;
+
+/**
+ * A map from Float32ExpL keys to int values, without boxing either.
+ *
+ * This is an open addressing hash table with linear probing, holding the packed parts of the keys
+ * in a long[] and the values in a parallel int[]. Keys are spread with
+ * Float32ExpLHelpers.mixHash, since the parts of nearby values differ mostly in their high bits.
+ *
+ * Keys are equal when their values are equal. Since the parts of normalized values are never 0,
+ * 0 marks empty slots. Key parts must be normalized. This is not thread-safe.
+ */
+public class Float32ExpLToIntMap {
+    private static final long EMPTY = 0;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    public Float32ExpLToIntMap() {this(DEFAULT_CAPACITY);}
+
+    /**
+     * Creates a map that can hold expectedSize entries before growing.
+     */
+    public Float32ExpLToIntMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize " + expectedSize + " must not be negative");
+        }
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int size() {return size;}
+    public boolean isEmpty() {return size == 0;}
+
+    public boolean containsKey(IFloat32ExpL key) {return containsKeyParts(key.getParts());}
+    public boolean containsKey(long key) {return containsKeyParts(getLongParts(key));}
+    public boolean containsKey(double key) {return containsKeyParts(getDoubleParts(key));}
+
+    public boolean containsKeyParts(long keyParts) {return keys[slotOf(keyParts)] == keyParts;}
+
+    public int getOrDefault(IFloat32ExpL key, int defaultValue) {return getOrDefaultParts(key.getParts(), defaultValue);}
+    public int getOrDefault(long key, int defaultValue) {return getOrDefaultParts(getLongParts(key), defaultValue);}
+    public int getOrDefault(double key, int defaultValue) {return getOrDefaultParts(getDoubleParts(key), defaultValue);}
+
+    public int getOrDefaultParts(long keyParts, int defaultValue) {
+        int slot = slotOf(keyParts);
+        return keys[slot] == keyParts ? values[slot] : defaultValue;
+    }
+
+    public void put(IFloat32ExpL key, int value) {putParts(key.getParts(), value);}
+    public void put(long key, int value) {putParts(getLongParts(key), value);}
+    public void put(double key, int value) {putParts(getDoubleParts(key), value);}
+
+    public void putParts(long keyParts, int value) {
+        int slot = slotOf(keyParts);
+        if (keys[slot] == keyParts) {
+            values[slot] = value;
+        } else {
+            insertAt(slot, keyParts, value);
+        }
+    }
+
+    // slot must be the empty slot returned by slotOf(keyParts)
+    private void insertAt(int slot, long keyParts, int value) {
+        keys[slot] = keyParts;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            grow();
+        }
+    }
+
+    /**
+     * Adds delta to the value for key, treating a missing key as 0, and returns the new value.
+     */
+    public int addTo(IFloat32ExpL key, int delta) {return addToParts(key.getParts(), delta);}
+    public int addTo(long key, int delta) {return addToParts(getLongParts(key), delta);}
+    public int addTo(double key, int delta) {return addToParts(getDoubleParts(key), delta);}
+
+    public int addToParts(long keyParts, int delta) {
+        int slot = slotOf(keyParts);
+        if (keys[slot] == keyParts) {
+            return values[slot] += delta;
+        }
+        insertAt(slot, keyParts, delta);
+        return delta;
+    }
+
+    /**
+     * Removes the key, and returns true if it was present.
+     */
+    public boolean remove(IFloat32ExpL key) {return removeParts(key.getParts());}
+    public boolean remove(long key) {return removeParts(getLongParts(key));}
+    public boolean remove(double key) {return removeParts(getDoubleParts(key));}
+
+    public boolean removeParts(long keyParts) {
+        int slot = slotOf(keyParts);
+        if (keys[slot] != keyParts) {
+            return false;
+        }
+        keys[slot] = EMPTY;
+        --size;
+        // Shift later entries of the probe run back, so that no run has a hole in it.
+        int next = (slot + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = Float32ExpLHelpers.mixHash(keys[next]) & mask;
+            // the entry at next may fill the hole if its home is not in (slot, next]
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                keys[next] = EMPTY;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    public interface EntryConsumer {
+        void accept(long keyParts, int value);
+    }
+
+    /**
+     * Calls consumer for each entry, in no particular order. The map must not be modified until
+     * this returns.
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    // the slot holding keyParts, or else the empty slot where it would go
+    private int slotOf(long keyParts) {
+        int slot = Float32ExpLHelpers.mixHash(keyParts) & mask;
+        while (keys[slot] != keyParts && keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity == MAX_CAPACITY ? MAX_CAPACITY - 1 : capacity / 4 * 3;
+    }
+
+    private void grow() {
+        if (keys.length == MAX_CAPACITY) {
+            if (size >= MAX_CAPACITY - 1) {
+                throw new IllegalStateException("Float32ExpLToIntMap is full");
+            }
+            return;
+        }
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // power of two, where expectedSize is at most 3/4 full
+    private static int tableSizeFor(int expectedSize) {
+        long needed = Math.max(DEFAULT_CAPACITY, (expectedSize * 4L + 2) / 3 + 1);
+        return (int) Math.min(MAX_CAPACITY, Long.highestOneBit(needed - 1) << 1);
+    }
+
+    @Override public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEach((keyParts, value) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            Float32ExpLHelpers.toString(keyParts, sb, DEFAULT_STRING_PARAMS);
+            sb.append('=').append(value);
+        });
+        return sb.append('}').toString();
+    }
+}
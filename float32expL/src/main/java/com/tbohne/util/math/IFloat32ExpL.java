@@ -1,5 +1,6 @@
 package com.tbohne.util.math;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -7,6 +8,21 @@ import java.math.BigInteger;
 public interface IFloat32ExpL extends Comparable<IFloat32ExpL>, Serializable {
     interface ExponentToStringInterface {
         void addExponent(StringBuilder stringBuilder, int exponent);
+
+        // Writes the exponent into out, and returns the new offset.
+        // Override this to avoid the StringBuilder allocation.
+        default int addExponent(char[] out, int offset, int exponent) {
+            StringBuilder stringBuilder = new StringBuilder();
+            addExponent(stringBuilder, exponent);
+            stringBuilder.getChars(0, stringBuilder.length(), out, offset);
+            return offset + stringBuilder.length();
+        }
+
+        // The most chars addExponent writes, or -1 if that isn't known. Override this, along with
+        // addExponent(char[], int, int), to let callers size a char[] for toString up front.
+        default int maxLength() {
+            return -1;
+        }
     }
     class StringFormatParams {
         public int minDigits;
@@ -71,6 +87,9 @@ public interface IFloat32ExpL extends Comparable<IFloat32ExpL>, Serializable {
     String toEngineeringString();
     StringBuilder toEngineeringString(StringBuilder sb);
     StringBuilder toString(StringBuilder sb, StringFormatParams params);
+    int toString(char[] out, int offset, StringFormatParams params);
+    <T extends Appendable> T toString(T out, StringFormatParams params) throws IOException;
     StringBuilder toBNotationString(StringBuilder sb);
     StringBuilder toHexString(StringBuilder sb);
+    StringBuilder toShortestString(StringBuilder sb);
 }
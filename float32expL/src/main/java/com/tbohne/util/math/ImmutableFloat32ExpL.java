@@ -1,5 +1,11 @@
 package com.tbohne.util.math;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
@@ -24,6 +30,7 @@ import static com.tbohne.util.math.Float32ExpLHelpers.getNormalizedParts;
  * the BigDecimal internals are elided, like scale() and precision().
  */
 public class ImmutableFloat32ExpL extends Number implements IFloat32ExpL {
+    private static final long serialVersionUID = 1L;
     public static final ImmutableFloat32ExpL NEGATIVE_ONE = new ImmutableFloat32ExpL(-1);
     public static final ImmutableFloat32ExpL ZERO = new ImmutableFloat32ExpL(0);
     public static final ImmutableFloat32ExpL ONE = new ImmutableFloat32ExpL(1);
@@ -60,7 +67,8 @@ public class ImmutableFloat32ExpL extends Number implements IFloat32ExpL {
     public ImmutableFloat32ExpL() {parts = Float32ExpLHelpers.ZERO_PATTERN;}
     public ImmutableFloat32ExpL(char[] in, int offset, int len) {parts = cast(in, offset, len);}
     public ImmutableFloat32ExpL(char[] in) {parts = cast(in, 0, in.length);}
-    public ImmutableFloat32ExpL(String val) {parts = cast(val.toCharArray(), 0, val.length());}
+    public ImmutableFloat32ExpL(CharSequence in, int offset, int len) {parts = cast(in, offset, len);}
+    public ImmutableFloat32ExpL(String val) {parts = cast(val, 0, val.length());}
     public ImmutableFloat32ExpL(double val) {parts = getDoubleParts(val);}
     public ImmutableFloat32ExpL(int val) {parts = getLongParts(val);}
     public ImmutableFloat32ExpL(long val) {parts = getLongParts(val);}
@@ -128,8 +136,15 @@ public class ImmutableFloat32ExpL extends Number implements IFloat32ExpL {
     @Override public StringBuilder toString(StringBuilder sb, StringFormatParams params) {
         return Float32ExpLHelpers.toString(parts, sb, params);
     }
+    @Override public int toString(char[] out, int offset, StringFormatParams params) {
+        return Float32ExpLHelpers.toString(parts, out, offset, params);
+    }
+    @Override public <T extends Appendable> T toString(T out, StringFormatParams params) throws IOException {
+        return Float32ExpLHelpers.toString(parts, out, params);
+    }
     @Override public StringBuilder toBNotationString(StringBuilder sb) {return Float32ExpLHelpers.toBNotationString(parts, sb);}
     @Override public StringBuilder toHexString(StringBuilder sb) {return Float32ExpLHelpers.toHexString(parts, sb);}
+    @Override public StringBuilder toShortestString(StringBuilder sb) {return Float32ExpLShortestDecimal.toString(parts, sb);}
 
     @Override public BigInteger toBigInteger() {return Float32ExpLHelpers.toBigInteger(parts);}
     @Override public BigDecimal toBigDecimal() {return Float32ExpLHelpers.toBigDecimal(parts);}
@@ -137,4 +152,23 @@ public class ImmutableFloat32ExpL extends Number implements IFloat32ExpL {
     @Override public long longValue() {return Float32ExpLHelpers.longValue(parts);}
     @Override public float floatValue() {return Float32ExpLHelpers.floatValue(parts);}
     @Override public double doubleValue() {return Float32ExpLHelpers.doubleValue(parts);}
+
+    // parts is final, so this can't read itself like Float32ExpL does. Instead, it serializes as
+    // an Externalizable SerializedForm, which resolves back to an ImmutableFloat32ExpL.
+    private Object writeReplace() {return new SerializedForm(parts);}
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("ImmutableFloat32ExpL is read through SerializedForm");
+    }
+
+    /*package*/ static final class SerializedForm implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        private long parts;
+
+        public SerializedForm() {}
+        SerializedForm(long parts) {this.parts = parts;}
+
+        @Override public void writeExternal(ObjectOutput out) throws IOException {Float32ExpLCodec.write(parts, out);}
+        @Override public void readExternal(ObjectInput in) throws IOException {parts = Float32ExpLCodec.read(in);}
+        private Object readResolve() {return new ImmutableFloat32ExpL(parts, true);}
+    }
 }
@@ -0,0 +1,256 @@
+package com.tbohne.util.math;
+
+import java.util.Arrays;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.DEFAULT_STRING_PARAMS;
+import static com.tbohne.util.math.Float32ExpLHelpers.ZERO_PATTERN;
+import static com.tbohne.util.math.Float32ExpLHelpers.getDoubleParts;
+import static com.tbohne.util.math.Float32ExpLHelpers.getLongParts;
+
+/**
+ * A map from long keys to Float32ExpL values, without boxing either.
+ *
+ * This is an open addressing hash table with linear probing. Keys and the packed parts of the
+ * values are held in parallel long[]s, so a lookup reads at most a few adjacent slots, and no
+ * objects are allocated except when the table grows. Keys are spread with
+ * Float32ExpLHelpers.mixHash, since ids are often sequential.
+ *
+ * The key 0 marks empty slots, so a value for the key 0 is held separately.
+ *
+ * The arithmetic merge methods treat a missing key as zero, and store the result, like
+ * HashMap.merge. They return the packed parts of the new value. This is not thread-safe.
+ */
+public class LongToFloat32ExpLMap {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+    private boolean hasZeroKey;
+    private long zeroKeyValue;
+
+    public LongToFloat32ExpLMap() {this(DEFAULT_CAPACITY);}
+
+    /**
+     * Creates a map that can hold expectedSize entries before growing.
+     */
+    public LongToFloat32ExpLMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize " + expectedSize + " must not be negative");
+        }
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int size() {return size;}
+    public boolean isEmpty() {return size == 0;}
+
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : keys[slotOf(key)] == key;
+    }
+
+    /**
+     * Returns the parts of the value for key, or defaultParts if the key is missing.
+     */
+    public long getPartsOrDefault(long key, long defaultParts) {
+        if (key == 0) {
+            return hasZeroKey ? zeroKeyValue : defaultParts;
+        }
+        int slot = slotOf(key);
+        return keys[slot] == key ? values[slot] : defaultParts;
+    }
+
+    /**
+     * Sets out to the value for key, and returns true, or returns false if the key is missing.
+     */
+    public boolean get(long key, Float32ExpL out) {
+        if (!containsKey(key)) {
+            return false;
+        }
+        out.setParts(getPartsOrDefault(key, ZERO_PATTERN));
+        return true;
+    }
+
+    public void put(long key, IFloat32ExpL value) {putParts(key, value.getParts());}
+    public void put(long key, long value) {putParts(key, getLongParts(value));}
+    public void put(long key, double value) {putParts(key, getDoubleParts(value));}
+
+    public void putParts(long key, long valueParts) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++size;
+            }
+            zeroKeyValue = valueParts;
+            return;
+        }
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            values[slot] = valueParts;
+        } else {
+            insertAt(slot, key, valueParts);
+        }
+    }
+
+    // slot must be the empty slot returned by slotOf(key)
+    private void insertAt(int slot, long key, long valueParts) {
+        keys[slot] = key;
+        values[slot] = valueParts;
+        if (++size >= resizeAt) {
+            grow();
+        }
+    }
+
+    public long addTo(long key, IFloat32ExpL value) {return addToParts(key, value.getParts());}
+    public long addTo(long key, long value) {return addToParts(key, getLongParts(value));}
+    public long addTo(long key, double value) {return addToParts(key, getDoubleParts(value));}
+
+    public long addToParts(long key, long valueParts) {
+        if (key == 0) {
+            long result = Float32ExpLHelpers.add(hasZeroKey ? zeroKeyValue : ZERO_PATTERN, valueParts);
+            putParts(key, result);
+            return result;
+        }
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            return values[slot] = Float32ExpLHelpers.add(values[slot], valueParts);
+        }
+        long result = Float32ExpLHelpers.add(ZERO_PATTERN, valueParts);
+        insertAt(slot, key, result);
+        return result;
+    }
+
+    public long multiplyBy(long key, IFloat32ExpL value) {return multiplyByParts(key, value.getParts());}
+    public long multiplyBy(long key, long value) {return multiplyByParts(key, getLongParts(value));}
+    public long multiplyBy(long key, double value) {return multiplyByParts(key, getDoubleParts(value));}
+
+    public long multiplyByParts(long key, long valueParts) {
+        if (key == 0) {
+            long result = Float32ExpLHelpers.multiply(hasZeroKey ? zeroKeyValue : ZERO_PATTERN, valueParts);
+            putParts(key, result);
+            return result;
+        }
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            return values[slot] = Float32ExpLHelpers.multiply(values[slot], valueParts);
+        }
+        long result = Float32ExpLHelpers.multiply(ZERO_PATTERN, valueParts);
+        insertAt(slot, key, result);
+        return result;
+    }
+
+    /**
+     * Removes the key, and returns true if it was present.
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            --size;
+            return true;
+        }
+        int slot = slotOf(key);
+        if (keys[slot] != key) {
+            return false;
+        }
+        keys[slot] = 0;
+        --size;
+        // Shift later entries of the probe run back, so that no run has a hole in it.
+        int next = (slot + 1) & mask;
+        while (keys[next] != 0) {
+            int home = Float32ExpLHelpers.mixHash(keys[next]) & mask;
+            // the entry at next may fill the hole if its home is not in (slot, next]
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                keys[next] = 0;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    public interface EntryConsumer {
+        void accept(long key, long valueParts);
+    }
+
+    /**
+     * Calls consumer for each entry, in no particular order. The map must not be modified until
+     * this returns.
+     */
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(0, zeroKeyValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    // the slot holding key, or else the empty slot where it would go
+    private int slotOf(long key) {
+        int slot = Float32ExpLHelpers.mixHash(key) & mask;
+        while (keys[slot] != key && keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity == MAX_CAPACITY ? MAX_CAPACITY - 1 : capacity / 4 * 3;
+    }
+
+    private void grow() {
+        if (keys.length == MAX_CAPACITY) {
+            if (size - (hasZeroKey ? 1 : 0) >= MAX_CAPACITY - 1) {
+                throw new IllegalStateException("LongToFloat32ExpLMap is full");
+            }
+            return;
+        }
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // power of two, where expectedSize is at most 3/4 full
+    private static int tableSizeFor(int expectedSize) {
+        long needed = Math.max(DEFAULT_CAPACITY, (expectedSize * 4L + 2) / 3 + 1);
+        return (int) Math.min(MAX_CAPACITY, Long.highestOneBit(needed - 1) << 1);
+    }
+
+    @Override public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append('{');
+        forEach((key, valueParts) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(key).append('=');
+            Float32ExpLHelpers.toString(valueParts, sb, DEFAULT_STRING_PARAMS);
+        });
+        return sb.append('}').toString();
+    }
+}
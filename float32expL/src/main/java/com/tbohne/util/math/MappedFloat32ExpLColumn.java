@@ -0,0 +1,221 @@
+package com.tbohne.util.math;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.ZERO_PATTERN;
+import static com.tbohne.util.math.Float32ExpLHelpers.getDoubleParts;
+import static com.tbohne.util.math.Float32ExpLHelpers.getLongParts;
+
+/**
+ * A fixed size column of Float32ExpL values, held as packed parts in a memory-mapped file.
+ *
+ * The file is just the parts, 8 little-endian bytes each, with no header, so opening a column
+ * reads nothing up front, and the OS pages values in as they're used. Reads and writes go
+ * straight to the mapped memory through LongBuffer views, and the arithmetic is done on the parts
+ * with the Float32ExpLHelpers kernels, so nothing is allocated per value.
+ *
+ * A single mapping can't be larger than 2GB, so the file is mapped in segments of 2^27 values,
+ * and indexes are longs.
+ *
+ * Writes reach the file whenever the OS flushes the pages, or when force is called. Like all
+ * MappedByteBuffers, the mappings are only released when they're garbage collected, even after
+ * close. This is not thread-safe.
+ */
+public class MappedFloat32ExpLColumn implements Closeable {
+    private static final int DEFAULT_SEGMENT_SHIFT = 27;
+    private static final int BYTES_PER_VALUE = Long.BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] mappings;
+    private final LongBuffer[] segments;
+    private final int segmentShift;
+    private final long segmentMask;
+    private final long size;
+
+    /**
+     * Creates or truncates the file at path to hold size values, all zero, and maps it.
+     */
+    public static MappedFloat32ExpLColumn create(Path path, long size) throws IOException {
+        return create(path, size, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /*package*/ static MappedFloat32ExpLColumn create(Path path, long size, int segmentShift) throws IOException {
+        if (size < 0) {
+            throw new IllegalArgumentException("size " + size + " must not be negative");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        MappedFloat32ExpLColumn column = new MappedFloat32ExpLColumn(channel, size, segmentShift, true);
+        // an empty file is all 0 bits, but zero's parts are ZERO_PATTERN
+        column.fillParts(0, size, ZERO_PATTERN);
+        return column;
+    }
+
+    /**
+     * Maps an existing column file. If writable is false, the set and arithmetic methods throw
+     * ReadOnlyBufferException.
+     */
+    public static MappedFloat32ExpLColumn open(Path path, boolean writable) throws IOException {
+        return open(path, writable, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /*package*/ static MappedFloat32ExpLColumn open(Path path, boolean writable, int segmentShift) throws IOException {
+        FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ);
+        long bytes = channel.size();
+        if (bytes % BYTES_PER_VALUE != 0) {
+            channel.close();
+            throw new IOException(path + " has " + bytes + " bytes, which is not a whole number of values");
+        }
+        return new MappedFloat32ExpLColumn(channel, bytes / BYTES_PER_VALUE, segmentShift, writable);
+    }
+
+    private MappedFloat32ExpLColumn(FileChannel channel, long size, int segmentShift, boolean writable) throws IOException {
+        this.channel = channel;
+        this.size = size;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        int segmentCount = (int) ((size + segmentMask) >>> segmentShift);
+        mappings = new MappedByteBuffer[segmentCount];
+        segments = new LongBuffer[segmentCount];
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        try {
+            for (int i = 0; i < segmentCount; i++) {
+                long first = (long) i << segmentShift;
+                long count = Math.min(size - first, 1L << segmentShift);
+                mappings[i] = channel.map(mode, first * BYTES_PER_VALUE, count * BYTES_PER_VALUE);
+                mappings[i].order(ByteOrder.LITTLE_ENDIAN);
+                segments[i] = mappings[i].asLongBuffer();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {return size;}
+
+    public long getParts(long index) {
+        verifyIndex(index);
+        return segments[(int) (index >>> segmentShift)].get((int) (index & segmentMask));
+    }
+
+    public Float32ExpLChainedExpression get(long index, Float32ExpL out) {return out.setParts(getParts(index));}
+
+    public void set(long index, IFloat32ExpL val) {setParts(index, val.getParts());}
+    public void set(long index, long val) {setParts(index, getLongParts(val));}
+    public void set(long index, double val) {setParts(index, getDoubleParts(val));}
+
+    public void setParts(long index, long parts) {
+        verifyIndex(index);
+        segments[(int) (index >>> segmentShift)].put((int) (index & segmentMask), parts);
+    }
+
+    /**
+     * Adds val to the value at index, and returns the parts of the result.
+     */
+    public long add(long index, IFloat32ExpL val) {return addParts(index, val.getParts());}
+    public long add(long index, long val) {return addParts(index, getLongParts(val));}
+    public long add(long index, double val) {return addParts(index, getDoubleParts(val));}
+
+    public long addParts(long index, long otherParts) {
+        verifyIndex(index);
+        LongBuffer segment = segments[(int) (index >>> segmentShift)];
+        int offset = (int) (index & segmentMask);
+        long result = Float32ExpLHelpers.add(segment.get(offset), otherParts);
+        segment.put(offset, result);
+        return result;
+    }
+
+    /**
+     * Adds val to every value in [from, to).
+     */
+    public void addRange(long from, long to, IFloat32ExpL val) {addRangeParts(from, to, val.getParts());}
+    public void addRange(long from, long to, long val) {addRangeParts(from, to, getLongParts(val));}
+    public void addRange(long from, long to, double val) {addRangeParts(from, to, getDoubleParts(val));}
+
+    public void addRangeParts(long from, long to, long otherParts) {
+        verifyRange(from, to);
+        long index = from;
+        while (index < to) {
+            LongBuffer segment = segments[(int) (index >>> segmentShift)];
+            int offset = (int) (index & segmentMask);
+            int end = (int) Math.min(segment.limit(), offset + (to - index));
+            for (int i = offset; i < end; i++) {
+                segment.put(i, Float32ExpLHelpers.add(segment.get(i), otherParts));
+            }
+            index += end - offset;
+        }
+    }
+
+    /**
+     * Multiplies every value in [from, to) by val.
+     */
+    public void multiplyRange(long from, long to, IFloat32ExpL val) {multiplyRangeParts(from, to, val.getParts());}
+    public void multiplyRange(long from, long to, long val) {multiplyRangeParts(from, to, getLongParts(val));}
+    public void multiplyRange(long from, long to, double val) {multiplyRangeParts(from, to, getDoubleParts(val));}
+
+    public void multiplyRangeParts(long from, long to, long otherParts) {
+        verifyRange(from, to);
+        long index = from;
+        while (index < to) {
+            LongBuffer segment = segments[(int) (index >>> segmentShift)];
+            int offset = (int) (index & segmentMask);
+            int end = (int) Math.min(segment.limit(), offset + (to - index));
+            for (int i = offset; i < end; i++) {
+                segment.put(i, Float32ExpLHelpers.multiply(segment.get(i), otherParts));
+            }
+            index += end - offset;
+        }
+    }
+
+    /**
+     * Sets every value in [from, to) to the parts.
+     */
+    public void fillParts(long from, long to, long parts) {
+        verifyRange(from, to);
+        long index = from;
+        while (index < to) {
+            LongBuffer segment = segments[(int) (index >>> segmentShift)];
+            int offset = (int) (index & segmentMask);
+            int end = (int) Math.min(segment.limit(), offset + (to - index));
+            for (int i = offset; i < end; i++) {
+                segment.put(i, parts);
+            }
+            index += end - offset;
+        }
+    }
+
+    /**
+     * Writes any changes through to the file.
+     */
+    public void force() {
+        for (MappedByteBuffer mapping : mappings) {
+            if (!mapping.isReadOnly()) {
+                mapping.force();
+            }
+        }
+    }
+
+    @Override public void close() throws IOException {channel.close();}
+
+    private void verifyIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " is not in [0, " + size + ")");
+        }
+    }
+
+    private void verifyRange(long from, long to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") is not in [0, " + size + ")");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.tbohne.util.math;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.ZERO_PATTERN;
+import static com.tbohne.util.math.Float32ExpLHelpers.getDoubleParts;
+import static com.tbohne.util.math.Float32ExpLHelpers.getLongParts;
+
+/**
+ * Many polynomials, for evaluating all of them at the same x.
+ *
+ * The coefficients are held as packed parts in a single long[], grouped by power, then by
+ * polynomial, so coefficient i of polynomial p is at [i * size() + p]. Evaluation computes each
+ * power of x once, and then scans the array linearly, adding power * coefficient into each
+ * result. That's the same order of operations as Polynomials.at, so the results are identical.
+ *
+ * Polynomials shorter than the longest are padded with zeroes, so a few long polynomials make
+ * the whole batch slower. Use separate batches for very different degrees.
+ *
+ * atParallel splits the polynomials into ranges, and evaluates them in the common ForkJoinPool.
+ * That only helps for large batches, since each range needs enough work to offset the task
+ * overhead.
+ *
+ * Evaluating may be done from many threads at once, as long as nothing calls set at the same
+ * time.
+ */
+public class PolynomialBatch {
+    // Ranges of at most this many polynomials are not split further by atParallel.
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    private final int size;
+    private final int length;
+    // parts of coefficient i of polynomial p at [i * size + p]
+    private final long[] coefficients;
+
+    public PolynomialBatch(List<? extends List<? extends IFloat32ExpL>> polynomials) {
+        size = polynomials.size();
+        int maxLength = 1;
+        for (int p = 0; p < size; p++) {
+            maxLength = Math.max(maxLength, polynomials.get(p).size());
+        }
+        length = maxLength;
+        coefficients = new long[length * size];
+        for (int p = 0; p < size; p++) {
+            set(p, polynomials.get(p));
+        }
+    }
+
+    public int size() {return size;}
+
+    /**
+     * Returns the highest power that any polynomial in the batch may have.
+     */
+    public int degree() {return length - 1;}
+
+    /**
+     * Replaces the polynomial at index. It may not be longer than degree() + 1.
+     */
+    public void set(int index, List<? extends IFloat32ExpL> polynomial) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " is not in [0, " + size + ")");
+        }
+        if (polynomial.size() > length) {
+            throw new IllegalArgumentException("polynomial has " + polynomial.size()
+                    + " coefficients, but this batch only holds " + length);
+        }
+        for (int i = 0; i < length; i++) {
+            coefficients[i * size + index] = i < polynomial.size() ? polynomial.get(i).getParts() : ZERO_PATTERN;
+        }
+    }
+
+    public void at(IFloat32ExpL x, long[] outParts) {atParts(x.getParts(), outParts);}
+    public void at(long x, long[] outParts) {atParts(getLongParts(x), outParts);}
+    public void at(double x, long[] outParts) {atParts(getDoubleParts(x), outParts);}
+
+    /**
+     * Evaluates every polynomial at the x parts, and puts the parts of polynomial p's result in
+     * outParts[p].
+     */
+    public void atParts(long x, long[] outParts) {
+        verifyOutLength(outParts);
+        atParts(powerParts(x), outParts, 0, size);
+    }
+
+    public void atParallel(IFloat32ExpL x, long[] outParts) {atPartsParallel(x.getParts(), outParts);}
+    public void atParallel(long x, long[] outParts) {atPartsParallel(getLongParts(x), outParts);}
+    public void atParallel(double x, long[] outParts) {atPartsParallel(getDoubleParts(x), outParts);}
+
+    /**
+     * Like atParts, but splits the work across the common ForkJoinPool.
+     */
+    public void atPartsParallel(long x, long[] outParts) {
+        verifyOutLength(outParts);
+        ForkJoinPool.commonPool().invoke(new RangeAction(powerParts(x), outParts, 0, size));
+    }
+
+    private void verifyOutLength(long[] outParts) {
+        if (outParts.length < size) {
+            throw new IllegalArgumentException("outParts has length " + outParts.length
+                    + " but the batch has " + size + " polynomials");
+        }
+    }
+
+    // x^0 through x^degree()
+    private long[] powerParts(long x) {
+        long[] powers = new long[length];
+        powers[0] = getLongParts(1);
+        for (int i = 1; i < length; i++) {
+            powers[i] = Float32ExpLHelpers.multiply(powers[i - 1], x);
+        }
+        return powers;
+    }
+
+    private void atParts(long[] powers, long[] outParts, int from, int to) {
+        System.arraycopy(coefficients, from, outParts, from, to - from);
+        for (int i = 1; i < length; i++) {
+            long power = powers[i];
+            int offset = i * size;
+            for (int p = from; p < to; p++) {
+                long coefficient = coefficients[offset + p];
+                if (coefficient != ZERO_PATTERN) {
+                    outParts[p] = Float32ExpLHelpers.add(outParts[p], Float32ExpLHelpers.multiply(power, coefficient));
+                }
+            }
+        }
+    }
+
+    private class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final long[] powers;
+        private final long[] outParts;
+        private final int from;
+        private final int to;
+
+        RangeAction(long[] powers, long[] outParts, int from, int to) {
+            this.powers = powers;
+            this.outParts = outParts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                atParts(powers, outParts, from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RangeAction(powers, outParts, from, middle),
+                        new RangeAction(powers, outParts, middle, to));
+            }
+        }
+    }
+}
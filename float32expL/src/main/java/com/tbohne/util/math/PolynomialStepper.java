@@ -0,0 +1,145 @@
+package com.tbohne.util.math;
+
+import java.util.List;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.ZERO_PATTERN;
+import static com.tbohne.util.math.Float32ExpLHelpers.getDoubleParts;
+import static com.tbohne.util.math.Float32ExpLHelpers.getLongParts;
+
+/**
+ * Walks a polynomial forward in fixed steps, using only additions per step.
+ *
+ * For a polynomial of degree N, the Nth forward difference is constant, so after seeding a table
+ * of differences at some x, each step adds each difference into the one below it, which moves
+ * the value from p(x) to p(x + step) with N additions and no multiplies.
+ *
+ * The table is seeded from the coefficients rather than by differencing nearby values, since the
+ * higher differences are tiny compared to the values, and subtracting would cancel away most of
+ * their bits. Even so, each addition truncates, and errors in the higher differences grow with
+ * the step count, so the table drifts from the exact values. To bound that, every
+ * reseedInterval steps, the table is seeded again at start + stepCount * step. Higher degrees
+ * drift faster, and need shorter intervals.
+ *
+ * Float32ExpL addition costs about as much as multiplication, so per step this is about as fast
+ * as CompiledPolynomial's Horner evaluation, and reseeding costs O(degree^2). It's most useful
+ * where the caller wants the values in order anyway, and for low degrees.
+ *
+ * This is not thread-safe.
+ */
+public class PolynomialStepper {
+    public static final int DEFAULT_RESEED_INTERVAL = 64;
+
+    // parts of the coefficients, lowest power first
+    private final long[] coefficients;
+    // surjections[j*(degree+1)+k] is k!*S(j,k), where S is the Stirling number of the second kind.
+    // The kth forward difference of x^j, from 0 with a step of 1, is the sum of these.
+    private final long[] surjections;
+    private final long step;
+    private final int reseedInterval;
+    // differences[i] is the ith forward difference at the current x. differences[0] is the value.
+    private final long[] differences;
+    private final long[] shifted;
+    private long start;
+    private long stepCount;
+    private int stepsUntilReseed;
+
+    public PolynomialStepper(List<? extends IFloat32ExpL> polynomial, IFloat32ExpL start, IFloat32ExpL step) {
+        this(polynomial, start, step, DEFAULT_RESEED_INTERVAL);
+    }
+
+    public PolynomialStepper(List<? extends IFloat32ExpL> polynomial, IFloat32ExpL start, IFloat32ExpL step, int reseedInterval) {
+        if (reseedInterval < 1) {
+            throw new IllegalArgumentException("reseedInterval " + reseedInterval + " must be positive");
+        }
+        int length = 1;
+        for (int i = 0; i < polynomial.size(); i++) {
+            if (polynomial.get(i).getParts() != ZERO_PATTERN) {
+                length = i + 1;
+            }
+        }
+        this.coefficients = new long[length];
+        for (int i = 0; i < polynomial.size() && i < length; i++) {
+            coefficients[i] = polynomial.get(i).getParts();
+        }
+        if (polynomial.isEmpty()) {
+            coefficients[0] = ZERO_PATTERN;
+        }
+        this.surjections = new long[length * length];
+        surjections[0] = getLongParts(1);
+        for (int j = 1; j < length; j++) {
+            surjections[j * length] = ZERO_PATTERN;
+            for (int k = 1; k <= j; k++) {
+                long sum = Float32ExpLHelpers.add(surjections[(j - 1) * length + k - 1],
+                        k < j ? surjections[(j - 1) * length + k] : ZERO_PATTERN);
+                surjections[j * length + k] = Float32ExpLHelpers.multiply(getLongParts(k), sum);
+            }
+        }
+        this.step = step.getParts();
+        this.reseedInterval = reseedInterval;
+        this.differences = new long[length];
+        this.shifted = new long[length];
+        reset(start);
+    }
+
+    public int degree() {return coefficients.length - 1;}
+
+    public void reset(IFloat32ExpL start) {resetParts(start.getParts());}
+    public void reset(long start) {resetParts(getLongParts(start));}
+    public void reset(double start) {resetParts(getDoubleParts(start));}
+
+    private void resetParts(long newStart) {
+        start = newStart;
+        stepCount = 0;
+        seed(newStart);
+    }
+
+    public long getStepCount() {return stepCount;}
+
+    public long currentParts() {return differences[0];}
+    public Float32ExpLChainedExpression current(Float32ExpL out) {return out.setParts(differences[0]);}
+
+    /**
+     * Advances by one step, and returns the parts of the new value.
+     */
+    public long stepParts() {
+        ++stepCount;
+        if (--stepsUntilReseed == 0) {
+            seed(Float32ExpLHelpers.add(start, Float32ExpLHelpers.multiply(getLongParts(stepCount), step)));
+        } else {
+            for (int i = 0; i < differences.length - 1; i++) {
+                differences[i] = Float32ExpLHelpers.add(differences[i], differences[i + 1]);
+            }
+        }
+        return differences[0];
+    }
+
+    public Float32ExpLChainedExpression step(Float32ExpL out) {return out.setParts(stepParts());}
+
+    // Fills differences with the forward differences at x. This shifts the polynomial to
+    // p(x + t*step), and then sums the differences of each power of t.
+    private void seed(long x) {
+        int length = coefficients.length;
+        System.arraycopy(coefficients, 0, shifted, 0, length);
+        for (int i = 0; i < length - 1; i++) {
+            for (int j = length - 2; j >= i; j--) {
+                shifted[j] = Float32ExpLHelpers.add(shifted[j], Float32ExpLHelpers.multiply(x, shifted[j + 1]));
+            }
+        }
+        long stepPower = step;
+        for (int j = 1; j < length; j++) {
+            if (j > 1) {
+                stepPower = Float32ExpLHelpers.multiply(stepPower, step);
+            }
+            shifted[j] = Float32ExpLHelpers.multiply(shifted[j], stepPower);
+        }
+        differences[0] = shifted[0];
+        for (int k = 1; k < length; k++) {
+            long sum = ZERO_PATTERN;
+            for (int j = k; j < length; j++) {
+                sum = Float32ExpLHelpers.add(sum, Float32ExpLHelpers.multiply(shifted[j], surjections[j * length + k]));
+            }
+            differences[k] = sum;
+        }
+        stepsUntilReseed = reseedInterval;
+    }
+}
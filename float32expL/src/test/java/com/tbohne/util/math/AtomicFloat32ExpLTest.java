@@ -0,0 +1,103 @@
+package com.tbohne.util.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class AtomicFloat32ExpLTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+    Float32ExpL mDecimal = new Float32ExpL();
+
+    @Test
+    public void whenConstructedThenZero() {
+        AtomicFloat32ExpL atomic = new AtomicFloat32ExpL();
+
+        Float64ExpLTestUtils.assertExactly(0, (Float32ExpL) atomic.get(mDecimal));
+    }
+
+    @Test
+    public void whenAddAndGetThenReturnsNewValue() {
+        AtomicFloat32ExpL atomic = new AtomicFloat32ExpL(5);
+
+        long result = atomic.addAndGet(3);
+
+        Float64ExpLTestUtils.assertExactly(8, new Float32ExpL(result, true));
+        Float64ExpLTestUtils.assertExactly(8, (Float32ExpL) atomic.get(mDecimal));
+    }
+
+    @Test
+    public void whenGetAndMultiplyThenReturnsOldValue() {
+        AtomicFloat32ExpL atomic = new AtomicFloat32ExpL(5);
+
+        long result = atomic.getAndMultiply(ImmutableFloat32ExpL.TEN);
+
+        Float64ExpLTestUtils.assertExactly(5, new Float32ExpL(result, true));
+        Float64ExpLTestUtils.assertExactly(50, (Float32ExpL) atomic.get(mDecimal));
+    }
+
+    @Test
+    public void whenAccumulateAndGetThenAppliesKernel() {
+        AtomicFloat32ExpL atomic = new AtomicFloat32ExpL(3);
+
+        atomic.accumulateAndGet(ImmutableFloat32ExpL.TWO.getParts(), Float32ExpLHelpers::pow);
+
+        Float64ExpLTestUtils.assertExactly(9, (Float32ExpL) atomic.get(mDecimal));
+    }
+
+    @Test
+    public void whenCompareAndSetWithExpectedValueThenSets() {
+        AtomicFloat32ExpL atomic = new AtomicFloat32ExpL(5);
+
+        assertTrue(atomic.compareAndSet(new ImmutableFloat32ExpL(5), ImmutableFloat32ExpL.TEN));
+        assertEquals(ImmutableFloat32ExpL.TEN, atomic.get());
+    }
+
+    @Test
+    public void whenCompareAndSetWithOtherValueThenDoesNotSet() {
+        AtomicFloat32ExpL atomic = new AtomicFloat32ExpL(5);
+
+        assertFalse(atomic.compareAndSet(ImmutableFloat32ExpL.ONE, ImmutableFloat32ExpL.TEN));
+        Float64ExpLTestUtils.assertExactly(5, (Float32ExpL) atomic.get(mDecimal));
+    }
+
+    @Test
+    public void whenAddingFromManyThreadsThenNoUpdatesAreLost() throws InterruptedException {
+        final AtomicFloat32ExpL atomic = new AtomicFloat32ExpL();
+        final int threadCount = 4;
+        final int addsPerThread = 10000;
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < addsPerThread; j++) {
+                    atomic.addAndGet(1);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Float64ExpLTestUtils.assertExactly(threadCount * addsPerThread, (Float32ExpL) atomic.get(mDecimal));
+    }
+
+    @Test
+    public void whenKernelThrowsThenValueIsUnchanged() {
+        AtomicFloat32ExpL atomic = new AtomicFloat32ExpL(5);
+        try {
+            atomic.divideAndGet(0);
+        } catch (ArithmeticException e) {
+            Float64ExpLTestUtils.assertExactly(5, (Float32ExpL) atomic.get(mDecimal));
+            return;
+        }
+        throw new AssertionError("divide by zero did not throw");
+    }
+}
@@ -0,0 +1,103 @@
+package com.tbohne.util.math;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledPolynomialTest {
+    // every multiply and add truncates, so each term can lose a bit
+    private static final int HORNER_ACCURACY = 28;
+
+    private List<Float32ExpL> createList(double... vs) {
+        List<Float32ExpL> r = new ArrayList<>(vs.length);
+        for (int i = 0; i < vs.length; i++) {
+            r.add(i, new Float32ExpL(vs[i]));
+        }
+        return r;
+    }
+
+    private void assertAt(CompiledPolynomial polynomial, double expected, double x) {
+        Float32ExpL y = new Float32ExpL();
+        polynomial.at(x, y);
+        assertEquals(new ImmutableFloat32ExpL(expected), y);
+    }
+
+    @Test
+    public void whenInputAllSetThenAtIsCorrect() {
+        CompiledPolynomial polynomial = new CompiledPolynomial(createList(7, 5, 3));
+
+        assertFalse(polynomial.isSparse());
+        assertEquals(2, polynomial.degree());
+        assertAt(polynomial, 7, 0);
+        assertAt(polynomial, 15, 1);
+        assertAt(polynomial, 29, 2);
+        assertAt(polynomial, 49, 3);
+    }
+
+    @Test
+    public void whenEmptyThenAtIsZero() {
+        CompiledPolynomial polynomial = new CompiledPolynomial(createList());
+
+        assertEquals(0, polynomial.degree());
+        assertAt(polynomial, 0, 3);
+    }
+
+    @Test
+    public void whenAllZeroThenAtIsZero() {
+        CompiledPolynomial polynomial = new CompiledPolynomial(createList(0, 0, 0));
+
+        assertEquals(0, polynomial.degree());
+        assertAt(polynomial, 0, 3);
+    }
+
+    @Test
+    public void whenTrailingZeroesThenTheyAreDropped() {
+        CompiledPolynomial polynomial = new CompiledPolynomial(createList(1, 2, 0, 0, 0, 0, 0, 0));
+
+        assertFalse(polynomial.isSparse());
+        assertEquals(1, polynomial.degree());
+        assertAt(polynomial, 7, 3);
+    }
+
+    @Test
+    public void whenMostlyZeroThenSparseAtIsCorrect() {
+        CompiledPolynomial polynomial = new CompiledPolynomial(createList(0, 0, 3, 0, 0, 0, 0, 2, 0));
+
+        assertTrue(polynomial.isSparse());
+        assertEquals(7, polynomial.degree());
+        assertAt(polynomial, 5, 1);
+        assertAt(polynomial, 268, 2);
+        assertAt(polynomial, -244, -2);
+    }
+
+    @Test
+    public void whenEvaluatedThenMatchesDoubles() {
+        double[] coefficients = new double[]{1, 0.001, 0.001, 0, 0.001, 0.001, 0.001};
+        List<Float32ExpL> in = createList(coefficients);
+        CompiledPolynomial polynomial = new CompiledPolynomial(in);
+        Float32ExpL actual = new Float32ExpL();
+        for (int x = 0; x < 100000; x += 777) {
+            double expected = 0;
+            for (int i = coefficients.length - 1; i >= 0; i--) {
+                expected = expected * x + in.get(i).doubleValue();
+            }
+            polynomial.at(x, actual);
+            Float64ExpLTestUtils.assertApproximately(expected, actual, HORNER_ACCURACY);
+        }
+    }
+
+    @Test
+    public void whenSourceChangesThenCompiledDoesNot() {
+        List<Float32ExpL> in = createList(7, 5, 3);
+        CompiledPolynomial polynomial = new CompiledPolynomial(in);
+
+        in.get(0).set(100);
+
+        assertAt(polynomial, 15, 1);
+    }
+}
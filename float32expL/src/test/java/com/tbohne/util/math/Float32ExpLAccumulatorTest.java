@@ -0,0 +1,135 @@
+package com.tbohne.util.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class Float32ExpLAccumulatorTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+    Float32ExpL mDecimal = new Float32ExpL();
+
+    @Test
+    public void whenConstructedThenSumIsZero() {
+        Float32ExpLAccumulator accumulator = new Float32ExpLAccumulator();
+
+        assertEquals(Float32ExpLHelpers.ZERO_PATTERN, accumulator.sumParts());
+    }
+
+    @Test
+    public void whenAddingThenSumMatches() {
+        Float32ExpLAccumulator accumulator = new Float32ExpLAccumulator();
+        accumulator.add(5);
+        accumulator.add(2.5);
+        accumulator.add(ImmutableFloat32ExpL.TEN);
+
+        Float64ExpLTestUtils.assertExactly(new Float32ExpL(17.5), accumulator.sum(mDecimal));
+    }
+
+    @Test
+    public void whenAddingSmallValuesToLargeThenNoneAreDropped() {
+        long balance = Float32ExpLHelpers.getLongParts(1L << 40);
+        long income = Float32ExpLHelpers.getLongParts(1);
+        Float32ExpLAccumulator accumulator = new Float32ExpLAccumulator();
+        accumulator.addParts(balance);
+        long rounded = balance;
+        for (int i = 0; i < 1 << 20; i++) {
+            accumulator.addParts(income);
+            rounded = Float32ExpLHelpers.add(rounded, income);
+        }
+
+        assertEquals(balance, rounded);
+        assertEquals(Float32ExpLHelpers.getLongParts((1L << 40) + (1L << 20)), accumulator.sumParts());
+    }
+
+    @Test
+    public void whenValuesCancelThenSmallValueIsExact() {
+        long large = Float32ExpLHelpers.getDoubleParts(-1.2345e15);
+        long small = Float32ExpLHelpers.getDoubleParts(6.789e-10);
+        Float32ExpLAccumulator accumulator = new Float32ExpLAccumulator();
+        accumulator.addParts(large);
+        accumulator.addParts(small);
+        accumulator.addParts(Float32ExpLHelpers.negate(large));
+
+        assertEquals(small, accumulator.sumParts());
+    }
+
+    @Test
+    public void whenAddingRandomValuesThenExactSumRoundedDown() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 200; i++) {
+            long[] values = new long[random.nextInt(200)];
+            BigDecimal expected = BigDecimal.ZERO;
+            for (int j = 0; j < values.length; j++) {
+                values[j] = Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt(80) - 40);
+                expected = expected.add(exact(values[j]));
+            }
+            long actual = Float32ExpLAccumulator.sumParts(values);
+            if (actual == Float32ExpLHelpers.ZERO_PATTERN) {
+                assertEquals(0, expected.signum());
+                continue;
+            }
+            BigDecimal next = exact(actual).add(exact(Float32ExpLHelpers.assembleParts(1, (int) actual)));
+            assertTrue(expected + " < " + exact(actual), exact(actual).compareTo(expected) <= 0);
+            assertTrue(expected + " >= " + next, expected.compareTo(next) < 0);
+        }
+    }
+
+    @Test
+    public void whenAddingRangeThenMatchesAddingEach() {
+        long[] values = new long[]{
+                Float32ExpLHelpers.getDoubleParts(1e20),
+                Float32ExpLHelpers.getDoubleParts(-3.5),
+                Float32ExpLHelpers.getDoubleParts(1e-20),
+                Float32ExpLHelpers.getDoubleParts(-1e20),
+        };
+        Float32ExpLAccumulator each = new Float32ExpLAccumulator();
+        for (int i = 1; i < values.length; i++) {
+            each.addParts(values[i]);
+        }
+        Float32ExpLAccumulator range = new Float32ExpLAccumulator();
+        range.addParts(values, 1, values.length);
+
+        assertEquals(each.sumParts(), range.sumParts());
+    }
+
+    @Test
+    public void whenResetThenSumIsZero() {
+        Float32ExpLAccumulator accumulator = new Float32ExpLAccumulator();
+        accumulator.add(12345);
+        accumulator.reset();
+        accumulator.add(3);
+
+        Float64ExpLTestUtils.assertExactly(3, (Float32ExpL) accumulator.sum(mDecimal));
+    }
+
+    @Test
+    public void whenSumOutOfRangeThenThrows() {
+        Float32ExpLAccumulator accumulator = new Float32ExpLAccumulator();
+        accumulator.add(ImmutableFloat32ExpL.MAX_POSITIVE);
+        accumulator.add(ImmutableFloat32ExpL.MAX_POSITIVE);
+
+        exception.expect(ArithmeticException.class);
+        accumulator.sumParts();
+    }
+
+    private static BigDecimal exact(long parts) {
+        BigDecimal significand = BigDecimal.valueOf(parts >> Float32ExpLHelpers.INT_MAX_BITS);
+        int exponent = (int) parts;
+        if (exponent >= 0) {
+            return significand.multiply(new BigDecimal(BigInteger.ONE.shiftLeft(exponent)));
+        } else {
+            return significand.divide(new BigDecimal(BigInteger.ONE.shiftLeft(-exponent)));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.tbohne.util.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class Float32ExpLAdderTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+    Float32ExpL mDecimal = new Float32ExpL();
+
+    @Test
+    public void whenConstructedThenSumIsZero() {
+        Float32ExpLAdder adder = new Float32ExpLAdder();
+
+        Float64ExpLTestUtils.assertExactly(0, (Float32ExpL) adder.sum(mDecimal));
+    }
+
+    @Test
+    public void whenAddingThenSumMatches() {
+        Float32ExpLAdder adder = new Float32ExpLAdder();
+        adder.add(5);
+        adder.add(2.5);
+        adder.add(ImmutableFloat32ExpL.TEN);
+
+        Float64ExpLTestUtils.assertExactly(new Float32ExpL(17.5), adder.sum(mDecimal));
+    }
+
+    @Test
+    public void whenAddingFromManyThreadsThenNoUpdatesAreLost() throws InterruptedException {
+        final Float32ExpLAdder adder = new Float32ExpLAdder();
+        final int threadCount = 8;
+        final int addsPerThread = 20000;
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < addsPerThread; j++) {
+                    adder.add(1);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Float64ExpLTestUtils.assertExactly(threadCount * addsPerThread, (Float32ExpL) adder.sum(mDecimal));
+    }
+
+    @Test
+    public void whenSumThenResetThenSumIsZero() {
+        Float32ExpLAdder adder = new Float32ExpLAdder();
+        adder.add(7);
+
+        long sum = adder.sumPartsThenReset();
+
+        Float64ExpLTestUtils.assertExactly(7, new Float32ExpL(sum, true));
+        Float64ExpLTestUtils.assertExactly(0, (Float32ExpL) adder.sum(mDecimal));
+    }
+}
@@ -0,0 +1,94 @@
+package com.tbohne.util.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class Float32ExpLArrayTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+    Float32ExpL mDecimal = new Float32ExpL();
+
+    private Float32ExpLArray createArray(double... vs) {
+        Float32ExpLArray r = new Float32ExpLArray(vs.length);
+        for (int i = 0; i < vs.length; i++) {
+            r.set(i, vs[i]);
+        }
+        return r;
+    }
+
+    @Test
+    public void whenConstructedThenAllValuesAreZero() {
+        Float32ExpLArray array = new Float32ExpLArray(3);
+
+        assertEquals(3, array.length());
+        for (int i = 0; i < array.length(); i++) {
+            Float64ExpLTestUtils.assertExactly(0, (Float32ExpL) array.get(i, mDecimal));
+        }
+    }
+
+    @Test
+    public void whenSetThenGetIsExact() {
+        Float32ExpLArray array = new Float32ExpLArray(3);
+        array.set(0, 7);
+        array.set(1, -2.5);
+        array.set(2, new ImmutableFloat32ExpL(1e300));
+
+        Float64ExpLTestUtils.assertExactly(new Float32ExpL(7), array.get(0, mDecimal));
+        Float64ExpLTestUtils.assertExactly(new Float32ExpL(-2.5), array.get(1, mDecimal));
+        Float64ExpLTestUtils.assertExactly(new Float32ExpL(1e300), array.get(2, mDecimal));
+    }
+
+    @Test
+    public void whenAddingArraysThenResultMatchesScalar() {
+        Float32ExpLArray array = createArray(1, 2, -3, 1e30);
+        Float32ExpLArray other = createArray(4, -2, 3.5, 7);
+
+        array.add(other);
+
+        assertEquals(createArray(5, 0, 0.5, 1e30), array);
+    }
+
+    @Test
+    public void whenSubtractingScalarThenResultMatchesScalar() {
+        Float32ExpLArray array = createArray(1, 2, -3);
+
+        array.subtract(2);
+
+        assertEquals(createArray(-1, 0, -5), array);
+    }
+
+    @Test
+    public void whenMultiplyingThenResultMatchesScalar() {
+        Float32ExpLArray array = createArray(1, 2, -3);
+
+        array.multiply(createArray(3, 0.5, -2)).multiply(ImmutableFloat32ExpL.TEN);
+
+        assertEquals(createArray(30, 10, 60), array);
+    }
+
+    @Test
+    public void whenDividingThenResultMatchesScalar() {
+        double[] values = new double[]{12, 3, -9};
+        Float32ExpLArray array = createArray(values);
+
+        array.divide(3);
+
+        for (int i = 0; i < array.length(); i++) {
+            Float32ExpL expected = new Float32ExpL(values[i]);
+            expected.divide(3);
+            Float64ExpLTestUtils.assertExactly(expected, array.get(i, mDecimal));
+        }
+    }
+
+    @Test
+    public void whenLengthsDifferThenThrows() {
+        exception.expect(IllegalArgumentException.class);
+        createArray(1, 2).add(createArray(1, 2, 3));
+    }
+}
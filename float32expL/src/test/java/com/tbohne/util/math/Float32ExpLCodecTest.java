@@ -0,0 +1,132 @@
+package com.tbohne.util.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class Float32ExpLCodecTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    private static final long[] EDGE_PARTS = new long[]{
+            Float32ExpLHelpers.ZERO_PATTERN,
+            ImmutableFloat32ExpL.ONE.getParts(),
+            ImmutableFloat32ExpL.NEGATIVE_ONE.getParts(),
+            ImmutableFloat32ExpL.PI.getParts(),
+            ImmutableFloat32ExpL.MAX_POSITIVE.getParts(),
+            ImmutableFloat32ExpL.MIN_POSITIVE.getParts(),
+            ImmutableFloat32ExpL.MAX_NEGATIVE.getParts(),
+            ImmutableFloat32ExpL.MIN_NEGATIVE.getParts(),
+    };
+
+    private static long[] createRandomParts(int count) {
+        Random random = new Random(1234);
+        long[] parts = new long[count];
+        for (int i = 0; i < count; i++) {
+            int significand = random.nextInt(0x40000000) | 0x40000000;
+            parts[i] = Float32ExpLHelpers.assembleParts(random.nextBoolean() ? significand : ~significand, random.nextInt());
+        }
+        return parts;
+    }
+
+    @Test
+    public void whenSmallIntegersThenTwoBytes() {
+        assertEquals(1, Float32ExpLCodec.encodedLength(Float32ExpLHelpers.ZERO_PATTERN));
+        assertEquals(2, Float32ExpLCodec.encodedLength(Float32ExpLHelpers.getLongParts(1)));
+        assertEquals(2, Float32ExpLCodec.encodedLength(Float32ExpLHelpers.getLongParts(100)));
+        assertEquals(2, Float32ExpLCodec.encodedLength(Float32ExpLHelpers.getLongParts(-100)));
+    }
+
+    @Test
+    public void whenWrittenToByteBufferThenRoundTrips() {
+        ByteBuffer buffer = ByteBuffer.allocate(Float32ExpLCodec.MAX_ENCODED_LENGTH);
+        for (long parts : EDGE_PARTS) {
+            buffer.clear();
+            Float32ExpLCodec.write(parts, buffer);
+            assertEquals(Float32ExpLCodec.encodedLength(parts), buffer.position());
+            buffer.flip();
+            assertEquals(parts, Float32ExpLCodec.read(buffer));
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    public void whenWrittenToDataOutputThenRoundTrips() throws IOException {
+        long[] parts = createRandomParts(1000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (long part : parts) {
+            Float32ExpLCodec.write(part, out);
+        }
+        assertEquals(Float32ExpLCodec.encodedLength(parts, 0, parts.length), bytes.size());
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (long part : parts) {
+            assertEquals(part, Float32ExpLCodec.read(in));
+        }
+    }
+
+    @Test
+    public void whenBulkEncodedThenDecodes() {
+        long[] parts = createRandomParts(1000);
+        ByteBuffer buffer = ByteBuffer.allocate(Float32ExpLCodec.encodedLength(parts, 0, parts.length));
+
+        Float32ExpLCodec.encode(parts, buffer);
+        buffer.flip();
+        long[] decoded = new long[parts.length];
+        Float32ExpLCodec.decode(buffer, decoded);
+
+        assertArrayEquals(parts, decoded);
+    }
+
+    @Test
+    public void whenSignificandNotNormalizedThenThrows() {
+        // tag 1 is exponent -30 with one significand byte, and 0x20 is not normalized
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{1, 0x20});
+
+        exception.expect(IllegalArgumentException.class);
+        Float32ExpLCodec.read(buffer);
+    }
+
+    @Test
+    public void whenDataInputCorruptThenThrowsStreamCorrupted() throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(new byte[]{1, 0x20}));
+
+        exception.expect(StreamCorruptedException.class);
+        Float32ExpLCodec.read(in);
+    }
+
+    @Test
+    public void whenJavaSerializedThenRoundTrips() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(new Float32ExpL(123.5));
+        out.writeObject(ImmutableFloat32ExpL.PI);
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Float32ExpL mutable = (Float32ExpL) in.readObject();
+        ImmutableFloat32ExpL immutable = (ImmutableFloat32ExpL) in.readObject();
+
+        assertEquals(new Float32ExpL(123.5), mutable);
+        assertEquals(ImmutableFloat32ExpL.PI, immutable);
+    }
+}
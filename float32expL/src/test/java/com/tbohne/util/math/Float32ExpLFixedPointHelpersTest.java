@@ -0,0 +1,122 @@
+package com.tbohne.util.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import static com.tbohne.util.math.Float32ExpLHelpers.getDoubleParts;
+import static com.tbohne.util.math.Float32ExpLHelpers.getLongParts;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class Float32ExpLFixedPointHelpersTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+    Float32ExpL mDecimal = new Float32ExpL();
+
+    @Test
+    public void whenLogPower2ThenExact() {
+        Float64ExpLTestUtils.assertExactly(0, log2(1));
+        Float64ExpLTestUtils.assertExactly(1, log2(2));
+        Float64ExpLTestUtils.assertExactly(4, log2(16));
+        Float64ExpLTestUtils.assertExactly(-3, log2(0.125));
+    }
+
+    @Test
+    public void whenLogNonPower2ThenValueIsApproximate() {
+        double[] values = new double[]{3, 5, 7, 9, 1000, 1.0 / 10.0, 7.0 / 10.0, 1e300, 1e-300};
+        for (double value : values) {
+            Float64ExpLTestUtils.assertApproximately(Math.log(value) / Math.log(2), log2(value), Float64ExpLTestUtils.LOG_ACCURACY);
+        }
+    }
+
+    // the inputs are truncated to 32 bits, so compare against the log of the truncated value
+    @Test
+    public void whenLogNearOneThenValueIsApproximate() {
+        double[] values = new double[]{1.001, 0.999, 1.0000001, 0.9999999, 1.00000001};
+        for (double value : values) {
+            double truncated = new Float32ExpL(value).doubleValue();
+            Float64ExpLTestUtils.assertApproximately(Math.log(truncated) / Math.log(2), log2(value), Float64ExpLTestUtils.LOG_ACCURACY);
+        }
+    }
+
+    @Test
+    public void whenIntegerPow2ThenExact() {
+        Float64ExpLTestUtils.assertExactly(1, pow2(0));
+        Float64ExpLTestUtils.assertExactly(2, pow2(1));
+        Float64ExpLTestUtils.assertExactly(16, pow2(4));
+        Float64ExpLTestUtils.assertExactly(new Float32ExpL(0.125), pow2(-3));
+    }
+
+    @Test
+    public void whenPow2ThenValueIsApproximate() {
+        double[] values = new double[]{1.58496250072, 2.32192809489, -1.73696559417, 0.5, -0.5, 1e-12, -1e-12, 100.25, -1000.75};
+        for (double value : values) {
+            Float64ExpLTestUtils.assertApproximately(Math.pow(2, value), pow2(value), Float64ExpLTestUtils.FULL_ACCURACY);
+        }
+    }
+
+    @Test
+    public void whenPowThenValueIsApproximate() {
+        double[] bases = new double[]{1.001, 1.15, 3, 0.5, 12.345678};
+        double[] exponents = new double[]{2.5, 7, 64, 100, -3.25, 0.5};
+        for (double base : bases) {
+            for (double exponent : exponents) {
+                Float64ExpLTestUtils.assertApproximately(Math.pow(base, exponent), pow(base, exponent), Float64ExpLTestUtils.POW_ACCURACY);
+            }
+        }
+    }
+
+    @Test
+    public void whenPowMatchesHelpersThenValueIsApproximate() {
+        double[] bases = new double[]{1.001, 2.5, 1e20, 1e-20};
+        for (double base : bases) {
+            for (int exponent = 1; exponent < 300; exponent += 7) {
+                long expected = Float32ExpLHelpers.pow(getDoubleParts(base), getLongParts(exponent));
+                Float64ExpLTestUtils.assertApproximately(new Float32ExpL(expected, true),
+                        pow(base, exponent),
+                        Float64ExpLTestUtils.POW_ACCURACY);
+            }
+        }
+    }
+
+    @Test
+    public void whenNegativeBaseWithOddExponentThenNegative() {
+        Float64ExpLTestUtils.assertApproximately(-27, pow(-3, 3), Float64ExpLTestUtils.POW_ACCURACY);
+        Float64ExpLTestUtils.assertApproximately(81, pow(-3, 4), Float64ExpLTestUtils.POW_ACCURACY);
+    }
+
+    @Test
+    public void whenNegativeBaseWithFractionalExponentThenThrows() {
+        exception.expect(IllegalArgumentException.class);
+        pow(-3, 0.5);
+    }
+
+    @Test
+    public void whenLogOfNegativeThenThrows() {
+        exception.expect(IllegalArgumentException.class);
+        log2(-3);
+    }
+
+    @Test
+    public void whenPow2OverflowsThenThrows() {
+        exception.expect(ArithmeticException.class);
+        pow(1e300, 1e20);
+    }
+
+    private Float32ExpL log2(double value) {
+        mDecimal.set(new Float32ExpL(Float32ExpLFixedPointHelpers.log2(getDoubleParts(value)), true));
+        return mDecimal;
+    }
+
+    private Float32ExpL pow2(double value) {
+        mDecimal.set(new Float32ExpL(Float32ExpLFixedPointHelpers.pow2(getDoubleParts(value)), true));
+        return mDecimal;
+    }
+
+    private Float32ExpL pow(double value, double exponent) {
+        mDecimal.set(new Float32ExpL(Float32ExpLFixedPointHelpers.pow(getDoubleParts(value), getDoubleParts(exponent)), true));
+        return mDecimal;
+    }
+}
@@ -0,0 +1,160 @@
+package com.tbohne.util.math;
+
+import com.tbohne.util.Assert;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class Float32ExpLShortestDecimalTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    private static final long[] EDGE_PARTS = new long[]{
+            Float32ExpLHelpers.ZERO_PATTERN,
+            ImmutableFloat32ExpL.ONE.getParts(),
+            ImmutableFloat32ExpL.NEGATIVE_ONE.getParts(),
+            ImmutableFloat32ExpL.PI.getParts(),
+            ImmutableFloat32ExpL.MAX_POSITIVE.getParts(),
+            ImmutableFloat32ExpL.MIN_POSITIVE.getParts(),
+            ImmutableFloat32ExpL.MAX_NEGATIVE.getParts(),
+            ImmutableFloat32ExpL.MIN_NEGATIVE.getParts(),
+    };
+
+    @Test
+    public void whenEdgeValuesFormattedThenRoundTrip() {
+        for (long parts : EDGE_PARTS) {
+            assertRoundTrips(parts);
+        }
+    }
+
+    @Test
+    public void whenRandomValuesFormattedThenRoundTrip() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 200000; i++) {
+            int exponent = i % 2 == 0 ? random.nextInt() : random.nextInt(4000) - 2000;
+            assertRoundTrips(Float32ExpLHelpers.getNormalizedParts(random.nextInt(), exponent));
+        }
+    }
+
+    @Test
+    public void whenPowerOfTwoBoundaryThenRoundTrips() {
+        for (int exponent = -3000; exponent < 3000; exponent++) {
+            assertRoundTrips(Float32ExpLHelpers.getNormalizedParts(1 << 30, exponent));
+            assertRoundTrips(Float32ExpLHelpers.getNormalizedParts((1 << 30) + 1, exponent));
+            assertRoundTrips(Float32ExpLHelpers.getNormalizedParts(Integer.MAX_VALUE, exponent));
+            assertRoundTrips(Float32ExpLHelpers.getNormalizedParts(Integer.MIN_VALUE, exponent));
+            assertRoundTrips(Float32ExpLHelpers.getNormalizedParts(-(1 << 30) - 1, exponent));
+        }
+    }
+
+    @Test
+    public void whenShortDecimalParsedThenFormatsSameDigits() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 100000; i++) {
+            long digits = random.nextInt(999999) + 1;
+            if (digits % 10 == 0) {
+                continue;
+            }
+            int exponent = i % 2 == 0 ? random.nextInt(1000) - 500 : random.nextInt(1200000000) - 600000000;
+            String text = (i % 3 == 0 ? "-" : "") + digits + "E" + exponent;
+            String formatted = Float32ExpLShortestDecimal.toString(Float32ExpLShortestDecimal.parse(text));
+            assertEquals(text + " formatted as " + formatted, Long.toString(digits), significantDigits(formatted));
+        }
+    }
+
+    @Test
+    public void whenFormattedThenPlainOrScientific() {
+        assertFormats("0", "0");
+        assertFormats("1", "1");
+        assertFormats("-1", "-1");
+        assertFormats("0.1", "0.1");
+        assertFormats("0.001", "1e-3");
+        assertFormats("1E-4", "0.0001");
+        assertFormats("123456", "123456");
+        assertFormats("123456000000", "1.23456E11");
+        assertFormats("1.23456E12", "1.23456e12");
+        assertFormats("3.14159", "3.14159");
+        assertFormats("-2.5E300", "-25E299");
+        assertFormats("7.5E-400000000", "7.5E-400000000");
+    }
+
+    @Test
+    public void whenParsedThenCorrectlyRounded() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 20000; i++) {
+            long digits = (random.nextLong() & 0x000FFFFFFFFFFFFFL) | 1;
+            int exponent = random.nextInt(600) - 300;
+            String text = digits + "E" + exponent;
+            Assert.assertEqualsHex(text, nearestParts(new BigDecimal(text)), Float32ExpLShortestDecimal.parse(text));
+        }
+    }
+
+    @Test
+    public void whenNoDigitsThenThrowsNumberFormatException() {
+        exception.expect(NumberFormatException.class);
+        Float32ExpLShortestDecimal.parse("-.E5");
+    }
+
+    @Test
+    public void whenTrailingGarbageThenThrowsNumberFormatException() {
+        exception.expect(NumberFormatException.class);
+        Float32ExpLShortestDecimal.parse("1.5x");
+    }
+
+    @Test
+    public void whenExponentOutOfRangeThenThrowsArithmeticException() {
+        exception.expect(ArithmeticException.class);
+        Float32ExpLShortestDecimal.parse("1E700000000");
+    }
+
+    private static void assertRoundTrips(long parts) {
+        String text = Float32ExpLShortestDecimal.toString(parts);
+        Assert.assertEqualsHex(text, parts, Float32ExpLShortestDecimal.parse(text));
+    }
+
+    private static void assertFormats(String expected, String input) {
+        assertEquals(expected, Float32ExpLShortestDecimal.toString(Float32ExpLShortestDecimal.parse(input)));
+    }
+
+    private static String significantDigits(String formatted) {
+        int e = formatted.indexOf('E');
+        String mantissa = e < 0 ? formatted : formatted.substring(0, e);
+        String digits = mantissa.replace("-", "").replace(".", "").replaceAll("^0+", "");
+        return digits.replaceAll("0+$", "");
+    }
+
+    // The correctly rounded parts of a positive value, computed exactly
+    private static long nearestParts(BigDecimal value) {
+        BigInteger unscaled = value.unscaledValue();
+        BigInteger numerator = value.scale() <= 0 ? unscaled.multiply(BigInteger.TEN.pow(-value.scale())) : unscaled;
+        BigInteger denominator = value.scale() <= 0 ? BigInteger.ONE : BigInteger.TEN.pow(value.scale());
+        int exponent = numerator.bitLength() - denominator.bitLength() - 31;
+        BigDecimal scaled;
+        while (true) {
+            BigDecimal shifted = exponent >= 0
+                    ? new BigDecimal(numerator).divide(new BigDecimal(denominator.shiftLeft(exponent)), 40, RoundingMode.HALF_EVEN)
+                    : new BigDecimal(numerator.shiftLeft(-exponent)).divide(new BigDecimal(denominator), 40, RoundingMode.HALF_EVEN);
+            if (shifted.compareTo(BigDecimal.valueOf(1L << 30)) < 0) {
+                --exponent;
+            } else if (shifted.compareTo(BigDecimal.valueOf(1L << 31)) >= 0) {
+                ++exponent;
+            } else {
+                scaled = shifted;
+                break;
+            }
+        }
+        long magnitude = scaled.setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+        return Float32ExpLHelpers.getNormalizedParts(magnitude, exponent);
+    }
+}
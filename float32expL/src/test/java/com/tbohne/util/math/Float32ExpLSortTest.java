@@ -0,0 +1,145 @@
+package com.tbohne.util.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class Float32ExpLSortTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    private static long[] createRandomParts(int count) {
+        Random random = new Random(1234);
+        long[] parts = new long[count];
+        for (int i = 0; i < count; i++) {
+            // few distinct exponents and some repeats, like scores
+            double magnitude = Math.pow(2, random.nextInt(40) - 20) * (1 + random.nextInt(1000));
+            double value = random.nextInt(16) == 0 ? 0 : random.nextBoolean() ? magnitude : -magnitude;
+            parts[i] = Float32ExpLHelpers.getDoubleParts(value);
+        }
+        return parts;
+    }
+
+    private static void assertAscending(long[] parts, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            assertTrue("index " + i, Float32ExpLHelpers.doubleValue(parts[i - 1]) <= Float32ExpLHelpers.doubleValue(parts[i]));
+        }
+    }
+
+    private static long[] sortedCopy(long[] parts) {
+        long[] keys = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            keys[i] = Float32ExpLHelpers.toSortableKey(parts[i]);
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < parts.length; i++) {
+            keys[i] = Float32ExpLHelpers.fromSortableKey(keys[i]);
+        }
+        return keys;
+    }
+
+    @Test
+    public void whenSortedThenAscending() {
+        long[] parts = createRandomParts(10000);
+        long[] expected = sortedCopy(parts);
+
+        Float32ExpLSort.sort(parts);
+
+        assertAscending(parts, 0, parts.length);
+        assertArrayEquals(expected, parts);
+    }
+
+    @Test
+    public void whenSortedSmallThenAscending() {
+        long[] parts = createRandomParts(20);
+        long[] expected = sortedCopy(parts);
+
+        Float32ExpLSort.sort(parts);
+
+        assertArrayEquals(expected, parts);
+    }
+
+    @Test
+    public void whenSortedRangeThenOnlyRangeChanges() {
+        long[] parts = createRandomParts(1000);
+        long[] original = parts.clone();
+
+        Float32ExpLSort.sort(parts, 100, 900);
+
+        assertAscending(parts, 100, 900);
+        assertArrayEquals(Arrays.copyOfRange(original, 0, 100), Arrays.copyOfRange(parts, 0, 100));
+        assertArrayEquals(Arrays.copyOfRange(original, 900, 1000), Arrays.copyOfRange(parts, 900, 1000));
+    }
+
+    @Test
+    public void whenParallelSortedThenMatchesSort() {
+        long[] parts = createRandomParts(300000);
+        long[] expected = parts.clone();
+        Float32ExpLSort.sort(expected);
+
+        Float32ExpLSort.parallelSort(parts);
+
+        assertArrayEquals(expected, parts);
+    }
+
+    @Test
+    public void whenParallelSortedDescendingThenMatchesSort() {
+        // each merged range is entirely above the one it's merged with
+        long[] expected = createRandomParts(300000);
+        Float32ExpLSort.sort(expected);
+        long[] parts = new long[expected.length];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = expected[parts.length - 1 - i];
+        }
+
+        Float32ExpLSort.parallelSort(parts);
+
+        assertArrayEquals(expected, parts);
+    }
+
+    @Test
+    public void whenTopIndicesThenLargestFirst() {
+        long[] parts = createRandomParts(10000);
+        long[] sorted = sortedCopy(parts);
+
+        int[] top = Float32ExpLSort.topIndices(parts, 50);
+
+        assertEquals(50, top.length);
+        for (int i = 0; i < top.length; i++) {
+            assertEquals(sorted[sorted.length - 1 - i], parts[top[i]]);
+        }
+    }
+
+    @Test
+    public void whenTopIndicesOfAllThenDescending() {
+        long[] parts = createRandomParts(500);
+        long[] sorted = sortedCopy(parts);
+
+        int[] top = Float32ExpLSort.topIndices(parts, parts.length);
+
+        for (int i = 0; i < top.length; i++) {
+            assertEquals(sorted[sorted.length - 1 - i], parts[top[i]]);
+        }
+    }
+
+    @Test
+    public void whenTopIndicesOfNoneThenEmpty() {
+        assertEquals(0, Float32ExpLSort.topIndices(createRandomParts(10), 0).length);
+    }
+
+    @Test
+    public void whenTopIndicesOfTooManyThenThrows() {
+        exception.expect(IllegalArgumentException.class);
+        Float32ExpLSort.topIndices(createRandomParts(10), 11);
+    }
+}
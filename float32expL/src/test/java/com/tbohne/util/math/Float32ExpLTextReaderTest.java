@@ -0,0 +1,229 @@
+package com.tbohne.util.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class Float32ExpLTextReaderTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    private static final String[] VALUES = new String[]{
+            "0", "1", "-1", "123.456", "-0.001", "1e10", "1.5E-20", "3e+2", "1b10", "-5B-3",
+            "12345678901234567890", "0.12345678901234567890", "99999999999.9999", "7e300", "1e-300",
+    };
+
+    private static long[] castAll(String[] values) {
+        long[] parts = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            parts[i] = Float32ExpLHelpers.cast(values[i].toCharArray(), 0, values[i].length());
+        }
+        return parts;
+    }
+
+    private static long[] readAll(Float32ExpLTextReader reader) throws IOException {
+        final List<Long> values = new ArrayList<>();
+        reader.forEachRemaining(values::add);
+        long[] parts = new long[values.size()];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = values.get(i);
+        }
+        return parts;
+    }
+
+    @Test
+    public void whenReadingDelimitedThenMatchesCast() throws IOException {
+        String text = String.join(",", VALUES);
+
+        long[] actual = readAll(new Float32ExpLTextReader(new StringReader(text)));
+
+        assertArrayEquals(castAll(VALUES), actual);
+    }
+
+    @Test
+    public void whenLinesAndWhitespaceThenSkipped() throws IOException {
+        String text = " 1, 2\r\n3 ,4\n\n5\t";
+
+        long[] actual = readAll(Float32ExpLTextReader.of(CharBuffer.wrap(text)));
+
+        assertArrayEquals(castAll(new String[]{"1", "2", "3", "4", "5"}), actual);
+    }
+
+    @Test
+    public void whenArrayBufferThenPositionFollowsValues() throws IOException {
+        CharBuffer chars = CharBuffer.wrap("1,22, 333 ".toCharArray());
+        Float32ExpLTextReader reader = Float32ExpLTextReader.of(chars);
+
+        assertEquals(0, chars.position());
+        assertEquals(Float32ExpLHelpers.getLongParts(1), reader.nextParts());
+        assertEquals(1, chars.position());
+        assertEquals(Float32ExpLHelpers.getLongParts(22), reader.nextParts());
+        assertEquals(4, chars.position());
+        assertEquals(Float32ExpLHelpers.getLongParts(333), reader.nextParts());
+        assertEquals(9, chars.position());
+        assertFalse(reader.hasNext());
+        assertEquals(10, chars.position());
+    }
+
+    @Test
+    public void whenSlicedArrayBufferThenParsesSlice() throws IOException {
+        String text = String.join(",", VALUES);
+        char[] array = ("99," + text + ",99").toCharArray();
+        CharBuffer chars = CharBuffer.wrap(array, 3, text.length()).slice();
+
+        long[] actual = readAll(Float32ExpLTextReader.of(chars));
+
+        assertArrayEquals(castAll(VALUES), actual);
+        assertEquals(chars.limit(), chars.position());
+    }
+
+    @Test
+    public void whenCustomDelimiterThenSplits() throws IOException {
+        Float32ExpLTextReader reader = new Float32ExpLTextReader(new StringReader("1;2.5;-3"), ';');
+        long[] out = new long[5];
+
+        assertEquals(3, reader.read(out, 1, 4));
+        assertEquals(-1, reader.read(out, 0, 5));
+        assertArrayEquals(castAll(new String[]{"1", "2.5", "-3"}), new long[]{out[1], out[2], out[3]});
+    }
+
+    @Test
+    public void whenAsciiBytesThenMatchesCast() throws IOException {
+        String text = String.join("\n", VALUES);
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+
+        long[] actual = readAll(Float32ExpLTextReader.of(bytes));
+
+        assertArrayEquals(castAll(VALUES), actual);
+        assertFalse(bytes.hasRemaining());
+    }
+
+    @Test
+    public void whenValuesSpanBufferRefillsThenMatchesCast() throws IOException {
+        Random random = new Random(1234);
+        String[] values = new String[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Double.toString((random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20));
+        }
+        String text = String.join(",", values);
+
+        Float32ExpLTextReader reader = new Float32ExpLTextReader(new StringReader(text));
+        long[] actual = new long[values.length];
+        int count = 0;
+        while (reader.hasNext()) {
+            actual[count++] = reader.nextParts();
+        }
+
+        assertEquals(values.length, count);
+        assertEquals(values.length, reader.getValueCount());
+        assertArrayEquals(castAll(values), actual);
+    }
+
+    @Test
+    public void whenGarbageThenThrows() throws IOException {
+        Float32ExpLTextReader reader = new Float32ExpLTextReader(new StringReader("1,2x,3"));
+        reader.nextParts();
+
+        exception.expect(NumberFormatException.class);
+        reader.nextParts();
+    }
+
+    @Test
+    public void whenExponentOverflowsThenThrows() throws IOException {
+        Float32ExpLTextReader reader = new Float32ExpLTextReader(new StringReader("1e99999999999"));
+
+        exception.expect(NumberFormatException.class);
+        reader.nextParts();
+    }
+
+    @Test
+    public void whenValueLongerThanBufferThenMatchesCast() throws IOException {
+        StringBuilder value = new StringBuilder("-1.");
+        for (int i = 0; i < 20000; i++) {
+            value.append((char) ('0' + i % 10));
+        }
+        value.append("e-5");
+        String text = "2," + value + ",3";
+
+        long[] actual = readAll(new Float32ExpLTextReader(new StringReader(text)));
+
+        assertArrayEquals(castAll(new String[]{"2", value.toString(), "3"}), actual);
+    }
+
+    @Test
+    public void whenHexStringsThenMatchesExactly() throws IOException {
+        long[] expected = castAll(VALUES);
+        String text = Float32ExpLHelpers.toHexStrings(expected, 0, expected.length, ',', new StringBuilder()).toString();
+
+        long[] actual = readAll(Float32ExpLTextReader.of(CharBuffer.wrap(text)));
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void whenMixedHexAndDecimalThenMatchesCast() throws IOException {
+        String hex = Float32ExpLHelpers.toHexString(Float32ExpLHelpers.getLongParts(-7), new StringBuilder()).toString();
+        String[] values = new String[]{"1.5", hex, "2e3"};
+
+        long[] actual = readAll(new Float32ExpLTextReader(new StringReader(String.join("\n", values))));
+
+        assertArrayEquals(castAll(values), actual);
+    }
+
+    @Test
+    public void whenHexHasTrailingGarbageThenThrows() throws IOException {
+        Float32ExpLTextReader reader = Float32ExpLTextReader.of(CharBuffer.wrap("0x40000000p1x"));
+
+        exception.expect(NumberFormatException.class);
+        reader.nextParts();
+    }
+
+    @Test
+    public void whenInvalidValueThenMessageHasItsPositionInInput() throws IOException {
+        Float32ExpLTextReader reader = Float32ExpLTextReader.of(CharBuffer.wrap("99,1,-,2".toCharArray(), 3, 5).slice());
+        reader.nextParts();
+
+        exception.expect(NumberFormatException.class);
+        exception.expectMessage("Value has no digits at index 1 of value 1, which starts at char 2");
+        reader.nextParts();
+    }
+
+    @Test
+    public void whenInvalidValueAfterRefillsThenMessageHasItsPositionInInput() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            text.append("12345,");
+        }
+        text.append("12x45");
+        Float32ExpLTextReader reader = new Float32ExpLTextReader(new StringReader(text.toString()));
+
+        exception.expect(NumberFormatException.class);
+        exception.expectMessage("Unexpected 'x' at index 2 of value 10000, which starts at char 60000");
+        readAll(reader);
+    }
+
+    @Test
+    public void whenValueHasNoDigitsThenThrows() throws IOException {
+        Float32ExpLTextReader reader = Float32ExpLTextReader.of(CharBuffer.wrap("1,-.,3"));
+        reader.nextParts();
+
+        exception.expect(NumberFormatException.class);
+        reader.nextParts();
+    }
+}
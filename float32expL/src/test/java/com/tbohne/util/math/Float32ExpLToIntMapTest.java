@@ -0,0 +1,87 @@
+package com.tbohne.util.math;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class Float32ExpLToIntMapTest {
+    @Test
+    public void whenEqualValuesThenSameKey() {
+        Float32ExpLToIntMap map = new Float32ExpLToIntMap();
+
+        map.put(new Float32ExpL(2.5), 1);
+        map.put(2.5, 2);
+
+        assertEquals(1, map.size());
+        assertEquals(2, map.getOrDefault(new ImmutableFloat32ExpL(2.5), -1));
+    }
+
+    @Test
+    public void whenZeroKeyThenStored() {
+        Float32ExpLToIntMap map = new Float32ExpLToIntMap();
+
+        map.put(ImmutableFloat32ExpL.ZERO, 3);
+
+        assertTrue(map.containsKey(0));
+        assertEquals(3, map.getOrDefault(0, -1));
+    }
+
+    @Test
+    public void whenAddToThenCounts() {
+        Float32ExpLToIntMap map = new Float32ExpLToIntMap();
+
+        map.addTo(1e100, 1);
+        map.addTo(1e100, 1);
+        int result = map.addTo(1e100, 1);
+
+        assertEquals(3, result);
+        assertEquals(3, map.getOrDefault(1e100, 0));
+    }
+
+    @Test
+    public void whenManyOperationsThenMatchesHashMap() {
+        Random random = new Random(1234);
+        Float32ExpLToIntMap map = new Float32ExpLToIntMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            // multiples of a power of two share their low parts bits
+            long keyParts = Float32ExpLHelpers.getLongParts((random.nextInt(2000) - 1000) * 1024L);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(keyParts) != null, map.removeParts(keyParts));
+            } else {
+                int value = random.nextInt();
+                expected.put(keyParts, value);
+                map.putParts(keyParts, value);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), map.getOrDefaultParts(entry.getKey(), 0));
+        }
+        final int[] count = new int[1];
+        map.forEach((keyParts, value) -> {
+            assertEquals((int) expected.get(keyParts), value);
+            ++count[0];
+        });
+        assertEquals(expected.size(), count[0]);
+    }
+
+    @Test
+    public void whenRemovedThenMissing() {
+        Float32ExpLToIntMap map = new Float32ExpLToIntMap();
+        map.put(ImmutableFloat32ExpL.ONE, 1);
+
+        assertTrue(map.remove(1));
+        assertFalse(map.remove(1));
+        assertFalse(map.containsKey(ImmutableFloat32ExpL.ONE));
+    }
+}
@@ -130,6 +130,15 @@ public class Float64ExpLBigDecimalsTest {
 
     }
 
+    @Test
+    public void whenPowerOfTenAroundCacheEdgeThenApproximate() {
+        for (int exponent = 348; exponent <= 353; exponent++) {
+            Float64ExpLTestUtils.assertApproximately(BigDecimal.TEN.scaleByPowerOfTen(exponent - 1).toBigInteger(), Float32ExpL.getPowerOf10(exponent), Float64ExpLTestUtils.POW10_ACCURACY);
+            mDecimal.set(Float32ExpL.getPowerOf10(exponent)).multiply(Float32ExpL.getPowerOf10(-exponent));
+            Float64ExpLTestUtils.assertApproximately(1, mDecimal, Float64ExpLTestUtils.POW10_ACCURACY);
+        }
+    }
+
     @Test
     public void whenDifficultPowerOfTenThenApproximate() {
         Float64ExpLTestUtils.assertApproximately(BigDecimal.TEN.scaleByPowerOfTen(0x7FFFE).toBigInteger(), Float32ExpL.getPowerOf10(524287), Float64ExpLTestUtils.POW10_ACCURACY);
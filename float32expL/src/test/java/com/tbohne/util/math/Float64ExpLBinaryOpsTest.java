@@ -6,6 +6,13 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.junit.runners.BlockJUnit4ClassRunner;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 @RunWith(BlockJUnit4ClassRunner.class)
 public class Float64ExpLBinaryOpsTest {
     @Rule
@@ -26,4 +33,172 @@ public class Float64ExpLBinaryOpsTest {
         Float64ExpLTestUtils.assertApproximately( -1.0, (int)((-7.0) % 3.0), 30);
         Float64ExpLTestUtils.assertApproximately( 1.0, (int)(7.0 % -3.0), 30);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenSortableKeysThenOrderMatchesDoubles() {
+        Random random = new Random(1234);
+        double[] values = new double[2000];
+        for (int i = 0; i < values.length; i++) {
+            double magnitude = Math.pow(2, random.nextInt(400) - 200) * random.nextDouble();
+            values[i] = random.nextInt(8) == 0 ? 0 : random.nextBoolean() ? magnitude : -magnitude;
+        }
+        for (int i = 0; i < values.length - 1; i++) {
+            long parts = Float32ExpLHelpers.getDoubleParts(values[i]);
+            long otherParts = Float32ExpLHelpers.getDoubleParts(values[i + 1]);
+            int expected = Double.compare(Float32ExpLHelpers.doubleValue(parts), Float32ExpLHelpers.doubleValue(otherParts));
+            int actual = Long.compare(Float32ExpLHelpers.toSortableKey(parts), Float32ExpLHelpers.toSortableKey(otherParts));
+            assertEquals(values[i] + " vs " + values[i + 1], Integer.signum(expected), Integer.signum(actual));
+        }
+    }
+
+    @Test
+    public void whenSortableKeyThenRoundTrips() {
+        long[] parts = new long[]{
+                Float32ExpLHelpers.ZERO_PATTERN,
+                ImmutableFloat32ExpL.ONE.getParts(),
+                Float32ExpLHelpers.getLongParts(-1),
+                Float32ExpLHelpers.getLongParts(Long.MIN_VALUE),
+                Float32ExpLHelpers.getLongParts(Long.MAX_VALUE),
+                Float32ExpLHelpers.assembleParts(Integer.MAX_VALUE, Integer.MAX_VALUE),
+                Float32ExpLHelpers.assembleParts(0x40000000, Integer.MIN_VALUE + 1),
+                Float32ExpLHelpers.assembleParts(Integer.MIN_VALUE, Integer.MAX_VALUE),
+                Float32ExpLHelpers.assembleParts(-0x40000001, Integer.MIN_VALUE),
+        };
+        for (long part : parts) {
+            assertEquals(part, Float32ExpLHelpers.fromSortableKey(Float32ExpLHelpers.toSortableKey(part)));
+        }
+    }
+
+    @Test
+    public void whenSortableKeyOfZeroThenBetweenNegativeAndPositive() {
+        long zero = Float32ExpLHelpers.toSortableKey(Float32ExpLHelpers.ZERO_PATTERN);
+        long tiny = Float32ExpLHelpers.toSortableKey(Float32ExpLHelpers.assembleParts(0x40000000, Integer.MIN_VALUE + 1));
+        long negativeTiny = Float32ExpLHelpers.toSortableKey(Float32ExpLHelpers.assembleParts(-0x40000001, Integer.MIN_VALUE + 1));
+
+        assertEquals(0, zero);
+        assertEquals(-1, Long.signum(negativeTiny));
+        assertEquals(1, Long.signum(tiny));
+    }
+
+    @Test
+    public void whenInvalidSortableKeyThenThrows() {
+        exception.expect(IllegalArgumentException.class);
+        Float32ExpLHelpers.fromSortableKey(1);
+    }
+
+    @Test
+    public void whenFmaThenExactResultRoundedDown() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 2000; i++) {
+            long value = randomParts(random);
+            long mul = randomParts(random);
+            long add = randomParts(random);
+            long result = Float32ExpLHelpers.fma(value, mul, add);
+            BigDecimal expected = exact(value).multiply(exact(mul)).add(exact(add));
+            assertRoundedDown(expected, result);
+        }
+    }
+
+    @Test
+    public void whenFmaWithZeroThenMatchesMultiplyOrAdd() {
+        long value = Float32ExpLHelpers.getDoubleParts(-3.75);
+        long other = Float32ExpLHelpers.getDoubleParts(1234.5);
+        long zero = Float32ExpLHelpers.ZERO_PATTERN;
+        assertEquals(Float32ExpLHelpers.multiply(value, other), Float32ExpLHelpers.fma(value, other, zero));
+        assertEquals(other, Float32ExpLHelpers.fma(zero, value, other));
+        assertEquals(other, Float32ExpLHelpers.fma(value, zero, other));
+        assertEquals(zero, Float32ExpLHelpers.fma(value, other, Float32ExpLHelpers.negate(Float32ExpLHelpers.multiply(value, other))));
+    }
+
+    @Test
+    public void whenFmaThenKeepsBitsMultiplyThenAddDrops() {
+        // (1 + 2^-20)^2 - 1 is 2^-19 + 2^-40, but multiply rounds the square to 1 + 2^-19
+        long value = Float32ExpLHelpers.assembleParts(0x40000400, -30);
+        long negativeOne = Float32ExpLHelpers.getLongParts(-1);
+        assertEquals(Float32ExpLHelpers.assembleParts(0x40000200, -49),
+                Float32ExpLHelpers.fma(value, value, negativeOne));
+        assertEquals(Float32ExpLHelpers.assembleParts(0x40000000, -49),
+                Float32ExpLHelpers.add(Float32ExpLHelpers.multiply(value, value), negativeOne));
+    }
+
+    @Test
+    public void whenSumOfProductsThenWithinOneUlpOfExact() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 200; i++) {
+            int length = random.nextInt(50);
+            long[] a = new long[length];
+            long[] b = new long[length];
+            BigDecimal expected = BigDecimal.ZERO;
+            for (int j = 0; j < length; j++) {
+                a[j] = randomParts(random);
+                b[j] = randomParts(random);
+                expected = expected.add(exact(a[j]).multiply(exact(b[j])));
+            }
+            long result = Float32ExpLHelpers.dot(a, b);
+            BigDecimal error = exact(result).subtract(expected).abs();
+            assertTrue(expected + " vs " + exact(result), error.compareTo(ulp(result)) <= 0);
+        }
+    }
+
+    @Test
+    public void whenSumOfProductsThenSmallProductsAreNotDropped() {
+        // each product is 2^-40, far too small to change 1 on its own
+        long[] a = new long[1025];
+        long[] b = new long[1025];
+        a[0] = ImmutableFloat32ExpL.ONE.getParts();
+        b[0] = ImmutableFloat32ExpL.ONE.getParts();
+        for (int i = 1; i < a.length; i++) {
+            a[i] = Float32ExpLHelpers.assembleParts(0x40000000, -50);
+            b[i] = Float32ExpLHelpers.assembleParts(0x40000000, -50);
+        }
+        long expected = Float32ExpLHelpers.assembleParts(0x40000001, -30);
+        assertEquals(expected, Float32ExpLHelpers.dot(a, b));
+        assertEquals(expected, Float32ExpLHelpers.sumOfProducts(a, b, 0, a.length));
+        assertEquals(ImmutableFloat32ExpL.ONE.getParts(), Float32ExpLHelpers.sumOfProducts(a, b, 0, 1));
+        assertEquals(Float32ExpLHelpers.ZERO_PATTERN, Float32ExpLHelpers.sumOfProducts(a, b, 5, 5));
+    }
+
+    @Test
+    public void whenDotLengthsDifferThenThrows() {
+        exception.expect(IllegalArgumentException.class);
+        Float32ExpLHelpers.dot(new long[3], new long[4]);
+    }
+
+    private static long randomParts(Random random) {
+        if (random.nextInt(10) == 0) {
+            return Float32ExpLHelpers.ZERO_PATTERN;
+        }
+        return Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt(160) - 80);
+    }
+
+    private static BigDecimal exact(long parts) {
+        BigDecimal significand = BigDecimal.valueOf(parts >> Float32ExpLHelpers.INT_MAX_BITS);
+        int exponent = (int) parts;
+        if (parts == Float32ExpLHelpers.ZERO_PATTERN) {
+            return BigDecimal.ZERO;
+        } else if (exponent >= 0) {
+            return significand.multiply(new BigDecimal(BigInteger.ONE.shiftLeft(exponent)));
+        } else {
+            return significand.divide(new BigDecimal(BigInteger.ONE.shiftLeft(-exponent)));
+        }
+    }
+
+    private static BigDecimal ulp(long parts) {
+        if (parts == Float32ExpLHelpers.ZERO_PATTERN) {
+            return BigDecimal.ZERO;
+        }
+        return exact(Float32ExpLHelpers.assembleParts(1, (int) parts));
+    }
+
+    // result <= expected < result + one unit in its last place
+    private static void assertRoundedDown(BigDecimal expected, long result) {
+        BigDecimal actual = exact(result);
+        if (result == Float32ExpLHelpers.ZERO_PATTERN) {
+            assertEquals(expected.toString(), 0, expected.signum());
+            return;
+        }
+        BigDecimal next = actual.add(ulp(result));
+        assertTrue(expected + " < " + actual, actual.compareTo(expected) <= 0);
+        assertTrue(expected + " >= " + next, expected.compareTo(next) < 0);
+    }
+}
@@ -6,6 +6,12 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.junit.runners.BlockJUnit4ClassRunner;
 
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 @RunWith(BlockJUnit4ClassRunner.class)
 public class Float64ExpLLogTest {
     @Rule
@@ -128,4 +134,166 @@ public class Float64ExpLLogTest {
     public void whenPow2Pi100ThenValueIsApproximate() {
         Float64ExpLTestUtils.assertApproximately(3.72702E+94, mDecimal.set(314.1592654).pow2(), Float64ExpLTestUtils.POW_ACCURACY);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenSqrtOfSquareThenExact() {
+        Float64ExpLTestUtils.assertExactly(12, (Float32ExpL) mDecimal.set(144).sqrt());
+        Float64ExpLTestUtils.assertExactly(new Float32ExpL(0.5), mDecimal.set(0.25).sqrt());
+        Float64ExpLTestUtils.assertExactly(new Float32ExpL(0.125), mDecimal.set(1.0 / 64).sqrt());
+        Float64ExpLTestUtils.assertExactly(46340, (Float32ExpL) mDecimal.set(46340L * 46340L).sqrt());
+        Float64ExpLTestUtils.assertExactly(0, (Float32ExpL) mDecimal.set(0).sqrt());
+        Float64ExpLTestUtils.assertExactly(new Float32ExpL(0x40000000, 1000000), mDecimal.set(new Float32ExpL(0x40000000, 2000030)).sqrt());
+    }
+
+    @Test
+    public void whenSqrtThenExactRootRoundedDown() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 2000; i++) {
+            long value = Float32ExpLHelpers.getNormalizedParts(random.nextInt() & Integer.MAX_VALUE, random.nextInt(2000) - 1000);
+            long root = Float32ExpLHelpers.sqrt(value);
+            // root^2 <= value < (root + ulp)^2, scaled to the exponent of root^2
+            int shift = (int) value - 2 * (int) root;
+            BigInteger scaled = BigInteger.valueOf(value >> 32).shiftLeft(shift);
+            BigInteger rootSignificand = BigInteger.valueOf(root >> 32);
+            assertTrue(rootSignificand.pow(2).compareTo(scaled) <= 0);
+            assertTrue(rootSignificand.add(BigInteger.ONE).pow(2).compareTo(scaled) > 0);
+        }
+    }
+
+    @Test
+    public void whenSqrtNonSquareThenValueIsApproximate() {
+        Float64ExpLTestUtils.assertApproximately(Math.sqrt(2), mDecimal.set(2).sqrt(), Float64ExpLTestUtils.FULL_ACCURACY);
+        Float64ExpLTestUtils.assertApproximately(Math.sqrt(0.1), mDecimal.set(0.1).sqrt(), Float64ExpLTestUtils.FULL_ACCURACY);
+        Float64ExpLTestUtils.assertApproximately(Math.sqrt(12345.678), mDecimal.set(12345.678).sqrt(), Float64ExpLTestUtils.FULL_ACCURACY);
+    }
+
+    @Test
+    public void whenSqrtOfNegativeThenThrows() {
+        exception.expect(IllegalArgumentException.class);
+        mDecimal.set(-4).sqrt();
+    }
+
+    @Test
+    public void whenCbrtThenValueIsApproximate() {
+        Float64ExpLTestUtils.assertExactly(3, (Float32ExpL) mDecimal.set(27).cbrt());
+        Float64ExpLTestUtils.assertExactly(-2, (Float32ExpL) mDecimal.set(-8).cbrt());
+        Float64ExpLTestUtils.assertExactly(new Float32ExpL(0.5), mDecimal.set(0.125).cbrt());
+        Float64ExpLTestUtils.assertExactly(new Float32ExpL(0x40000000, 1000000 - 30), mDecimal.set(new Float32ExpL(0x40000000, 3000000 - 30)).cbrt());
+        Float64ExpLTestUtils.assertApproximately(Math.cbrt(2), mDecimal.set(2).cbrt(), Float64ExpLTestUtils.FULL_ACCURACY);
+        Float64ExpLTestUtils.assertApproximately(Math.cbrt(-0.3), mDecimal.set(-0.3).cbrt(), Float64ExpLTestUtils.FULL_ACCURACY);
+    }
+
+    @Test
+    public void whenExpThenValueIsApproximate() {
+        Float64ExpLTestUtils.assertExactly(1, (Float32ExpL) mDecimal.set(0).exp());
+        Float64ExpLTestUtils.assertApproximately(Math.E, mDecimal.set(1).exp(), Float64ExpLTestUtils.FULL_ACCURACY);
+        Float64ExpLTestUtils.assertApproximately(Math.exp(-2.5), mDecimal.set(-2.5).exp(), Float64ExpLTestUtils.FULL_ACCURACY);
+        Float64ExpLTestUtils.assertApproximately(Math.exp(500), mDecimal.set(500).exp(), Float64ExpLTestUtils.FULL_ACCURACY);
+    }
+
+    @Test
+    public void whenExpBeyondDoubleThenLnRoundTrips() {
+        Float64ExpLTestUtils.assertApproximately(1000000, mDecimal.set(1000000).exp().ln(), Float64ExpLTestUtils.POW_ACCURACY);
+        Float64ExpLTestUtils.assertApproximately(-1000000, mDecimal.set(-1000000).exp().ln(), Float64ExpLTestUtils.POW_ACCURACY);
+    }
+
+    @Test
+    public void whenExpOutOfRangeThenThrows() {
+        exception.expect(ArithmeticException.class);
+        mDecimal.set(1e10).exp();
+    }
+
+    @Test
+    public void whenLnThenValueIsApproximate() {
+        Float64ExpLTestUtils.assertExactly(0, (Float32ExpL) mDecimal.set(1).ln());
+        Float64ExpLTestUtils.assertApproximately(1, mDecimal.set(Math.E).ln(), Float64ExpLTestUtils.FULL_ACCURACY);
+        Float64ExpLTestUtils.assertApproximately(Math.log(0.001), mDecimal.set(0.001).ln(), Float64ExpLTestUtils.FULL_ACCURACY);
+        Float64ExpLTestUtils.assertApproximately(1000000 * Math.log(2), mDecimal.set(new Float32ExpL(0x40000000, 1000000 - 30)).ln(), Float64ExpLTestUtils.FULL_ACCURACY);
+    }
+
+    @Test
+    public void whenLog10ThenValueIsApproximate() {
+        Float64ExpLTestUtils.assertExactly(3, (Float32ExpL) mDecimal.set(1000).log10());
+        Float64ExpLTestUtils.assertExactly(9, (Float32ExpL) mDecimal.set(1000000000).log10());
+        Float64ExpLTestUtils.assertApproximately(Math.log10(2), mDecimal.set(2).log10(), Float64ExpLTestUtils.FULL_ACCURACY);
+        Float64ExpLTestUtils.assertApproximately(1000000, mDecimal.set(ImmutableFloat32ExpL.getPowerOf10(1000000)).log10(), Float64ExpLTestUtils.POW10_ACCURACY);
+    }
+
+    @Test
+    public void whenLnOfNonpositiveThenThrows() {
+        exception.expect(IllegalArgumentException.class);
+        mDecimal.set(0).ln();
+    }
+
+    @Test
+    public void whenPowiOfIntegerThenExact() {
+        Float64ExpLTestUtils.assertExactly(1162261467, (Float32ExpL) mDecimal.set(3).pow(19));
+        Float64ExpLTestUtils.assertExactly(-2147483648L, (Float32ExpL) mDecimal.set(-2).pow(31));
+        Float64ExpLTestUtils.assertExactly(1024, (Float32ExpL) mDecimal.set(0.5).pow(-10));
+        Float64ExpLTestUtils.assertExactly(new Float32ExpL(0.0625), mDecimal.set(-4).pow(-2));
+        assertEquals(Float32ExpLHelpers.getLongParts(1), Float32ExpLHelpers.powi(Float32ExpLHelpers.getLongParts(1), Long.MAX_VALUE));
+        assertEquals(Float32ExpLHelpers.getLongParts(1), Float32ExpLHelpers.powi(Float32ExpLHelpers.getLongParts(-1), Long.MIN_VALUE));
+        assertEquals(Float32ExpLHelpers.getLongParts(-1), Float32ExpLHelpers.powi(Float32ExpLHelpers.getLongParts(-1), Long.MAX_VALUE));
+    }
+
+    @Test
+    public void whenPowiThenExactPowerRoundedDown() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 2000; i++) {
+            long value = Float32ExpLHelpers.getNormalizedParts(random.nextInt() & Integer.MAX_VALUE, random.nextInt(64) - 62);
+            long n = random.nextInt(400) - 200;
+            long power = Float32ExpLHelpers.powi(value, n);
+            // value = significand * 2^exponent, so for n >= 0 the exact power is significand^n * 2^(exponent*n),
+            // and for n < 0 it is 2^(-exponent*|n|) / significand^|n|
+            BigInteger significandPower = BigInteger.valueOf(value >> 32).pow((int) Math.abs(n));
+            long exponent = (int) value * n;
+            BigInteger lower = BigInteger.valueOf(power >> 32);
+            BigInteger upper = lower.add(BigInteger.ONE);
+            if (n >= 0) {
+                assertTrue(compareScaled(lower, (int) power, significandPower, exponent) <= 0);
+                assertTrue(compareScaled(upper, (int) power, significandPower, exponent) > 0);
+            } else {
+                assertTrue(compareScaled(lower.multiply(significandPower), (int) power, BigInteger.ONE, exponent) <= 0);
+                assertTrue(compareScaled(upper.multiply(significandPower), (int) power, BigInteger.ONE, exponent) > 0);
+            }
+        }
+    }
+
+    @Test
+    public void whenPowIntegerThenMatchesPowi() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 2000; i++) {
+            long value = Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt(64) - 32);
+            long n = random.nextInt(2000) - 1000;
+            if (n == 2 || value == Float32ExpLHelpers.getLongParts(10)) {
+                continue;
+            }
+            assertEquals(Float32ExpLHelpers.powi(value, n), Float32ExpLHelpers.pow(value, Float32ExpLHelpers.getLongParts(n)));
+        }
+        long value = Float32ExpLHelpers.getDoubleParts(1.001);
+        assertEquals(Float32ExpLHelpers.powi(value, 3), Float32ExpLHelpers.pow(value, Float32ExpLHelpers.getDoubleParts(3.0)));
+        assertEquals(Float32ExpLHelpers.powi(value, 1L << 30), Float32ExpLHelpers.pow(value, Float32ExpLHelpers.getLongParts(1L << 30)));
+    }
+
+    @Test
+    public void whenPowiOutOfRangeThenThrows() {
+        exception.expect(ArithmeticException.class);
+        Float32ExpLHelpers.powi(Float32ExpLHelpers.getLongParts(2), 1L << 40);
+    }
+
+    @Test
+    public void whenPowiOfZeroToNegativeThenThrows() {
+        exception.expect(ArithmeticException.class);
+        Float32ExpLHelpers.powi(Float32ExpLHelpers.ZERO_PATTERN, -3);
+    }
+
+    // compares left * 2^leftExponent with right * 2^rightExponent
+    private static int compareScaled(BigInteger left, long leftExponent, BigInteger right, long rightExponent) {
+        if (leftExponent > rightExponent) {
+            left = left.shiftLeft((int) (leftExponent - rightExponent));
+        } else {
+            right = right.shiftLeft((int) (rightExponent - leftExponent));
+        }
+        return left.compareTo(right);
+    }
+}
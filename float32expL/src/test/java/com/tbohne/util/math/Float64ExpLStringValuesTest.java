@@ -2,14 +2,24 @@ package com.tbohne.util.math;
 
 import com.tbohne.util.Assert;
 
+import com.tbohne.util.math.IFloat32ExpL.StringFormatParams;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.junit.runners.BlockJUnit4ClassRunner;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
 import static com.tbohne.util.math.Float32ExpLHelpers.DEFAULT_STRING_PARAMS;
 import static com.tbohne.util.math.Float64ExpLTestUtils.setAndAssertBits;
+import static org.junit.Assert.assertEquals;
 
 @RunWith(BlockJUnit4ClassRunner.class)
 public class Float64ExpLStringValuesTest {
@@ -115,6 +125,99 @@ public class Float64ExpLStringValuesTest {
         Assert.assertEquals("0.00",  Float64ExpToEngString(0));
     }
 
+    @Test
+    public void whenDigitCountsVaryThenDigitsPaddedOrTruncated() {
+        StringFormatParams padded = new StringFormatParams(15, 15, 1, Float32ExpLHelpers.DEFAULT_EXPONENT_TO_STRING);
+        StringFormatParams short3 = new StringFormatParams(1, 4, 3, Float32ExpLHelpers.DEFAULT_EXPONENT_TO_STRING);
+        Assert.assertEquals("5.00000000000000E-1", mDecimal.set(0.5).toString(new StringBuilder(), padded).toString());
+        Assert.assertEquals("-1.23456788970000E5", mDecimal.set(-123456.789).toString(new StringBuilder(), padded).toString());
+        Assert.assertEquals("-123.4E3", mDecimal.set(-123456.789).toString(new StringBuilder(), short3).toString());
+        Assert.assertEquals("99.98", mDecimal.set(99.99).toString(new StringBuilder(), short3).toString());
+        Assert.assertEquals(".10E-3", mDecimal.set(1e-5).toString(new StringBuilder(), short3).toString());
+        Assert.assertEquals(".9999999986E-300", mDecimal.set(1e-300).toEngineeringString());
+    }
+
+    @Test
+    public void whenToStringIntoCharArrayThenMatchesStringBuilder() {
+        double[] values = new double[]{0, 1, -5, 513, 0.5, -80000000, 0.0003141592653589793238, 1e300, -1e-300};
+        char[] chars = new char[3 + Float32ExpLHelpers.maxStringLength(DEFAULT_STRING_PARAMS)];
+        for (double value : values) {
+            int length = mDecimal.set(value).toString(chars, 3, DEFAULT_STRING_PARAMS);
+            Assert.assertEquals(Float64ExpToString(value), new String(chars, 3, length));
+        }
+    }
+
+    @Test
+    public void whenEngToStringIntoCharArrayThenMatchesStringBuilder() {
+        double[] values = new double[]{0, 1, 10, 100000, -0.0001, 1e-300};
+        char[] chars = new char[Float32ExpLHelpers.maxStringLength(Float32ExpLHelpers.ENG_STRING_PARAMS)];
+        for (double value : values) {
+            int length = mDecimal.set(value).toString(chars, 0, Float32ExpLHelpers.ENG_STRING_PARAMS);
+            Assert.assertEquals(mDecimal.toEngineeringString(), new String(chars, 0, length));
+        }
+    }
+
+    @Test
+    public void whenToStringIntoAppendableThenAppends() throws IOException {
+        StringWriter writer = new StringWriter();
+        writer.append('[');
+        mDecimal.set(-8191).toString(writer, DEFAULT_STRING_PARAMS).append(']');
+        Assert.assertEquals("[-8.191E3]", writer.toString());
+    }
+
+    @Test
+    public void whenToStringIntoCharBufferThenPositionAdvances() throws IOException {
+        CharBuffer buffer = CharBuffer.allocate(64);
+        mDecimal.set(65536).toString(buffer, DEFAULT_STRING_PARAMS);
+        mDecimal.set(-3).toString(buffer.append(','), DEFAULT_STRING_PARAMS);
+        buffer.flip();
+        Assert.assertEquals("6.5536E4,-3", buffer.toString());
+    }
+
+    @Test
+    public void whenCustomExponentToStringThenCharArrayUsesIt() {
+        StringFormatParams params = new StringFormatParams(1, 4, 1,
+                (sb, exponent) -> sb.append("x10^").append(exponent));
+        char[] chars = new char[64];
+        int length = mDecimal.set(300000000).toString(chars, 0, params);
+        Assert.assertEquals("3x10^8", new String(chars, 0, length));
+    }
+
+    @Test
+    public void whenCustomExponentToStringThenMaxLengthIsUnknown() {
+        StringFormatParams params = new StringFormatParams(1, 4, 1,
+                (sb, exponent) -> sb.append("x10^").append(exponent));
+        assertEquals(-1, Float32ExpLHelpers.maxStringLength(params));
+    }
+
+    @Test
+    public void whenLongCustomExponentToStringIntoAppendableThenAppendsOnce() throws IOException {
+        StringFormatParams params = new StringFormatParams(1, 12, 1,
+                (sb, exponent) -> sb.append(" times ten to the power of ").append(exponent));
+        int[] appends = new int[1];
+        StringBuilder out = new StringBuilder();
+        Appendable appendable = new Appendable() {
+            @Override public Appendable append(CharSequence csq) {++appends[0]; out.append(csq); return this;}
+            @Override public Appendable append(CharSequence csq, int start, int end) {++appends[0]; out.append(csq, start, end); return this;}
+            @Override public Appendable append(char c) {++appends[0]; out.append(c); return this;}
+        };
+        mDecimal.set(-1e-300).toString(appendable, params);
+        Assert.assertEquals(mDecimal.toString(new StringBuilder(), params).toString(), out.toString());
+        assertEquals(1, appends[0]);
+        mDecimal.set(65536).toString(appendable, DEFAULT_STRING_PARAMS);
+        assertEquals(2, appends[0]);
+    }
+
+    @Test
+    public void whenLongCustomExponentToStringIntoCharBufferThenAppends() throws IOException {
+        StringFormatParams params = new StringFormatParams(1, 12, 1,
+                (sb, exponent) -> sb.append(" times ten to the power of ").append(exponent));
+        CharBuffer buffer = CharBuffer.allocate(64);
+        mDecimal.set(-1e-300).toString(buffer, params);
+        buffer.flip();
+        Assert.assertEquals(mDecimal.toString(new StringBuilder(), params).toString(), buffer.toString());
+    }
+
     @Test
     public void whenConstructFromSmallPositiveIntStringThenPrecise() {
         setAndAssertApproximately(1.0, "1", Float64ExpLTestUtils.FULL_ACCURACY);
@@ -173,6 +276,104 @@ public class Float64ExpLStringValuesTest {
         setAndAssertApproximately(3.1415*Math.pow(2,15), "3.1415B15", Float64ExpLTestUtils.FULL_ACCURACY);
     }
 
+    @Test
+    public void whenCastFromCharSequenceOrAsciiBytesThenMatchesCharArray() {
+        String[] inputs = {"0", "-5", "31415.92653589793238", "3141592653589793238", "3.1415E15",
+                "-2.5e-300", "1E+7", "3.1415B15", "-7b-40", "12xyz34"};
+        for (String input : inputs) {
+            String padded = "[" + input + "]";
+            long expected = Float32ExpLHelpers.cast(input.toCharArray(), 0, input.length());
+            byte[] bytes = padded.getBytes(StandardCharsets.US_ASCII);
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+            direct.put(bytes);
+            Assert.assertEqualsHex(input, expected, Float32ExpLHelpers.cast(new StringBuilder(padded), 1, input.length()));
+            Assert.assertEqualsHex(input, expected, Float32ExpLHelpers.cast(bytes, 1, input.length()));
+            Assert.assertEqualsHex(input, expected, Float32ExpLHelpers.cast(ByteBuffer.wrap(bytes), 1, input.length()));
+            Assert.assertEqualsHex(input, expected, Float32ExpLHelpers.cast(direct, 1, input.length()));
+            Assert.assertEqualsHex(input, expected, new Float32ExpL(input).getParts());
+        }
+    }
+
+    @Test
+    public void whenExponentOverflowsThenThrowsNumberFormatException() {
+        exception.expect(NumberFormatException.class);
+        mDecimal.set("1E2147483648");
+    }
+
+    @Test
+    public void whenExponentPlusExtraDigitsOverflowsThenThrowsNumberFormatException() {
+        exception.expect(NumberFormatException.class);
+        mDecimal.set("12345678901234567890E2147483647");
+    }
+
+    @Test
+    public void whenExponentHasNoDigitsThenThrowsNumberFormatException() {
+        exception.expect(NumberFormatException.class);
+        Float32ExpLHelpers.cast("1E-".getBytes(StandardCharsets.US_ASCII), 0, 3);
+    }
+
+    @Test
+    public void whenHexStringParsedThenExact() {
+        Random random = new Random(1234);
+        long[] values = new long[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt());
+        }
+        values[0] = Float32ExpLHelpers.ZERO_PATTERN;
+        values[1] = Float32ExpLHelpers.getLongParts(-1);
+        for (long value : values) {
+            String hex = Float32ExpLHelpers.toHexString(value, new StringBuilder()).toString();
+            Assert.assertEqualsHex(hex, value, Float32ExpLHelpers.parseHexString(hex, 0, hex.length()));
+            Assert.assertEqualsHex(hex, value, Float32ExpLHelpers.parseHexString(hex.toCharArray(), 0, hex.length()));
+            Assert.assertEqualsHex(hex, value, new Float32ExpL(hex).getParts());
+        }
+    }
+
+    @Test
+    public void whenHexStringMatchesIntegerToHexStringThenSameText() {
+        long value = Float32ExpLHelpers.getDoubleParts(-0.001);
+        String expected = "0x" + Integer.toHexString((int) (value >> 32)) + "P" + Integer.toHexString((int) value);
+        Assert.assertEquals(expected, Float32ExpLHelpers.toHexString(value, new StringBuilder()).toString());
+    }
+
+    @Test
+    public void whenBNotationParsedThenExact() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 1000; i++) {
+            long value = Float32ExpLHelpers.getNormalizedParts(random.nextInt(), random.nextInt());
+            String b = Float32ExpLHelpers.toBNotationString(value, new StringBuilder()).toString();
+            Assert.assertEqualsHex(b, value, Float32ExpLHelpers.parseBNotation(b, 0, b.length()));
+            Assert.assertEqualsHex(b, value, Float32ExpLHelpers.parseBNotation(b.toCharArray(), 0, b.length()));
+        }
+    }
+
+    @Test
+    public void whenHexStringsRoundTripThenExact() {
+        long[] values = new long[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Float32ExpLHelpers.getDoubleParts((i - 50) * 1.2345e-7);
+        }
+        StringBuilder sb = Float32ExpLHelpers.toHexStrings(values, 0, values.length, ',', new StringBuilder());
+        long[] results = new long[values.length + 1];
+        int count = Float32ExpLHelpers.parseHexStrings(sb, 0, sb.length(), ',', results, 1);
+        Assert.assertEqualsHex("count", values.length, count);
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEqualsHex("index " + i, values[i], results[i + 1]);
+        }
+    }
+
+    @Test
+    public void whenHexSignificandUnnormalizedThenThrowsNumberFormatException() {
+        exception.expect(NumberFormatException.class);
+        Float32ExpLHelpers.parseHexString("0x1234P0", 0, 8);
+    }
+
+    @Test
+    public void whenBNotationHasDecimalPointThenThrowsNumberFormatException() {
+        exception.expect(NumberFormatException.class);
+        Float32ExpLHelpers.parseBNotation("1.5B3", 0, 5);
+    }
+
     private void setAndAssertApproximately(double expected, String input, int digits) {
         mDecimal.set(input);
         Float64ExpLTestUtils.assertApproximately(expected, mDecimal, digits);
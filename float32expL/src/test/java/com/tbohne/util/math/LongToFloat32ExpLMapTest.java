@@ -0,0 +1,104 @@
+package com.tbohne.util.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class LongToFloat32ExpLMapTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+    Float32ExpL mDecimal = new Float32ExpL();
+
+    @Test
+    public void whenPutThenGet() {
+        LongToFloat32ExpLMap map = new LongToFloat32ExpLMap();
+
+        map.put(42, 5);
+        map.put(0, 7);
+
+        assertEquals(2, map.size());
+        assertTrue(map.get(42, mDecimal));
+        Float64ExpLTestUtils.assertExactly(5, mDecimal);
+        assertTrue(map.get(0, mDecimal));
+        Float64ExpLTestUtils.assertExactly(7, mDecimal);
+        assertFalse(map.get(43, mDecimal));
+    }
+
+    @Test
+    public void whenAddToMissingKeyThenStartsAtZero() {
+        LongToFloat32ExpLMap map = new LongToFloat32ExpLMap();
+
+        map.addTo(42, 5);
+        long result = map.addTo(42, ImmutableFloat32ExpL.TEN);
+
+        Float64ExpLTestUtils.assertExactly(15, new Float32ExpL(result, true));
+        assertEquals(result, map.getPartsOrDefault(42, ImmutableFloat32ExpL.ONE.getParts()));
+    }
+
+    @Test
+    public void whenMultiplyByThenMultiplies() {
+        LongToFloat32ExpLMap map = new LongToFloat32ExpLMap();
+        map.put(42, 5);
+
+        long result = map.multiplyBy(42, 3);
+
+        Float64ExpLTestUtils.assertExactly(15, new Float32ExpL(result, true));
+    }
+
+    @Test
+    public void whenManyOperationsThenMatchesHashMap() {
+        Random random = new Random(1234);
+        LongToFloat32ExpLMap map = new LongToFloat32ExpLMap();
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(2000) - 100;
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                long parts = Float32ExpLHelpers.getLongParts(random.nextInt(1000));
+                expected.put(key, parts);
+                map.putParts(key, parts);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertEquals((long) entry.getValue(), map.getPartsOrDefault(entry.getKey(), 0));
+        }
+        final int[] count = new int[1];
+        map.forEach((key, valueParts) -> {
+            assertEquals((long) expected.get(key), valueParts);
+            ++count[0];
+        });
+        assertEquals(expected.size(), count[0]);
+    }
+
+    @Test
+    public void whenClearedThenEmpty() {
+        LongToFloat32ExpLMap map = new LongToFloat32ExpLMap(100);
+        map.put(0, 1);
+        map.put(1, 1);
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test
+    public void whenNegativeExpectedSizeThenThrows() {
+        exception.expect(IllegalArgumentException.class);
+        new LongToFloat32ExpLMap(-1);
+    }
+}
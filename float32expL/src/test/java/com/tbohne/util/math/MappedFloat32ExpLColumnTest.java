@@ -0,0 +1,107 @@
+package com.tbohne.util.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class MappedFloat32ExpLColumnTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+    // small segments, so that tests cross segment boundaries
+    private static final int TEST_SEGMENT_SHIFT = 4;
+    Float32ExpL mDecimal = new Float32ExpL();
+
+    @Test
+    public void whenCreatedThenAllZero() throws IOException {
+        Path path = folder.newFile().toPath();
+        try (MappedFloat32ExpLColumn column = MappedFloat32ExpLColumn.create(path, 50, TEST_SEGMENT_SHIFT)) {
+            assertEquals(50, column.size());
+            for (long i = 0; i < column.size(); i++) {
+                Float64ExpLTestUtils.assertExactly(0, (Float32ExpL) column.get(i, mDecimal));
+            }
+        }
+        assertEquals(50 * 8, Files.size(path));
+    }
+
+    @Test
+    public void whenSetThenReopenedWithSameValues() throws IOException {
+        Path path = folder.newFile().toPath();
+        try (MappedFloat32ExpLColumn column = MappedFloat32ExpLColumn.create(path, 50, TEST_SEGMENT_SHIFT)) {
+            for (int i = 0; i < column.size(); i++) {
+                column.set(i, i * 3);
+            }
+            column.force();
+        }
+        try (MappedFloat32ExpLColumn column = MappedFloat32ExpLColumn.open(path, false)) {
+            for (int i = 0; i < column.size(); i++) {
+                Float64ExpLTestUtils.assertExactly(i * 3, (Float32ExpL) column.get(i, mDecimal));
+            }
+        }
+    }
+
+    @Test
+    public void whenAddRangeThenOnlyRangeChanges() throws IOException {
+        try (MappedFloat32ExpLColumn column = MappedFloat32ExpLColumn.create(folder.newFile().toPath(), 50, TEST_SEGMENT_SHIFT)) {
+            column.addRange(0, 50, 1);
+
+            column.addRange(10, 40, ImmutableFloat32ExpL.TEN);
+            column.multiplyRange(15, 35, 2);
+
+            for (int i = 0; i < column.size(); i++) {
+                int expected = i < 10 || i >= 40 ? 1 : i < 15 || i >= 35 ? 11 : 22;
+                Float64ExpLTestUtils.assertExactly(expected, (Float32ExpL) column.get(i, mDecimal));
+            }
+        }
+    }
+
+    @Test
+    public void whenAddThenReturnsResult() throws IOException {
+        try (MappedFloat32ExpLColumn column = MappedFloat32ExpLColumn.create(folder.newFile().toPath(), 3)) {
+            column.set(2, 5);
+
+            long result = column.add(2, 2.5);
+
+            Float64ExpLTestUtils.assertExactly(new Float32ExpL(7.5), new Float32ExpL(result, true));
+        }
+    }
+
+    @Test
+    public void whenReadOnlyThenSetThrows() throws IOException {
+        Path path = folder.newFile().toPath();
+        MappedFloat32ExpLColumn.create(path, 3).close();
+        try (MappedFloat32ExpLColumn column = MappedFloat32ExpLColumn.open(path, false)) {
+            exception.expect(ReadOnlyBufferException.class);
+            column.set(0, 1);
+        }
+    }
+
+    @Test
+    public void whenIndexOutOfRangeThenThrows() throws IOException {
+        try (MappedFloat32ExpLColumn column = MappedFloat32ExpLColumn.create(folder.newFile().toPath(), 3)) {
+            exception.expect(IndexOutOfBoundsException.class);
+            column.getParts(3);
+        }
+    }
+
+    @Test
+    public void whenFileNotWholeValuesThenThrows() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[7]);
+
+        exception.expect(IOException.class);
+        MappedFloat32ExpLColumn.open(path, false);
+    }
+}
@@ -0,0 +1,100 @@
+package com.tbohne.util.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class PolynomialBatchTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+
+    private List<Float32ExpL> createList(double... vs) {
+        List<Float32ExpL> r = new ArrayList<>(vs.length);
+        for (int i = 0; i < vs.length; i++) {
+            r.add(i, new Float32ExpL(vs[i]));
+        }
+        return r;
+    }
+
+    private List<List<Float32ExpL>> createRandomPolynomials(int count) {
+        Random random = new Random(1234);
+        List<List<Float32ExpL>> polynomials = new ArrayList<>(count);
+        for (int p = 0; p < count; p++) {
+            double[] vs = new double[random.nextInt(6)];
+            for (int i = 0; i < vs.length; i++) {
+                vs[i] = random.nextInt(4) == 0 ? 0 : random.nextDouble() * 1000 - 500;
+            }
+            polynomials.add(createList(vs));
+        }
+        return polynomials;
+    }
+
+    @Test
+    public void whenEvaluatedThenMatchesPolynomialsAt() {
+        List<List<Float32ExpL>> polynomials = createRandomPolynomials(100);
+        PolynomialBatch batch = new PolynomialBatch(polynomials);
+        ImmutableFloat32ExpL x = new ImmutableFloat32ExpL(12.75);
+        long[] out = new long[batch.size()];
+
+        batch.at(x, out);
+
+        Float32ExpL expected = new Float32ExpL();
+        Float32ExpL temp1 = new Float32ExpL();
+        Float32ExpL temp2 = new Float32ExpL();
+        for (int p = 0; p < polynomials.size(); p++) {
+            Polynomials.at(polynomials.get(p), x, expected, temp1, temp2);
+            assertEquals(expected.getParts(), out[p]);
+        }
+    }
+
+    @Test
+    public void whenEvaluatedInParallelThenMatchesSequential() {
+        PolynomialBatch batch = new PolynomialBatch(createRandomPolynomials(20000));
+        long[] sequential = new long[batch.size()];
+        long[] parallel = new long[batch.size()];
+
+        batch.at(-3.5, sequential);
+        batch.atParallel(-3.5, parallel);
+
+        assertEquals(Arrays.toString(sequential), Arrays.toString(parallel));
+    }
+
+    @Test
+    public void whenSetThenEvaluatesNewPolynomial() {
+        PolynomialBatch batch = new PolynomialBatch(Arrays.asList(createList(1, 2, 3), createList(4)));
+        long[] out = new long[batch.size()];
+
+        batch.set(0, createList(5));
+        batch.set(1, createList(0, 0, 1));
+        batch.at(3, out);
+
+        Float64ExpLTestUtils.assertExactly(5, new Float32ExpL(out[0], true));
+        Float64ExpLTestUtils.assertExactly(9, new Float32ExpL(out[1], true));
+    }
+
+    @Test
+    public void whenSetLongerThanBatchThenThrows() {
+        PolynomialBatch batch = new PolynomialBatch(Arrays.asList(createList(1, 2)));
+
+        exception.expect(IllegalArgumentException.class);
+        batch.set(0, createList(1, 2, 3));
+    }
+
+    @Test
+    public void whenOutTooShortThenThrows() {
+        PolynomialBatch batch = new PolynomialBatch(Arrays.asList(createList(1), createList(2)));
+
+        exception.expect(IllegalArgumentException.class);
+        batch.at(1, new long[1]);
+    }
+}
@@ -0,0 +1,93 @@
+package com.tbohne.util.math;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class PolynomialStepperTest {
+    @Rule
+    public final ExpectedException exception = ExpectedException.none();
+    // each step truncates, and drift builds until the next reseed
+    private static final int STEPPER_ACCURACY = 24;
+
+    private List<Float32ExpL> createList(double... vs) {
+        List<Float32ExpL> r = new ArrayList<>(vs.length);
+        for (int i = 0; i < vs.length; i++) {
+            r.add(i, new Float32ExpL(vs[i]));
+        }
+        return r;
+    }
+
+    @Test
+    public void whenIntegerPolynomialThenStepsAreExact() {
+        PolynomialStepper stepper = new PolynomialStepper(createList(7, 5, 3),
+                ImmutableFloat32ExpL.ZERO,
+                ImmutableFloat32ExpL.ONE);
+        Float32ExpL out = new Float32ExpL();
+
+        Float64ExpLTestUtils.assertExactly(7, (Float32ExpL) stepper.current(out));
+        Float64ExpLTestUtils.assertExactly(15, (Float32ExpL) stepper.step(out));
+        Float64ExpLTestUtils.assertExactly(29, (Float32ExpL) stepper.step(out));
+        Float64ExpLTestUtils.assertExactly(49, (Float32ExpL) stepper.step(out));
+        assertEquals(3, stepper.getStepCount());
+    }
+
+    @Test
+    public void whenConstantThenStepsAreConstant() {
+        PolynomialStepper stepper = new PolynomialStepper(createList(7),
+                ImmutableFloat32ExpL.ZERO,
+                ImmutableFloat32ExpL.ONE);
+        Float32ExpL out = new Float32ExpL();
+
+        Float64ExpLTestUtils.assertExactly(7, (Float32ExpL) stepper.step(out));
+    }
+
+    @Test
+    public void whenSteppingManyTimesThenMatchesEvaluation() {
+        List<Float32ExpL> polynomial = createList(1, 0.001, 0.001, 0.001, 0.001, 0.001);
+        CompiledPolynomial compiled = new CompiledPolynomial(polynomial);
+        ImmutableFloat32ExpL start = new ImmutableFloat32ExpL(100);
+        ImmutableFloat32ExpL step = new ImmutableFloat32ExpL(16.6);
+        PolynomialStepper stepper = new PolynomialStepper(polynomial, start, step, 32);
+        Float32ExpL actual = new Float32ExpL();
+        Float32ExpL expected = new Float32ExpL();
+        Float32ExpL x = new Float32ExpL();
+        for (int i = 1; i <= 1000; i++) {
+            stepper.step(actual);
+            x.set(i).multiply(step).add(start);
+            compiled.at(x, expected);
+            Float64ExpLTestUtils.assertApproximately(expected, actual, STEPPER_ACCURACY);
+        }
+    }
+
+    @Test
+    public void whenResetThenRestartsAtNewStart() {
+        PolynomialStepper stepper = new PolynomialStepper(createList(7, 5, 3),
+                ImmutableFloat32ExpL.ZERO,
+                ImmutableFloat32ExpL.ONE);
+        stepper.stepParts();
+        stepper.stepParts();
+
+        stepper.reset(3);
+
+        Float64ExpLTestUtils.assertExactly(49, new Float32ExpL(stepper.currentParts(), true));
+        assertEquals(0, stepper.getStepCount());
+    }
+
+    @Test
+    public void whenReseedIntervalNotPositiveThenThrows() {
+        exception.expect(IllegalArgumentException.class);
+        new PolynomialStepper(createList(1),
+                ImmutableFloat32ExpL.ZERO,
+                ImmutableFloat32ExpL.ONE,
+                0);
+    }
+}